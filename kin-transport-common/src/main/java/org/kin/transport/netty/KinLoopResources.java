@@ -0,0 +1,189 @@
+package org.kin.transport.netty;
+
+import com.google.common.base.Preconditions;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.unix.DomainSocketChannel;
+import io.netty.channel.unix.ServerDomainSocketChannel;
+import io.netty.util.concurrent.Future;
+import org.kin.framework.JvmCloseCleaner;
+import org.kin.framework.concurrent.SimpleThreadFactory;
+import org.kin.framework.utils.SysUtils;
+import org.kin.transport.netty.utils.NativeTransport;
+import reactor.core.publisher.Mono;
+import reactor.netty.FutureMono;
+import reactor.netty.resources.LoopResources;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于指定{@link NativeTransport}的event loop资源, 即一个selector(boss) group和一个worker group
+ * <p>
+ * 默认所有kin server和client共享同一实例, 避免每监听一个端口就创建一组event loop, 导致event loop线程数远超cpu核数
+ * 共享实例在jvm关闭时才释放, server unbound和client dispose时不会释放
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class KinLoopResources implements LoopResources {
+    /** 默认netty传输层实现, 支持io_uring, epoll和nio, 当前平台不支持时逐级回退 */
+    private static final String DEFAULT_NATIVE_TRANSPORT = System.getProperty("kin.transport.native", "epoll");
+    /** 默认selector线程数 */
+    private static final int DEFAULT_SELECT_COUNT = SysUtils.getIntSysProperty("kin.transport.select", 1);
+    /** 默认worker线程数 */
+    private static final int DEFAULT_WORKER_COUNT = SysUtils.getIntSysProperty("kin.transport.worker", SysUtils.CPU_NUM);
+    /** 共享实例, 每种netty传输层实现一个 */
+    private static final Map<NativeTransport, KinLoopResources> SHARED = new EnumMap<>(NativeTransport.class);
+    /** 期望使用的netty传输层实现 -> 当前平台实际使用的实现, 仅首次获取时解析回退, 避免每次获取共享实例都输出回退日志 */
+    private static final Map<NativeTransport, NativeTransport> RESOLVED = new EnumMap<>(NativeTransport.class);
+
+    /**
+     * 获取默认netty传输层实现的共享实例
+     */
+    public static KinLoopResources shared() {
+        return shared(NativeTransport.of(DEFAULT_NATIVE_TRANSPORT));
+    }
+
+    /**
+     * 获取指定netty传输层实现的共享实例, 当前平台不支持时逐级回退
+     *
+     * @param preferred 期望使用的netty传输层实现
+     */
+    public static KinLoopResources shared(NativeTransport preferred) {
+        synchronized (SHARED) {
+            NativeTransport transport = RESOLVED.computeIfAbsent(preferred, NativeTransport::available);
+            KinLoopResources loopResources = SHARED.get(transport);
+            if (loopResources == null) {
+                loopResources = new KinLoopResources("kin-" + transport.name().toLowerCase(), transport, DEFAULT_SELECT_COUNT, DEFAULT_WORKER_COUNT);
+                SHARED.put(transport, loopResources);
+                JvmCloseCleaner.instance().add(loopResources::dispose);
+            }
+            return loopResources;
+        }
+    }
+
+    /**
+     * 创建独立的event loop资源, 由使用者负责dispose
+     *
+     * @param prefix      线程名前缀
+     * @param preferred   期望使用的netty传输层实现, 当前平台不支持时逐级回退
+     * @param selectCount selector线程数
+     * @param workerCount worker线程数
+     */
+    public static KinLoopResources create(String prefix, NativeTransport preferred, int selectCount, int workerCount) {
+        Preconditions.checkArgument(selectCount > 0, "select count must be greater than 0");
+        Preconditions.checkArgument(workerCount > 0, "worker count must be greater than 0");
+        return new KinLoopResources(prefix, NativeTransport.available(preferred), selectCount, workerCount);
+    }
+
+    /** netty传输层实现 */
+    private final NativeTransport transport;
+    /** selector group, 仅server端使用 */
+    private final EventLoopGroup selectGroup;
+    /** worker group, server和client共享 */
+    private final EventLoopGroup workerGroup;
+
+    private KinLoopResources(String prefix, NativeTransport transport, int selectCount, int workerCount) {
+        this.transport = transport;
+        this.selectGroup = transport.newEventLoopGroup(selectCount, new SimpleThreadFactory(prefix + "-select", true));
+        this.workerGroup = transport.newEventLoopGroup(workerCount, new SimpleThreadFactory(prefix + "-worker", true));
+    }
+
+    @Override
+    public EventLoopGroup onClient(boolean useNative) {
+        return workerGroup;
+    }
+
+    @Override
+    public EventLoopGroup onServer(boolean useNative) {
+        return workerGroup;
+    }
+
+    @Override
+    public EventLoopGroup onServerSelect(boolean useNative) {
+        return selectGroup;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <CHANNEL extends Channel> Class<? extends CHANNEL> onChannelClass(Class<CHANNEL> channelType, EventLoopGroup group) {
+        //必须与event loop group实现一致, 不能依赖reactor netty自动识别
+        if (ServerSocketChannel.class.equals(channelType)) {
+            return (Class<? extends CHANNEL>) transport.getServerSocketChannelClass();
+        }
+        if (SocketChannel.class.equals(channelType)) {
+            return (Class<? extends CHANNEL>) transport.getSocketChannelClass();
+        }
+        if (DatagramChannel.class.equals(channelType)) {
+            return (Class<? extends CHANNEL>) transport.getDatagramChannelClass();
+        }
+        if (DomainSocketChannel.class.equals(channelType)) {
+            return (Class<? extends CHANNEL>) checkDomainSocketSupported(transport.getDomainSocketChannelClass());
+        }
+        if (ServerDomainSocketChannel.class.equals(channelType)) {
+            return (Class<? extends CHANNEL>) checkDomainSocketSupported(transport.getServerDomainSocketChannelClass());
+        }
+        return LoopResources.super.onChannelClass(channelType, group);
+    }
+
+    /**
+     * 检查当前传输层实现是否支持unix domain socket
+     */
+    private <C extends Channel> Class<C> checkDomainSocketSupported(@Nullable Class<C> channelClass) {
+        if (Objects.isNull(channelClass)) {
+            throw new TransportException(String.format("unix domain socket is not supported by %s transport", transport));
+        }
+        return channelClass;
+    }
+
+    @Override
+    public <CHANNEL extends Channel> CHANNEL onChannel(Class<CHANNEL> channelType, EventLoopGroup group) {
+        try {
+            return onChannelClass(channelType, group).getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new TransportException("create channel error, channel type: " + channelType, e);
+        }
+    }
+
+    @Override
+    public boolean daemon() {
+        return true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return selectGroup.isTerminated() && workerGroup.isTerminated();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Mono<Void> disposeLater(Duration quietPeriod, Duration timeout) {
+        return Mono.defer(() -> {
+            long quietPeriodMillis = quietPeriod.toMillis();
+            long timeoutMillis = timeout.toMillis();
+            Future<Void> selectFuture = (Future<Void>) selectGroup.shutdownGracefully(quietPeriodMillis, timeoutMillis, TimeUnit.MILLISECONDS);
+            Future<Void> workerFuture = (Future<Void>) workerGroup.shutdownGracefully(quietPeriodMillis, timeoutMillis, TimeUnit.MILLISECONDS);
+            return Mono.when(FutureMono.from(selectFuture), FutureMono.from(workerFuture));
+        });
+    }
+
+    //getter
+    public NativeTransport getTransport() {
+        return transport;
+    }
+
+    @Override
+    public String toString() {
+        return "KinLoopResources{" +
+                "transport=" + transport +
+                '}';
+    }
+}
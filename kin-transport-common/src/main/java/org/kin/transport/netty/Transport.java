@@ -1,14 +1,18 @@
 package org.kin.transport.netty;
 
 import io.netty.channel.ChannelOption;
+import org.kin.transport.netty.utils.NativeTransport;
 import org.kin.transport.netty.utils.SslUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.netty.resources.LoopResources;
 import reactor.netty.tcp.SslProvider;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * 传输层通用配置
@@ -44,6 +48,12 @@ public abstract class Transport<T extends Transport<T>> {
     /** 证书指纹 */
     private File fingerprintFile;
     //--------------------------------------------ssl配置 end
+    /** 自定义event loop资源, null则使用{@link #nativeTransport}对应的共享event loop资源 */
+    @Nullable
+    private LoopResources loopResources;
+    /** 期望使用的netty传输层实现, null则使用默认实现, 见{@link KinLoopResources#shared()} */
+    @Nullable
+    private NativeTransport nativeTransport;
     /** 自定义netty options */
     @SuppressWarnings("rawtypes")
     private final Map<ChannelOption, Object> options = new HashMap<>();
@@ -93,6 +103,37 @@ public abstract class Transport<T extends Transport<T>> {
     }
 
     //setter && getter
+    /**
+     * 自定义event loop资源, 由使用者负责dispose, 可以多个transport共享
+     */
+    @SuppressWarnings("unchecked")
+    public T loopResources(LoopResources loopResources) {
+        this.loopResources = loopResources;
+        return (T) this;
+    }
+
+    /**
+     * 使用指定netty传输层实现的共享event loop资源, 当前平台不支持时逐级回退, 即io_uring -> epoll -> nio
+     */
+    @SuppressWarnings("unchecked")
+    public T nativeTransport(NativeTransport nativeTransport) {
+        this.nativeTransport = nativeTransport;
+        return (T) this;
+    }
+
+    /**
+     * @return event loop资源, 未自定义则返回共享event loop资源
+     */
+    public LoopResources getLoopResources() {
+        if (Objects.nonNull(loopResources)) {
+            return loopResources;
+        }
+        if (Objects.nonNull(nativeTransport)) {
+            return KinLoopResources.shared(nativeTransport);
+        }
+        return KinLoopResources.shared();
+    }
+
     public boolean isSsl() {
         return ssl;
     }
@@ -291,7 +291,8 @@ public final class HttpServerTransport extends ServerTransport<HttpServerTranspo
             }
         }
 
-        LoopResources loopResources = LoopResources.create("kin-http-server-" + port, 2, SysUtils.CPU_NUM * 2, false);
+        //默认与其余server共享event loop
+        LoopResources loopResources = getLoopResources();
         Scheduler bsScheduler = null;
         if (threadCap > 0) {
             bsScheduler = Schedulers.newBoundedElastic(threadCap, queueCap, "kin-http-server-bs-" + port, 300);
@@ -327,7 +328,6 @@ public final class HttpServerTransport extends ServerTransport<HttpServerTranspo
         Mono<DisposableServer> disposableMono =
                 nettyHttpServer
                         .doOnUnbound(d -> {
-                            d.onDispose(loopResources);
                             d.onDispose(() -> {
                                 if (Objects.nonNull(finalBsScheduler)) {
                                     finalBsScheduler.dispose();
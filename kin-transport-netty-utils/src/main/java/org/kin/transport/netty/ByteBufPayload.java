@@ -5,6 +5,8 @@ import io.netty.util.AbstractReferenceCounted;
 import io.netty.util.IllegalReferenceCountException;
 import io.netty.util.Recycler;
 
+import javax.annotation.Nullable;
+import java.net.InetSocketAddress;
 import java.util.Objects;
 
 /**
@@ -26,6 +28,29 @@ public final class ByteBufPayload extends AbstractReferenceCounted {
      * 减少组装协议时, 多次扩容而带来的bytebuf copy性能开销
      */
     private AdaptiveOutputByteBufAllocator.Handle adaptiveHandle;
+    /**
+     * 用于outbound, 标识{@link #payload}头部是否已预留协议头bytes
+     * 如果没有预留, 则发送时会额外分配协议头bytebuf, 并与{@link #payload}组合发送, 不会copy{@link #payload}
+     */
+    private boolean headerReserved;
+    /**
+     * 所属逻辑stream id, 仅开启多路复用时有效
+     * outbound时, 由发送者设置, inbound时, 由协议解析器设置
+     */
+    private int streamId;
+    /**
+     * request id, 仅开启request/response时有效, 0表示非request/response
+     * inbound时, 非0表示对端在等待response, 需通过该id回复
+     */
+    private int requestId;
+    /** 标识是否是response */
+    private boolean response;
+    /** 仅用于udp inbound, 发送该datagram的对端地址 */
+    @Nullable
+    private InetSocketAddress sender;
+    /** 仅用于udp outbound, 接收该datagram的对端地址, null则表示发往channel已连接的对端 */
+    @Nullable
+    private InetSocketAddress recipient;
 
     /** 持有{@link ByteBuf}实例 */
     private ByteBuf payload;
@@ -35,28 +60,39 @@ public final class ByteBufPayload extends AbstractReferenceCounted {
     }
 
     /**
-     * 一般用于inbound
+     * 一般用于inbound, 或者outbound时, {@code byteBuf}仅包含传输内容, 即头部没有预留协议头bytes
      * <p>
-     * {@code byteBuf}refCnt一般是2, 因为netty pipeline handler处理后会对inbound buffer进行release
+     * inbound时, {@code byteBuf}refCnt一般是2, 因为netty pipeline handler处理后会对inbound buffer进行release
      * 所以decode完后, 会payload进行retain, 后续handler才行正常执行
      *
      * @param byteBuf byte buffer
      * @return {@link ByteBufPayload}实例
      */
     public static ByteBufPayload create(ByteBuf byteBuf) {
-        return create(byteBuf, null);
+        return create(byteBuf, null, false);
     }
 
     /**
-     * 一般用于outbound
+     * 一般用于outbound, {@code byteBuf}头部已预留协议头bytes
      *
      * @param byteBuf byte buffer
      * @return {@link ByteBufPayload}实例
      */
     public static ByteBufPayload create(ByteBuf byteBuf, AdaptiveOutputByteBufAllocator.Handle adaptiveHandle) {
+        return create(byteBuf, adaptiveHandle, true);
+    }
+
+    /**
+     * @param byteBuf        byte buffer
+     * @param adaptiveHandle 自适应分配bytebuf handle
+     * @param headerReserved {@code byteBuf}头部是否已预留协议头bytes
+     * @return {@link ByteBufPayload}实例
+     */
+    private static ByteBufPayload create(ByteBuf byteBuf, AdaptiveOutputByteBufAllocator.Handle adaptiveHandle, boolean headerReserved) {
         ByteBufPayload payload = RECYCLER.get();
         payload.payload = byteBuf;
         payload.adaptiveHandle = adaptiveHandle;
+        payload.headerReserved = headerReserved;
         // ensure byteBuf and metadata is set before refCnt change
         payload.setRefCnt(1);
         return payload;
@@ -88,6 +124,12 @@ public final class ByteBufPayload extends AbstractReferenceCounted {
         //help gc
         payload = null;
         adaptiveHandle = null;
+        headerReserved = false;
+        streamId = 0;
+        requestId = 0;
+        response = false;
+        sender = null;
+        recipient = null;
     }
 
     @Override
@@ -127,4 +169,89 @@ public final class ByteBufPayload extends AbstractReferenceCounted {
         ensureAccessible();
         return payload;
     }
+
+    /**
+     * bytebuf头部是否已预留协议头bytes
+     */
+    public boolean isHeaderReserved() {
+        return headerReserved;
+    }
+
+    /**
+     * 所属逻辑stream id
+     */
+    public int getStreamId() {
+        return streamId;
+    }
+
+    /**
+     * 设置所属逻辑stream id
+     */
+    public ByteBufPayload streamId(int streamId) {
+        this.streamId = streamId;
+        return this;
+    }
+
+    /**
+     * request id
+     */
+    public int getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * 设置request id
+     */
+    public ByteBufPayload requestId(int requestId) {
+        this.requestId = requestId;
+        return this;
+    }
+
+    /**
+     * 是否是response
+     */
+    public boolean isResponse() {
+        return response;
+    }
+
+    /**
+     * 标识为request id对应的response
+     */
+    public ByteBufPayload response(int requestId) {
+        this.requestId = requestId;
+        this.response = true;
+        return this;
+    }
+
+    /**
+     * 发送该datagram的对端地址, 仅udp inbound有效, 否则返回null
+     */
+    @Nullable
+    public InetSocketAddress getSender() {
+        return sender;
+    }
+
+    /**
+     * 设置发送该datagram的对端地址
+     */
+    public ByteBufPayload sender(InetSocketAddress sender) {
+        this.sender = sender;
+        return this;
+    }
+
+    /**
+     * 接收该datagram的对端地址, 仅udp outbound有效, null则表示发往channel已连接的对端
+     */
+    @Nullable
+    public InetSocketAddress getRecipient() {
+        return recipient;
+    }
+
+    /**
+     * 设置接收该datagram的对端地址
+     */
+    public ByteBufPayload recipient(@Nullable InetSocketAddress recipient) {
+        this.recipient = recipient;
+        return this;
+    }
 }
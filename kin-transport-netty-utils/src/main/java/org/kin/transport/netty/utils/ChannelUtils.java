@@ -47,4 +47,18 @@ public final class ChannelUtils {
         }
         return NioSocketChannel.class;
     }
+
+    /**
+     * 优先使用{@code preferred}, 当前平台不支持则逐级回退, 即io_uring -> epoll -> nio
+     */
+    public static Class<? extends ServerChannel> getAdaptiveServerChannelClass(NativeTransport preferred) {
+        return NativeTransport.available(preferred).getServerSocketChannelClass();
+    }
+
+    /**
+     * 优先使用{@code preferred}, 当前平台不支持则逐级回退, 即io_uring -> epoll -> nio
+     */
+    public static Class<? extends Channel> getAdaptiveChannelClass(NativeTransport preferred) {
+        return NativeTransport.available(preferred).getSocketChannelClass();
+    }
 }
@@ -30,4 +30,11 @@ public final class EventLoopGroupUtils {
     public static EventLoopGroup getAdaptiveEventLoopGroup() {
         return getAdaptiveEventLoopGroup(0);
     }
+
+    /**
+     * 优先使用{@code preferred}, 当前平台不支持则逐级回退, 即io_uring -> epoll -> nio
+     */
+    public static EventLoopGroup getAdaptiveEventLoopGroup(NativeTransport preferred, int nThreads) {
+        return NativeTransport.available(preferred).newEventLoopGroup(Math.max(nThreads, 0), null);
+    }
 }
@@ -0,0 +1,339 @@
+package org.kin.transport.netty.utils;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * netty传输层实现, 即event loop group和channel实现
+ * <p>
+ * io_uring基于netty incubator io_uring实现, 需使用者自行引入netty-incubator-transport-native-io_uring依赖,
+ * 本类仅通过反射访问, 故此不引入依赖也能正常使用其余实现
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public enum NativeTransport {
+    /** jdk nio, 所有平台均支持 */
+    NIO {
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int nThreads, ThreadFactory threadFactory) {
+            return new NioEventLoopGroup(nThreads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends Channel> getSocketChannelClass() {
+            return NioSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends ServerChannel> getServerSocketChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends Channel> getDatagramChannelClass() {
+            return NioDatagramChannel.class;
+        }
+
+        @Nullable
+        @Override
+        public Class<? extends Channel> getDomainSocketChannelClass() {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public Class<? extends ServerChannel> getServerDomainSocketChannelClass() {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public ChannelOption<Boolean> getReusePortOption() {
+            return null;
+        }
+
+        @Override
+        public NativeTransport fallback() {
+            return this;
+        }
+    },
+    /** linux epoll */
+    EPOLL {
+        @Override
+        public boolean isAvailable() {
+            return Epoll.isAvailable();
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int nThreads, ThreadFactory threadFactory) {
+            return new EpollEventLoopGroup(nThreads, threadFactory);
+        }
+
+        @Override
+        public Class<? extends Channel> getSocketChannelClass() {
+            return EpollSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends ServerChannel> getServerSocketChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends Channel> getDatagramChannelClass() {
+            return EpollDatagramChannel.class;
+        }
+
+        @Override
+        public Class<? extends Channel> getDomainSocketChannelClass() {
+            return EpollDomainSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends ServerChannel> getServerDomainSocketChannelClass() {
+            return EpollServerDomainSocketChannel.class;
+        }
+
+        @Override
+        public ChannelOption<Boolean> getReusePortOption() {
+            return EpollChannelOption.SO_REUSEPORT;
+        }
+
+        @Override
+        public NativeTransport fallback() {
+            return NIO;
+        }
+    },
+    /** linux io_uring, 要求linux kernel 5.9+ */
+    IO_URING {
+        @Override
+        public boolean isAvailable() {
+            return IoUringHolder.AVAILABLE;
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int nThreads, ThreadFactory threadFactory) {
+            try {
+                return (EventLoopGroup) IoUringHolder.loadClass("IOUringEventLoopGroup")
+                        .getConstructor(int.class, ThreadFactory.class)
+                        .newInstance(nThreads, threadFactory);
+            } catch (Exception e) {
+                throw new IllegalStateException("create io_uring event loop group error", e);
+            }
+        }
+
+        @Override
+        public Class<? extends Channel> getSocketChannelClass() {
+            return IoUringHolder.loadClass("IOUringSocketChannel").asSubclass(Channel.class);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> getServerSocketChannelClass() {
+            return IoUringHolder.loadClass("IOUringServerSocketChannel").asSubclass(ServerChannel.class);
+        }
+
+        @Override
+        public Class<? extends Channel> getDatagramChannelClass() {
+            return IoUringHolder.loadClass("IOUringDatagramChannel").asSubclass(Channel.class);
+        }
+
+        @Nullable
+        @Override
+        public Class<? extends Channel> getDomainSocketChannelClass() {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public Class<? extends ServerChannel> getServerDomainSocketChannelClass() {
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public ChannelOption<Boolean> getReusePortOption() {
+            try {
+                return (ChannelOption<Boolean>) IoUringHolder.loadClass("IOUringChannelOption").getField("SO_REUSEPORT").get(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("get io_uring SO_REUSEPORT option error", e);
+            }
+        }
+
+        @Override
+        public NativeTransport fallback() {
+            return EPOLL;
+        }
+    },
+    ;
+
+    private static final Logger log = LoggerFactory.getLogger(NativeTransport.class);
+    /** netty epoll包名 */
+    private static final String EPOLL_PACKAGE = "io.netty.channel.epoll.";
+
+    /**
+     * 当前平台是否支持
+     */
+    public abstract boolean isAvailable();
+
+    /**
+     * 创建event loop group
+     *
+     * @param nThreads      线程数, 0则表示使用netty默认线程数
+     * @param threadFactory 线程工厂
+     */
+    public abstract EventLoopGroup newEventLoopGroup(int nThreads, ThreadFactory threadFactory);
+
+    /**
+     * @return tcp client channel实现类
+     */
+    public abstract Class<? extends Channel> getSocketChannelClass();
+
+    /**
+     * @return tcp server channel实现类
+     */
+    public abstract Class<? extends ServerChannel> getServerSocketChannelClass();
+
+    /**
+     * @return udp channel实现类
+     */
+    public abstract Class<? extends Channel> getDatagramChannelClass();
+
+    /**
+     * @return unix domain socket client channel实现类, 不支持则返回null
+     */
+    @Nullable
+    public abstract Class<? extends Channel> getDomainSocketChannelClass();
+
+    /**
+     * @return unix domain socket server channel实现类, 不支持则返回null
+     */
+    @Nullable
+    public abstract Class<? extends ServerChannel> getServerDomainSocketChannelClass();
+
+    /**
+     * @return SO_REUSEPORT option, 不支持则返回null
+     */
+    @Nullable
+    public abstract ChannelOption<Boolean> getReusePortOption();
+
+    /**
+     * @return 当前平台不支持时, 回退的实现
+     */
+    public abstract NativeTransport fallback();
+
+    /**
+     * 根据event loop实现识别netty传输层实现
+     *
+     * @param group event loop group
+     * @return {@code group}对应的netty传输层实现
+     */
+    public static NativeTransport of(EventLoopGroup group) {
+        //取event loop实现类, 避免event loop group被包装导致识别失败
+        String className = group.next().getClass().getName();
+        if (className.startsWith(IoUringHolder.PACKAGE)) {
+            return IO_URING;
+        }
+        if (className.startsWith(EPOLL_PACKAGE)) {
+            return EPOLL;
+        }
+        return NIO;
+    }
+
+    /**
+     * 获取当前平台可用的实现, 优先使用{@code preferred}, 不支持则逐级回退, 即io_uring -> epoll -> nio
+     *
+     * @param preferred 期望使用的实现
+     * @return 当前平台可用的实现
+     */
+    public static NativeTransport available(NativeTransport preferred) {
+        NativeTransport transport = preferred;
+        while (!transport.isAvailable()) {
+            NativeTransport fallback = transport.fallback();
+            log.warn("native transport {} is not available, fallback to {}", transport, fallback);
+            transport = fallback;
+        }
+        return transport;
+    }
+
+    /**
+     * 根据名字获取当前平台可用的实现, 忽略大小写, 未知名字则使用{@link #EPOLL}
+     *
+     * @param name 实现名字, 比如io_uring, epoll和nio
+     * @return 当前平台可用的实现
+     * @see #available(NativeTransport)
+     */
+    public static NativeTransport available(String name) {
+        return available(of(name));
+    }
+
+    /**
+     * 根据名字获取实现, 忽略大小写, 未知名字则使用{@link #EPOLL}, 不检查当前平台是否支持
+     *
+     * @param name 实现名字, 比如io_uring, epoll和nio
+     * @return 名字对应的实现
+     */
+    public static NativeTransport of(String name) {
+        for (NativeTransport transport : values()) {
+            if (transport.name().equalsIgnoreCase(name)) {
+                return transport;
+            }
+        }
+        return EPOLL;
+    }
+
+    /**
+     * 延迟加载io_uring相关类, 避免未引入netty incubator io_uring依赖时, 加载失败
+     */
+    private static final class IoUringHolder {
+        /** netty incubator io_uring包名 */
+        private static final String PACKAGE = "io.netty.incubator.channel.uring.";
+        /** 是否支持io_uring */
+        private static final boolean AVAILABLE;
+
+        static {
+            boolean available = false;
+            try {
+                available = (boolean) loadClass("IOUring").getMethod("isAvailable").invoke(null);
+            } catch (Throwable t) {
+                //未引入依赖或者kernel不支持
+            }
+            AVAILABLE = available;
+        }
+
+        /**
+         * 加载netty incubator io_uring相关类
+         */
+        private static Class<?> loadClass(String simpleName) {
+            try {
+                return Class.forName(PACKAGE + simpleName, true, NativeTransport.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("netty incubator io_uring is not in classpath", e);
+            }
+        }
+    }
+}
@@ -67,4 +67,42 @@ public final class VarIntUtils {
     public static void writeRawVarInt64(ByteBuf byteBuf, long value, boolean zigzag) {
         org.kin.framework.utils.VarIntUtils.writeRawVarInt64(new ByteBufOutput(byteBuf), value, zigzag);
     }
+
+    /**
+     * 计算变长 32位int(非zigzag)编码后占用的字节数
+     */
+    public static int computeRawVarInt32Size(int value) {
+        if ((value & (0xffffffff << 7)) == 0) {
+            return 1;
+        }
+        if ((value & (0xffffffff << 14)) == 0) {
+            return 2;
+        }
+        if ((value & (0xffffffff << 21)) == 0) {
+            return 3;
+        }
+        if ((value & (0xffffffff << 28)) == 0) {
+            return 4;
+        }
+        return 5;
+    }
+
+    /**
+     * 计算从{@code index}开始的变长 32位int占用的字节数, 不会修改{@code byteBuf}的reader index
+     *
+     * @return 变长 32位int占用的字节数, 如果可读bytes不足以组成完整的变长 32位int, 则返回-1
+     */
+    public static int peekRawVarInt32Size(ByteBuf byteBuf, int index) {
+        int writerIndex = byteBuf.writerIndex();
+        for (int i = 0; i < 5; i++) {
+            if (index + i >= writerIndex) {
+                return -1;
+            }
+            if (byteBuf.getByte(index + i) >= 0) {
+                //最高位为0, 即最后一个byte
+                return i + 1;
+            }
+        }
+        throw new IllegalStateException("malformed var int32");
+    }
 }
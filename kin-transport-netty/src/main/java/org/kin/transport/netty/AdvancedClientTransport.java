@@ -1,8 +1,14 @@
 package org.kin.transport.netty;
 
+import com.google.common.base.Preconditions;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import java.util.Objects;
+
 /**
  * @author huangjianqin
  * @date 2023/3/28
@@ -14,6 +20,28 @@ public abstract class AdvancedClientTransport<ACT extends AdvancedClientTranspor
     private ClientObserver observer = ClientObserver.DEFAULT;
     /** 是否支持自动重连 */
     private boolean reconnect;
+    /** 重连策略 */
+    private ReconnectPolicy reconnectPolicy = ReconnectPolicy.DEFAULT;
+    /** 离线发送缓存最多缓存的payload数, 0表示不开启 */
+    private int outboxMaxMessages;
+    /** 离线发送缓存最多缓存的bytes */
+    private long outboxMaxBytes;
+    /** 离线发送缓存已满时的处理策略 */
+    private OutboxOverflowPolicy outboxOverflowPolicy = OutboxOverflowPolicy.FAIL;
+
+    /**
+     * 应用option, 包括channel outbound buffer高低水位线
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <V extends reactor.netty.transport.Transport<?, ?>> V applyOptions(V transport) {
+        WriteBufferWaterMark writeBufferWaterMark = getWriteBufferWaterMark();
+        if (Objects.nonNull(writeBufferWaterMark)) {
+            //允许使用者通过option覆盖
+            transport = (V) transport.option(ChannelOption.WRITE_BUFFER_WATER_MARK, writeBufferWaterMark);
+        }
+        return super.applyOptions(transport);
+    }
 
     //setter && getter
     @SuppressWarnings("rawtypes")
@@ -36,4 +64,56 @@ public abstract class AdvancedClientTransport<ACT extends AdvancedClientTranspor
         this.reconnect = true;
         return (ACT) this;
     }
+
+    public ReconnectPolicy getReconnectPolicy() {
+        return reconnectPolicy;
+    }
+
+    /**
+     * 支持自动重连, 并自定义重连策略
+     * 大量client连接同一服务端时, 建议开启随机抖动以及连接速率限制, 避免服务端重启后被同时重连的client再次压垮
+     */
+    @SuppressWarnings("unchecked")
+    public ACT reconnect(ReconnectPolicy reconnectPolicy) {
+        Preconditions.checkNotNull(reconnectPolicy, "reconnect policy must be not null");
+        this.reconnect = true;
+        this.reconnectPolicy = reconnectPolicy;
+        return (ACT) this;
+    }
+
+    /**
+     * 开启重连期间的离线发送缓存
+     * 连接断开期间, send的payload会被缓存, 待重连成功后批量发送, 而不是直接失败
+     *
+     * @param maxMessages    最多缓存的payload数
+     * @param maxBytes       最多缓存的bytes
+     * @param overflowPolicy 已满时的处理策略
+     */
+    @SuppressWarnings("unchecked")
+    public ACT outbox(int maxMessages, long maxBytes, OutboxOverflowPolicy overflowPolicy) {
+        Preconditions.checkArgument(maxMessages > 0, "outbox max messages must be greater than 0");
+        Preconditions.checkArgument(maxBytes > 0, "outbox max bytes must be greater than 0");
+        Preconditions.checkNotNull(overflowPolicy, "outbox overflow policy must be not null");
+        this.outboxMaxMessages = maxMessages;
+        this.outboxMaxBytes = maxBytes;
+        this.outboxOverflowPolicy = overflowPolicy;
+        return (ACT) this;
+    }
+
+    /**
+     * 创建离线发送缓存, 每个client一个实例
+     *
+     * @return 离线发送缓存, 未开启则返回null
+     */
+    @Nullable
+    public Outbox newOutbox() {
+        if (outboxMaxMessages <= 0) {
+            return null;
+        }
+        return new Outbox(outboxMaxMessages, outboxMaxBytes, outboxOverflowPolicy);
+    }
+
+    public boolean isOutbox() {
+        return outboxMaxMessages > 0;
+    }
 }
@@ -1,11 +1,13 @@
 package org.kin.transport.netty;
 
 import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * @author huangjianqin
@@ -25,6 +27,11 @@ public abstract class AdvancedServerTransport<AST extends AdvancedServerTranspor
      */
     @SuppressWarnings({"rawtypes", "unchecked"})
     protected <V extends reactor.netty.transport.ServerTransport<?, ?>> V applyChildOptions(V serverTransport) {
+        WriteBufferWaterMark writeBufferWaterMark = getWriteBufferWaterMark();
+        if (Objects.nonNull(writeBufferWaterMark)) {
+            //允许使用者通过child option覆盖
+            serverTransport = (V) serverTransport.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, writeBufferWaterMark);
+        }
         for (Map.Entry<ChannelOption, Object> entry : getChildOptions().entrySet()) {
             serverTransport = (V) serverTransport.childOption(entry.getKey(), entry.getValue());
         }
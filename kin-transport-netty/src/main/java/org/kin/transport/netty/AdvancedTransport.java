@@ -2,7 +2,10 @@ package org.kin.transport.netty;
 
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.WriteBufferWaterMark;
+import org.kin.transport.netty.compression.Compressor;
 
+import javax.annotation.Nullable;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -23,8 +26,41 @@ public abstract class AdvancedTransport<AT extends AdvancedTransport<AT>> extend
      * and the decoder implementation this may be slower then just use the {@link io.netty.handler.codec.ByteToMessageDecoder#MERGE_CUMULATOR}.
      */
     private boolean decoderUseCompositeBuf;
+    /** 协议解析器实现模式 */
+    private DecoderMode decoderMode = DecoderMode.REPLAYING;
+    /** 协议头数据内容长度字段的编码格式 */
+    private HeaderFormat headerFormat = HeaderFormat.FIXED;
+    /** 数据内容压缩实现, null则表示不压缩 */
+    private Compressor compressor;
+    /** 数据内容大于等于该值才压缩, 默认1KB */
+    private int compressThreshold = 1024;
+    /** 是否在协议尾追加checksum, 用于检测传输过程中被篡改或损坏的协议 */
+    private boolean checksum;
+    /** 是否开启分片, 开启后, 大于{@link #maxBodySize}的数据内容会被拆分成多个协议发送 */
+    private boolean fragmentation;
+    /** 分片重组后数据内容最大长度, 仅重组模式下生效 */
+    private int maxAssembledBodySize;
+    /** 是否开启多路复用 */
+    private boolean multiplexing;
+    /** 多路复用时, 单个分片数据内容最大长度, 默认16KB */
+    private int streamChunkSize = 16 * 1024;
+    /** 是否开启request/response */
+    private boolean requestResponse;
+    /** flush策略, 默认每次send都立即flush */
+    private FlushStrategy flushStrategy = FlushStrategy.IMMEDIATE;
+    /** write和flush计数, 所有connection共享 */
+    private final FlushStats flushStats = new FlushStats();
+    /** channel outbound buffer低水位线, 0表示使用netty默认值 */
+    private int writeBufferLowWaterMark;
+    /** channel outbound buffer高水位线, 超过则channel不可写, 0表示使用netty默认值 */
+    private int writeBufferHighWaterMark;
     /** payload逻辑处理 */
     private PayloadProcessor payloadProcessor;
+    /** inbound payload分派模式, 默认不保证处理顺序 */
+    private DispatchMode dispatchMode = DispatchMode.DEFAULT;
+    /** payload processor执行线程池, null则表示在netty channel event loop执行 */
+    @Nullable
+    private ProcessorExecutor processorExecutor;
     /** channel initializer */
     private ChannelInitializer channelInitializer = ChannelInitializer.DEFAULT;
 
@@ -32,7 +68,7 @@ public abstract class AdvancedTransport<AT extends AdvancedTransport<AT>> extend
     }
 
     public ProtocolOptions getProtocolOptions() {
-        return new ProtocolOptions(magic, maxBodySize, decoderUseCompositeBuf);
+        return new ProtocolOptions(this);
     }
 
     /**
@@ -43,8 +79,23 @@ public abstract class AdvancedTransport<AT extends AdvancedTransport<AT>> extend
         super.checkRequire();
         //检查
         Preconditions.checkNotNull(payloadProcessor, "payload processor must be not null");
+        Preconditions.checkNotNull(decoderMode, "decoder mode must be not null");
+        Preconditions.checkNotNull(headerFormat, "header format must be not null");
+        Preconditions.checkNotNull(flushStrategy, "flush strategy must be not null");
+        Preconditions.checkNotNull(dispatchMode, "dispatch mode must be not null");
+        Preconditions.checkArgument(writeBufferLowWaterMark <= writeBufferHighWaterMark, "write buffer low water mark must be lower than or equal to high water mark");
+        Preconditions.checkArgument(compressThreshold >= 0, "compress threshold must be greater than or equal to 0");
+        if (fragmentation) {
+            Preconditions.checkArgument(maxAssembledBodySize > 0, "max assembled body size must be greater than 0");
+        }
+        if (multiplexing) {
+            Preconditions.checkArgument(streamChunkSize > 0, "stream chunk size must be greater than 0");
+        }
     }
 
+    /**
+     * 自定义魔数, 大量小消息的场景, 建议使用1-2字节的短魔数, 并配合{@link HeaderFormat#VAR_INT}, 以减少协议头带来的带宽开销
+     */
     @SuppressWarnings("unchecked")
     public AT magic(byte[] magic) {
         this.magic = magic;
@@ -69,12 +120,150 @@ public abstract class AdvancedTransport<AT extends AdvancedTransport<AT>> extend
         return (AT) this;
     }
 
+    @SuppressWarnings("unchecked")
+    public AT decoderMode(DecoderMode decoderMode) {
+        this.decoderMode = decoderMode;
+        return (AT) this;
+    }
+
+    @SuppressWarnings("unchecked")
+    public AT headerFormat(HeaderFormat headerFormat) {
+        this.headerFormat = headerFormat;
+        return (AT) this;
+    }
+
+    /**
+     * 开启数据内容压缩, 通信双方必须配置相同的{@link Compressor}实现
+     */
+    @SuppressWarnings("unchecked")
+    public AT compression(Compressor compressor) {
+        this.compressor = compressor;
+        return (AT) this;
+    }
+
+    /**
+     * 开启数据内容压缩, 通信双方必须配置相同的{@link Compressor}实现
+     *
+     * @param compressThreshold 数据内容大于等于该值才压缩
+     */
+    @SuppressWarnings("unchecked")
+    public AT compression(Compressor compressor, int compressThreshold) {
+        this.compressor = compressor;
+        this.compressThreshold = compressThreshold;
+        return (AT) this;
+    }
+
+    /**
+     * 开启协议checksum, 通信双方必须一致
+     * 固定使用CRC32C, 仅jdk9+支持, 否则开启时抛{@link TransportException}
+     */
+    @SuppressWarnings("unchecked")
+    public AT checksum(boolean checksum) {
+        if (checksum) {
+            Checksums.checkAvailable();
+        }
+        this.checksum = checksum;
+        return (AT) this;
+    }
+
+    /**
+     * 开启分片, 通信双方必须一致
+     * 大于{@link #maxBodySize}的数据内容会被拆分成多个{@link #maxBodySize}大小的分片发送, 接收端则有两种处理方式:
+     * 1. payload processor是{@link StreamingPayloadProcessor}实现, 则以{@link reactor.core.publisher.Flux}的方式逐个处理分片, 内存占用有界
+     * 2. 否则, 重组成{@link io.netty.buffer.CompositeByteBuf}后, 再交给payload processor处理
+     *
+     * @param maxAssembledBodySize 分片重组后数据内容最大长度, 仅重组模式下生效
+     */
+    @SuppressWarnings("unchecked")
+    public AT fragmentation(int maxAssembledBodySize) {
+        this.fragmentation = true;
+        this.maxAssembledBodySize = maxAssembledBodySize;
+        return (AT) this;
+    }
+
+    /**
+     * 开启多路复用, 通信双方必须一致
+     * 开启后, 协议头会带上stream id, 可以通过{@link Session#openStream()}在同一连接上开启多个逻辑stream,
+     * 数据内容会被拆分成多个分片, 不同stream的分片轮流写出, 避免大数据内容阻塞小数据内容
+     */
+    public AT multiplexing() {
+        return multiplexing(streamChunkSize);
+    }
+
+    /**
+     * 开启多路复用, 通信双方必须一致
+     *
+     * @param streamChunkSize 单个分片数据内容最大长度, 值越小, stream间调度越公平, 但协议头开销越大
+     * @see #multiplexing()
+     */
+    @SuppressWarnings("unchecked")
+    public AT multiplexing(int streamChunkSize) {
+        this.multiplexing = true;
+        this.streamChunkSize = streamChunkSize;
+        return (AT) this;
+    }
+
+    /**
+     * 开启request/response, 通信双方必须一致
+     * 开启后, 可以通过{@link Session#request}发送request并等待response, 接收端通过{@link Session#reply}回复
+     */
+    @SuppressWarnings("unchecked")
+    public AT requestResponse() {
+        this.requestResponse = true;
+        return (AT) this;
+    }
+
+    /**
+     * 自定义flush策略, 大量小消息场景下, 合并flush可以显著减少系统调用次数
+     * 合并效果可以通过{@link #getFlushStats()}观察
+     */
+    @SuppressWarnings("unchecked")
+    public AT flushStrategy(FlushStrategy flushStrategy) {
+        this.flushStrategy = flushStrategy;
+        return (AT) this;
+    }
+
+    /**
+     * 自定义channel outbound buffer高低水位线
+     * 积压bytes超过高水位线时channel不可写, 低于低水位线时恢复可写, 可通过{@link Session#onWritable()}感知
+     *
+     * @param low  低水位线
+     * @param high 高水位线
+     */
+    @SuppressWarnings("unchecked")
+    public AT writeBufferWaterMark(int low, int high) {
+        Preconditions.checkArgument(low > 0, "write buffer low water mark must be greater than 0");
+        Preconditions.checkArgument(low <= high, "write buffer low water mark must be lower than or equal to high water mark");
+        this.writeBufferLowWaterMark = low;
+        this.writeBufferHighWaterMark = high;
+        return (AT) this;
+    }
+
     @SuppressWarnings("unchecked")
     public AT payloadProcessor(PayloadProcessor payloadProcessor) {
         this.payloadProcessor = payloadProcessor;
         return (AT) this;
     }
 
+    /**
+     * 自定义inbound payload分派模式, 即同一session的多个payload的处理顺序和并发度
+     */
+    @SuppressWarnings("unchecked")
+    public AT dispatchMode(DispatchMode dispatchMode) {
+        this.dispatchMode = dispatchMode;
+        return (AT) this;
+    }
+
+    /**
+     * payload processor转移到{@code processorExecutor}执行, 适用于payload processor包含阻塞逻辑的场景
+     * 注意, {@link StreamingPayloadProcessor}仍然在netty channel event loop执行
+     */
+    @SuppressWarnings("unchecked")
+    public AT processorExecutor(ProcessorExecutor processorExecutor) {
+        this.processorExecutor = processorExecutor;
+        return (AT) this;
+    }
+
     @SuppressWarnings("unchecked")
     public AT channelInitializer(ChannelInitializer channelInitializer) {
         this.channelInitializer = channelInitializer;
@@ -94,10 +283,78 @@ public abstract class AdvancedTransport<AT extends AdvancedTransport<AT>> extend
         return decoderUseCompositeBuf;
     }
 
+    public DecoderMode getDecoderMode() {
+        return decoderMode;
+    }
+
+    public HeaderFormat getHeaderFormat() {
+        return headerFormat;
+    }
+
+    public Compressor getCompressor() {
+        return compressor;
+    }
+
+    public int getCompressThreshold() {
+        return compressThreshold;
+    }
+
+    public boolean isChecksum() {
+        return checksum;
+    }
+
+    public boolean isFragmentation() {
+        return fragmentation;
+    }
+
+    public int getMaxAssembledBodySize() {
+        return maxAssembledBodySize;
+    }
+
+    public boolean isMultiplexing() {
+        return multiplexing;
+    }
+
+    public int getStreamChunkSize() {
+        return streamChunkSize;
+    }
+
+    public boolean isRequestResponse() {
+        return requestResponse;
+    }
+
+    public FlushStrategy getFlushStrategy() {
+        return flushStrategy;
+    }
+
+    public FlushStats getFlushStats() {
+        return flushStats;
+    }
+
+    /**
+     * @return channel outbound buffer高低水位线, 未配置则返回null
+     */
+    @Nullable
+    public WriteBufferWaterMark getWriteBufferWaterMark() {
+        if (writeBufferHighWaterMark <= 0) {
+            return null;
+        }
+        return new WriteBufferWaterMark(writeBufferLowWaterMark, writeBufferHighWaterMark);
+    }
+
     public PayloadProcessor getPayloadProcessor() {
         return payloadProcessor;
     }
 
+    public DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    @Nullable
+    public ProcessorExecutor getProcessorExecutor() {
+        return processorExecutor;
+    }
+
     public ChannelInitializer getChannelInitializer() {
         return channelInitializer;
     }
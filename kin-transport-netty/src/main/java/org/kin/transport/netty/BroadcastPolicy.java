@@ -0,0 +1,40 @@
+package org.kin.transport.netty;
+
+/**
+ * 广播时, 如何处理outbound buffer积压的session
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public enum BroadcastPolicy {
+    /** 总是write, 即使channel不可写, 可能导致慢消费者的outbound buffer无限增长 */
+    ALWAYS {
+        @Override
+        boolean accept(Session session, int frameSize) {
+            return true;
+        }
+    },
+    /** 跳过不可写({@link Session#isWritable()})的session */
+    SKIP_UNWRITABLE {
+        @Override
+        boolean accept(Session session, int frameSize) {
+            return session.isWritable();
+        }
+    },
+    /** 仅当write后channel仍可写, 即{@link Session#bytesBeforeUnwritable()}不小于协议大小时, 才write */
+    REQUIRE_CAPACITY {
+        @Override
+        boolean accept(Session session, int frameSize) {
+            return session.bytesBeforeUnwritable() >= frameSize;
+        }
+    },
+    ;
+
+    /**
+     * 是否write到该session
+     *
+     * @param session   目标session
+     * @param frameSize 协议大小
+     */
+    abstract boolean accept(Session session, int frameSize);
+}
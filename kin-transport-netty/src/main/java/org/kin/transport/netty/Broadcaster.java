@@ -0,0 +1,125 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.util.ReferenceCountUtil;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 广播, 数据对象仅编码一次(包括协议头), 然后将协议bytebuf的retained duplicate write到每个session
+ * 目标session按event loop分组, 每个event loop仅提交一个task, 减少跨线程任务提交开销
+ * <p>
+ * 协议配置相同(比如同一server)的session共享同一编码结果, 协议配置不同则分别编码
+ * 广播的数据内容不能超过分片大小, 且总是属于默认stream
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class Broadcaster {
+    private Broadcaster() {
+    }
+
+    /**
+     * 广播, 跳过不可写的session
+     *
+     * @see #broadcast(Object, ObjectEncoder, Collection, BroadcastPolicy)
+     */
+    public static <T> Mono<Integer> broadcast(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder, @Nonnull Collection<Session> sessions) {
+        return broadcast(obj, encoder, sessions, BroadcastPolicy.SKIP_UNWRITABLE);
+    }
+
+    /**
+     * 广播
+     *
+     * @param obj      待广播的数据对象
+     * @param encoder  数据对象 -> bytes payload逻辑, 每种协议配置仅调用一次
+     * @param sessions 目标session
+     * @param policy   如何处理outbound buffer积压的session
+     * @return 实际write的session数, 所有event loop task执行完成后complete
+     */
+    public static <T> Mono<Integer> broadcast(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder,
+                                              @Nonnull Collection<Session> sessions, @Nonnull BroadcastPolicy policy) {
+        return Mono.create(sink -> {
+            //key -> 协议配置, 协议配置相同则编码结果相同
+            Map<ProtocolOptions, ByteBuf> frames = new IdentityHashMap<>();
+            //key -> event loop
+            Map<EventLoop, List<Session>> groups = new IdentityHashMap<>();
+            try {
+                for (Session session : sessions) {
+                    if (!session.isActive()) {
+                        continue;
+                    }
+                    ProtocolOptions options = session.options();
+                    if (!frames.containsKey(options)) {
+                        ByteBufPayload payload = session.newOutboundPayload();
+                        try {
+                            encoder.encode(obj, payload);
+                        } catch (Throwable t) {
+                            payload.release();
+                            throw t;
+                        }
+                        frames.put(options, new ProtocolEncoder(options).encode(session.alloc(), payload));
+                    }
+                    groups.computeIfAbsent(session.channel().eventLoop(), k -> new ArrayList<>()).add(session);
+                }
+            } catch (Throwable t) {
+                frames.values().forEach(ReferenceCountUtil::safeRelease);
+                sink.error(t);
+                return;
+            }
+
+            if (groups.isEmpty()) {
+                frames.values().forEach(ReferenceCountUtil::safeRelease);
+                sink.success(0);
+                return;
+            }
+
+            AtomicInteger remainingGroups = new AtomicInteger(groups.size());
+            AtomicInteger written = new AtomicInteger();
+            for (Map.Entry<EventLoop, List<Session>> entry : groups.entrySet()) {
+                List<Session> group = entry.getValue();
+                //每个task持有每个协议bytebuf一次引用
+                frames.values().forEach(ByteBuf::retain);
+                entry.getKey().execute(() -> {
+                    try {
+                        written.addAndGet(write(group, frames, policy));
+                    } finally {
+                        frames.values().forEach(ReferenceCountUtil::safeRelease);
+                        if (remainingGroups.decrementAndGet() == 0) {
+                            sink.success(written.get());
+                        }
+                    }
+                });
+            }
+            frames.values().forEach(ReferenceCountUtil::safeRelease);
+        });
+    }
+
+    /**
+     * 在event loop中write协议bytebuf到同一event loop的session
+     *
+     * @return 实际write的session数
+     */
+    private static int write(List<Session> sessions, Map<ProtocolOptions, ByteBuf> frames, BroadcastPolicy policy) {
+        int written = 0;
+        for (Session session : sessions) {
+            if (!session.isActive()) {
+                continue;
+            }
+            ByteBuf frame = frames.get(session.options());
+            if (!policy.accept(session, frame.readableBytes())) {
+                continue;
+            }
+            Channel channel = session.channel();
+            channel.writeAndFlush(frame.retainedDuplicate(), channel.voidPromise());
+            written++;
+        }
+        return written;
+    }
+}
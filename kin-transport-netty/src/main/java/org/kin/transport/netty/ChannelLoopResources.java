@@ -0,0 +1,101 @@
+package org.kin.transport.netty;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ReflectiveChannelFactory;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * 替换channel实现的event loop资源
+ * 复用{@link #delegate}的event loop, 仅将reactor netty tcp请求的socket channel替换成指定的channel实现,
+ * 故此非socket的transport(比如in-jvm local, 共享内存)仍可以基于reactor netty tcp server和client实现
+ * <p>
+ * channel实现需是public class, 且带public无参构造方法
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class ChannelLoopResources implements LoopResources {
+    /** 提供event loop的资源 */
+    private final LoopResources delegate;
+    /** 替换{@link ServerSocketChannel}的server channel实现 */
+    private final Class<? extends ServerChannel> serverChannelClass;
+    /** 替换{@link SocketChannel}的channel实现 */
+    private final Class<? extends Channel> channelClass;
+    private final ChannelFactory<? extends ServerChannel> serverChannelFactory;
+    private final ChannelFactory<? extends Channel> channelFactory;
+
+    public ChannelLoopResources(LoopResources delegate,
+                                Class<? extends ServerChannel> serverChannelClass,
+                                Class<? extends Channel> channelClass) {
+        this.delegate = delegate;
+        this.serverChannelClass = serverChannelClass;
+        this.channelClass = channelClass;
+        this.serverChannelFactory = new ReflectiveChannelFactory<>(serverChannelClass);
+        this.channelFactory = new ReflectiveChannelFactory<>(channelClass);
+    }
+
+    @Override
+    public EventLoopGroup onClient(boolean useNative) {
+        return delegate.onClient(useNative);
+    }
+
+    @Override
+    public EventLoopGroup onServer(boolean useNative) {
+        return delegate.onServer(useNative);
+    }
+
+    @Override
+    public EventLoopGroup onServerSelect(boolean useNative) {
+        return delegate.onServerSelect(useNative);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <CHANNEL extends Channel> Class<? extends CHANNEL> onChannelClass(Class<CHANNEL> channelType, EventLoopGroup group) {
+        if (ServerSocketChannel.class.equals(channelType)) {
+            return (Class<? extends CHANNEL>) serverChannelClass;
+        }
+        if (SocketChannel.class.equals(channelType)) {
+            return (Class<? extends CHANNEL>) channelClass;
+        }
+        return delegate.onChannelClass(channelType, group);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <CHANNEL extends Channel> CHANNEL onChannel(Class<CHANNEL> channelType, EventLoopGroup group) {
+        if (ServerSocketChannel.class.equals(channelType)) {
+            return (CHANNEL) serverChannelFactory.newChannel();
+        }
+        if (SocketChannel.class.equals(channelType)) {
+            return (CHANNEL) channelFactory.newChannel();
+        }
+        return delegate.onChannel(channelType, group);
+    }
+
+    @Override
+    public boolean daemon() {
+        return delegate.daemon();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate.isDisposed();
+    }
+
+    /**
+     * 仅替换channel实现, 本身不持有event loop, 故此不释放{@link #delegate}
+     */
+    @Override
+    public Mono<Void> disposeLater(Duration quietPeriod, Duration timeout) {
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,135 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.FastThreadLocal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+
+/**
+ * 协议checksum计算
+ * <p>
+ * 固定使用jdk9+的{@code java.util.zip.CRC32C}(x86/arm平台有intrinsic优化), 不会降级成其他算法,
+ * 否则不同jdk版本的通信双方会因算法不一致而校验失败, 故此{@code CRC32C}不可用时, 开启checksum直接报错
+ * 项目编译目标为jdk8, 故此通过反射加载{@code CRC32C}, 并通过{@link MethodHandle}调用update(ByteBuffer),
+ * 直接基于bytebuf底层内存计算, 不需要copy到byte[]
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+final class Checksums {
+    /** {@code java.util.zip.CRC32C}类名 */
+    private static final String CRC32C_CLASS_NAME = "java.util.zip.CRC32C";
+    /** checksum实现构造器, () -> Checksum, {@code CRC32C}不可用时为null */
+    private static final MethodHandle CONSTRUCTOR;
+    /** checksum实现的update(ByteBuffer)方法, (Checksum, ByteBuffer) -> void, {@code CRC32C}不可用时为null */
+    private static final MethodHandle UPDATE;
+    /** 线程本地checksum实例 */
+    private static final FastThreadLocal<Checksum> CHECKSUM = new FastThreadLocal<Checksum>() {
+        @Override
+        protected Checksum initialValue() {
+            try {
+                return (Checksum) CONSTRUCTOR.invokeExact();
+            } catch (Throwable t) {
+                throw new TransportException("create checksum instance error", t);
+            }
+        }
+    };
+
+    static {
+        Class<?> checksumClass = null;
+        try {
+            checksumClass = Class.forName(CRC32C_CLASS_NAME);
+        } catch (ClassNotFoundException e) {
+            //jdk8, 开启checksum时报错
+        }
+
+        if (checksumClass != null) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                CONSTRUCTOR = lookup.findConstructor(checksumClass, MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(Checksum.class));
+                UPDATE = lookup.findVirtual(checksumClass, "update", MethodType.methodType(void.class, ByteBuffer.class))
+                        .asType(MethodType.methodType(void.class, Checksum.class, ByteBuffer.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        } else {
+            CONSTRUCTOR = null;
+            UPDATE = null;
+        }
+    }
+
+    private Checksums() {
+    }
+
+    /**
+     * 检查{@code CRC32C}是否可用, 不可用则抛异常
+     */
+    static void checkAvailable() {
+        if (CONSTRUCTOR == null) {
+            throw new TransportException(String.format("checksum requires jdk9+ %s, but it is not available in jdk %s",
+                    CRC32C_CLASS_NAME, System.getProperty("java.version")));
+        }
+    }
+
+    /**
+     * 计算{@code byteBuf}指定区间的checksum, 不会修改{@code byteBuf}的reader index和writer index
+     *
+     * @param byteBuf 协议bytes
+     * @param index   开始index
+     * @param length  长度
+     * @return checksum
+     */
+    static int checksum(ByteBuf byteBuf, int index, int length) {
+        Checksum checksum = CHECKSUM.get();
+        checksum.reset();
+        update(checksum, byteBuf, index, length);
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * 计算多个bytebuf可读bytes的checksum
+     *
+     * @param byteBufs 协议bytes
+     * @return checksum
+     */
+    static int checksum(ByteBuf... byteBufs) {
+        Checksum checksum = CHECKSUM.get();
+        checksum.reset();
+        for (ByteBuf byteBuf : byteBufs) {
+            update(checksum, byteBuf, byteBuf.readerIndex(), byteBuf.readableBytes());
+        }
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * 使用{@code byteBuf}指定区间更新checksum
+     * heap bytebuf直接使用底层byte[], 否则使用底层nio buffer(composite bytebuf可能有多个)
+     */
+    private static void update(Checksum checksum, ByteBuf byteBuf, int index, int length) {
+        if (length <= 0) {
+            return;
+        }
+
+        if (byteBuf.hasArray()) {
+            checksum.update(byteBuf.array(), byteBuf.arrayOffset() + index, length);
+            return;
+        }
+
+        try {
+            if (byteBuf.nioBufferCount() == 1) {
+                UPDATE.invokeExact(checksum, byteBuf.internalNioBuffer(index, length));
+            } else {
+                for (ByteBuffer nioBuffer : byteBuf.nioBuffers(index, length)) {
+                    UPDATE.invokeExact(checksum, nioBuffer);
+                }
+            }
+        } catch (Throwable t) {
+            throw new TransportException("update checksum error", t);
+        }
+    }
+}
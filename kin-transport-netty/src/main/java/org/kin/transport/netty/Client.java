@@ -3,6 +3,8 @@ package org.kin.transport.netty;
 import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCountUtil;
 import org.kin.framework.JvmCloseCleaner;
+import org.kin.framework.utils.SysUtils;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.Disposable;
@@ -34,8 +36,9 @@ public abstract class Client<C extends Client<C, PT>, PT extends AdvancedClientT
     private static final AtomicReferenceFieldUpdater<Client, Session> SESSION_UPDATER =
             AtomicReferenceFieldUpdater.newUpdater(Client.class, Session.class, "session");
 
-    /** 重连scheduler */
-    private static final Scheduler RECONNECT_SCHEDULER = Schedulers.newSingle("kin-client-reconnect", true);
+    /** 重连scheduler, 多线程, 避免大量client同时重连时, 单线程成为瓶颈 */
+    private static final Scheduler RECONNECT_SCHEDULER = Schedulers.newParallel("kin-client-reconnect",
+            SysUtils.getIntSysProperty("kin.transport.reconnect.threads", Math.min(SysUtils.CPU_NUM, 4)), true);
 
     static {
         JvmCloseCleaner.instance().add(RECONNECT_SCHEDULER::dispose);
@@ -57,6 +60,11 @@ public abstract class Client<C extends Client<C, PT>, PT extends AdvancedClientT
      * 断连重连后, 会调用{@link Session#bind(Connection)}替换底层{@link Connection}实例
      */
     private volatile Session session;
+    /** 上次重连间隔, 毫秒, 用于计算{@link ReconnectPolicy.Jitter#DECORRELATED}重连间隔 */
+    private volatile long lastReconnectDelayMillis;
+    /** 重连期间的离线发送缓存, null则表示不缓存 */
+    @Nullable
+    private final Outbox outbox;
     /** 标识client是否已调用{@link #connect()} */
     private volatile boolean connected;
     /** client是否closed */
@@ -64,6 +72,7 @@ public abstract class Client<C extends Client<C, PT>, PT extends AdvancedClientT
 
     protected Client(PT clientTransport) {
         this.clientTransport = clientTransport;
+        this.outbox = clientTransport.newOutbox();
     }
 
     /**
@@ -108,7 +117,7 @@ public abstract class Client<C extends Client<C, PT>, PT extends AdvancedClientT
             return;
         }
 
-        connector().subscribe(connection -> onConnected(connection, 0),
+        connector().subscribe(this::onConnected,
                 t -> {
                     handleErrorOnConnecting(t, 0);
                     //单次connect失败, 马上dispose
@@ -120,8 +129,10 @@ public abstract class Client<C extends Client<C, PT>, PT extends AdvancedClientT
      * 连接成功绑定inbound payload逻辑处理
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private void onConnected(Connection connection, int retryTimes) {
+    private void onConnected(Connection connection) {
         PayloadProcessor payloadProcessor = clientTransport.getPayloadProcessor();
+        DispatchMode dispatchMode = clientTransport.getDispatchMode();
+        ProcessorExecutor processorExecutor = clientTransport.getProcessorExecutor();
         Disposable inboundProcessDisposable = connection
                 .inbound()
                 .receiveObject()
@@ -135,21 +146,30 @@ public abstract class Client<C extends Client<C, PT>, PT extends AdvancedClientT
                 })
                 .filter(o -> {
                     //过滤非法payload
-                    if (!(o instanceof ByteBufPayload)) {
+                    if (!(o instanceof ByteBufPayload) && !(o instanceof StreamingPayload)) {
                         log.warn("unexpected payload type received: {}, channel: {}.", o.getClass(), SESSION_UPDATER.get(this).channel());
                         return false;
                     }
 
                     return true;
                 })
-                .cast(ByteBufPayload.class)
-                .flatMap(bp -> {
+                .transform(payloads -> dispatchMode.dispatch(payloads, o -> {
+                    if (o instanceof StreamingPayload) {
+                        //分片数据内容流
+                        return ((StreamingPayloadProcessor) payloadProcessor).process(SESSION_UPDATER.get(this), ((StreamingPayload) o).fragments());
+                    }
+
+                    ByteBufPayload bp = (ByteBufPayload) o;
+                    if (Objects.nonNull(processorExecutor)) {
+                        //转移到业务线程执行, 执行完后再release
+                        return processorExecutor.process(payloadProcessor, SESSION_UPDATER.get(this), bp);
+                    }
                     try {
                         return payloadProcessor.process(SESSION_UPDATER.get(this), bp);
                     } finally {
                         ReferenceCountUtil.safeRelease(bp);
                     }
-                })
+                }))
                 .onErrorContinue((throwable, o) -> log.error("{} process payload error, {}", clientName(), o, throwable))
                 .subscribe();
 
@@ -158,7 +178,7 @@ public abstract class Client<C extends Client<C, PT>, PT extends AdvancedClientT
         boolean isReconnect = false;
         if (Objects.isNull(session)) {
             //new session
-            session = new Session(clientTransport.getProtocolOptions(), connection);
+            session = new Session(clientTransport.getProtocolOptions(), connection, outbox);
             sessionSink.emitValue(session, RetryNonSerializedEmitFailureHandler.RETRY_NON_SERIALIZED);
             SESSION_UPDATER.set(this, session);
         } else {
@@ -178,9 +198,10 @@ public abstract class Client<C extends Client<C, PT>, PT extends AdvancedClientT
                     inboundProcessDisposable.dispose();
 
                     if (clientTransport.isReconnect()) {
-                        //尝试重连
+                        //尝试重连, 连接成功过, 故此重新开始计算重连次数
                         log.info("{} prepare to reconnect to remote '{}'", clientName(), remoteAddress());
-                        tryReconnect(retryTimes);
+                        lastReconnectDelayMillis = 0;
+                        tryReconnect(1);
                     }
                 }
             }
@@ -221,11 +242,23 @@ public abstract class Client<C extends Client<C, PT>, PT extends AdvancedClientT
             return;
         }
 
-        //初始间隔为0s, 最大间隔3s
+        ReconnectPolicy reconnectPolicy = clientTransport.getReconnectPolicy();
+        if (reconnectPolicy.isExhausted(retryTimes)) {
+            log.warn("{} reconnect to remote '{}' exhausted after {} attempts, give up", clientName(), remoteAddress(), retryTimes - 1);
+            dispose();
+            return;
+        }
+
+        //首次连接不需要等待
+        long delayMillis = reconnectPolicy.nextDelayMillis(retryTimes, lastReconnectDelayMillis);
+        lastReconnectDelayMillis = delayMillis;
+        //连接速率限制
+        delayMillis += reconnectPolicy.reserveConnect();
+
         int nextRetryTimes = retryTimes + 1;
-        Mono.delay(Duration.ofSeconds(Math.min(3L, retryTimes)), RECONNECT_SCHEDULER)
+        Mono.delay(Duration.ofMillis(delayMillis), RECONNECT_SCHEDULER)
                 .flatMap(t -> connector())
-                .subscribe(connection -> onConnected(connection, nextRetryTimes),
+                .subscribe(this::onConnected,
                         t -> handleErrorOnConnecting(t, nextRetryTimes));
     }
 
@@ -265,6 +298,28 @@ public abstract class Client<C extends Client<C, PT>, PT extends AdvancedClientT
         return session().flatMap(s -> s.sendObject(obj, encoder, listener));
     }
 
+    /**
+     * client批量send payload, 单次合并flush, 如果失败, 则丢失
+     *
+     * @param encoder 数据对象 -> bytes payload逻辑
+     * @return complete signal
+     * @see Session#sendAll(Publisher, ObjectEncoder)
+     */
+    public <T> Mono<Void> sendAll(@Nonnull Publisher<T> objs, @Nonnull ObjectEncoder<T> encoder) {
+        return session().flatMap(s -> s.sendAll(objs, encoder));
+    }
+
+    /**
+     * client批量send payload, 每{@code batchSize}个payload flush一次, 如果失败, 则丢失
+     *
+     * @param encoder 数据对象 -> bytes payload逻辑
+     * @return complete signal
+     * @see Session#sendAll(Publisher, ObjectEncoder, int)
+     */
+    public <T> Mono<Void> sendAll(@Nonnull Publisher<T> objs, @Nonnull ObjectEncoder<T> encoder, int batchSize) {
+        return session().flatMap(s -> s.sendAll(objs, encoder, batchSize));
+    }
+
     /**
      * client send bytebuf, 如果失败, 则丢失
      *
@@ -285,6 +340,40 @@ public abstract class Client<C extends Client<C, PT>, PT extends AdvancedClientT
         return session().flatMap(s -> s.send(byteBuf, listener));
     }
 
+    /**
+     * channel可写时才client send payload, 否则挂起直到channel恢复可写
+     *
+     * @param encoder 数据对象 -> bytes payload逻辑
+     * @return complete signal
+     * @see Session#sendWhenWritable(Object, ObjectEncoder)
+     */
+    public <T> Mono<Void> sendWhenWritable(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder) {
+        return session().flatMap(s -> s.sendWhenWritable(obj, encoder));
+    }
+
+    /**
+     * 当前session的channel可写状态变化流
+     *
+     * @see Session#onWritable()
+     */
+    public Flux<Boolean> onWritable() {
+        return session().flatMapMany(Session::onWritable);
+    }
+
+    /**
+     * client send request, 并等待对端response
+     *
+     * @param encoder 数据对象 -> bytes payload逻辑
+     * @param decoder response bytes payload -> 数据对象逻辑
+     * @param timeout 等待response超时时间
+     * @return response signal
+     * @see Session#request(Object, ObjectEncoder, ObjectDecoder, Duration)
+     */
+    public <T, R> Mono<R> request(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder,
+                                  @Nonnull ObjectDecoder<R> decoder, @Nonnull Duration timeout) {
+        return session().flatMap(s -> s.request(obj, encoder, decoder, timeout));
+    }
+
     @Override
     public final void dispose() {
         dispose(null);
@@ -339,6 +428,14 @@ public abstract class Client<C extends Client<C, PT>, PT extends AdvancedClientT
 
     //getter
 
+    /**
+     * @return 重连期间的离线发送缓存, 可用于观察缓存的bytes, null则表示不缓存
+     */
+    @Nullable
+    public final Outbox getOutbox() {
+        return outbox;
+    }
+
     /**
      * @return client命名
      */
@@ -349,12 +446,22 @@ public abstract class Client<C extends Client<C, PT>, PT extends AdvancedClientT
         return clientName;
     }
 
+    /**
+     * 获取当前会话, 不等待连接建立
+     *
+     * @return 会话, 首次连接未建立时返回null
+     */
+    @Nullable
+    final Session currentSession() {
+        return SESSION_UPDATER.get(this);
+    }
+
     /**
      * 获取会话, 首次连接未建立时, 会等待
      *
      * @return 会话
      */
-    private Mono<Session> session() {
+    final Mono<Session> session() {
         if (disposed) {
             return Mono.error(new TransportException(String.format("%s disposed", clientName())));
         }
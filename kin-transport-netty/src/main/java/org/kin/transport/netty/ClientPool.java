@@ -0,0 +1,145 @@
+package org.kin.transport.netty;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import org.kin.transport.netty.pool.SessionSelector;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 连接池, 维护N个连接同一remote的{@link Client}, 每次send按{@link SessionSelector}选择一个可用session
+ * 单个连接的吞吐受限于其所在的event loop, 且单个连接阻塞会影响所有调用方, 连接池可以将负载分摊到多个event loop
+ * 每个{@link Client}独立重连, 重连期间不会被选中
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class ClientPool<C extends Client<C, ?>> implements Disposable {
+    /** 池化的client */
+    private final List<C> clients;
+    /** session选择策略 */
+    private final SessionSelector selector;
+    /** 所有连接都不可用时, 轮询选择等待连接建立的client */
+    private final AtomicInteger fallbackCounter = new AtomicInteger();
+    /** 连接池是否closed */
+    private volatile boolean disposed;
+
+    public ClientPool(List<C> clients, SessionSelector selector) {
+        Preconditions.checkArgument(!clients.isEmpty(), "clients must be not empty");
+        Preconditions.checkNotNull(selector, "session selector must be not null");
+        this.clients = Collections.unmodifiableList(new ArrayList<>(clients));
+        this.selector = selector;
+    }
+
+    /**
+     * 选择session, 如果所有连接都不可用, 则等待其中一个client首次连接建立
+     *
+     * @return 会话
+     */
+    protected Mono<Session> select() {
+        if (disposed) {
+            return Mono.error(new TransportException("client pool disposed"));
+        }
+
+        List<Session> actives = new ArrayList<>(clients.size());
+        for (C client : clients) {
+            Session session = client.currentSession();
+            if (Objects.nonNull(session) && session.isActive()) {
+                actives.add(session);
+            }
+        }
+
+        if (actives.isEmpty()) {
+            C client = clients.get((fallbackCounter.getAndIncrement() & Integer.MAX_VALUE) % clients.size());
+            return client.session();
+        }
+        return Mono.just(selector.select(Collections.unmodifiableList(actives)));
+    }
+
+    /**
+     * send payload, 如果失败, 则丢失
+     *
+     * @param encoder 数据对象 -> bytes payload逻辑
+     * @return complete signal
+     */
+    public <T> Mono<Void> sendObject(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder) {
+        return select().flatMap(s -> s.sendObject(obj, encoder));
+    }
+
+    /**
+     * send payload, 如果失败, 则丢失
+     *
+     * @param encoder  数据对象 -> bytes payload逻辑
+     * @param listener netty channel operation callback
+     * @return complete signal
+     */
+    public <T> Mono<Void> sendObject(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder,
+                                     @Nonnull ChannelOperationListener listener) {
+        return select().flatMap(s -> s.sendObject(obj, encoder, listener));
+    }
+
+    /**
+     * 批量send payload, 所有payload都通过同一连接发送, 如果失败, 则丢失
+     *
+     * @param encoder 数据对象 -> bytes payload逻辑
+     * @return complete signal
+     * @see Session#sendAll(Publisher, ObjectEncoder)
+     */
+    public <T> Mono<Void> sendAll(@Nonnull Publisher<T> objs, @Nonnull ObjectEncoder<T> encoder) {
+        return select().flatMap(s -> s.sendAll(objs, encoder));
+    }
+
+    /**
+     * send bytebuf, 如果失败, 则丢失
+     *
+     * @return complete signal
+     */
+    public Mono<Void> send(@Nonnull ByteBuf byteBuf) {
+        return select().flatMap(s -> s.send(byteBuf));
+    }
+
+    /**
+     * send request, 并等待对端response
+     *
+     * @see Session#request(Object, ObjectEncoder, ObjectDecoder, Duration)
+     */
+    public <T, R> Mono<R> request(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder,
+                                  @Nonnull ObjectDecoder<R> decoder, @Nonnull Duration timeout) {
+        return select().flatMap(s -> s.request(obj, encoder, decoder, timeout));
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+
+        disposed = true;
+        for (C client : clients) {
+            client.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    //getter
+    public List<C> getClients() {
+        return clients;
+    }
+
+    public SessionSelector getSelector() {
+        return selector;
+    }
+}
@@ -0,0 +1,78 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * udp协议解析, 协议格式与{@link ProtocolDecoder}一致, 但每个datagram有且仅有一个完整协议
+ * <p>
+ * udp不保证送达和顺序, 故此不会跨datagram累积bytes, 非法, 被截断或者不完整的datagram直接丢弃, 不影响后续datagram解析
+ * 每个datagram仅解析第一个协议, 协议内容之后的bytes会被忽略
+ * 解析出的payload会记录发送者地址, 见{@link ByteBufPayload#getSender()}
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class DatagramProtocolDecoder extends MessageToMessageDecoder<DatagramPacket> {
+    private static final Logger log = LoggerFactory.getLogger(DatagramProtocolDecoder.class);
+    /** 协议配置 */
+    private final ProtocolOptions options;
+    /** 协议头校验以及协议内容解析 */
+    private final ProtocolContentDecoder contentDecoder;
+
+    public DatagramProtocolDecoder(ProtocolOptions options) {
+        this.options = options;
+        this.contentDecoder = new ProtocolContentDecoder(options);
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, DatagramPacket packet, List<Object> out) {
+        ByteBuf byteBuf = packet.content();
+        int from = out.size();
+        try {
+            int magicSize = options.getMagicSize();
+            int readerIndex = byteBuf.readerIndex();
+            if (byteBuf.readableBytes() <= magicSize) {
+                throw new TransportException("incomplete header");
+            }
+            contentDecoder.checkMagic(byteBuf, readerIndex);
+            int bodySizeMark = contentDecoder.peekBodySizeMark(byteBuf, readerIndex + magicSize);
+            if (bodySizeMark < 0) {
+                throw new TransportException("incomplete header");
+            }
+
+            byteBuf.skipBytes(magicSize);
+            int bodySize = contentDecoder.checkContentSize(contentDecoder.readBodySize(byteBuf));
+            if (byteBuf.readableBytes() < bodySize) {
+                //被截断
+                throw new TransportException(String.format("datagram content size(%d) is less than body size(%d)", byteBuf.readableBytes(), bodySize));
+            }
+            //netty epoll recvmmsg批量接收时, datagram content是整个接收槽位(即max datagram size), 而不是实际接收的bytes,
+            //故此仅解析协议头声明的协议内容, 忽略剩余bytes
+
+            contentDecoder.decode(ctx, byteBuf.readRetainedSlice(bodySize), out);
+        } catch (TransportException e) {
+            log.warn("drop malformed datagram from {}, channel: {}, cause: {}", packet.sender(), ctx.channel(), e.getMessage());
+            return;
+        }
+
+        for (int i = from; i < out.size(); i++) {
+            Object o = out.get(i);
+            if (o instanceof ByteBufPayload) {
+                ((ByteBufPayload) o).sender(packet.sender());
+            }
+        }
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        contentDecoder.release();
+        super.handlerRemoved(ctx);
+    }
+}
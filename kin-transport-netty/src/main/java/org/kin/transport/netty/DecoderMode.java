@@ -0,0 +1,41 @@
+package org.kin.transport.netty;
+
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * 协议解析器实现模式
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public enum DecoderMode {
+    /**
+     * 基于{@link io.netty.handler.codec.ReplayingDecoder}实现, 编码简单
+     * 但协议内容不完整时会抛出replay signal, 并从上一个checkpoint开始重新解析
+     */
+    REPLAYING {
+        @Override
+        public ByteToMessageDecoder newDecoder(ProtocolOptions options) {
+            return new ProtocolDecoder(options);
+        }
+    },
+    /**
+     * 基于{@link ByteToMessageDecoder}实现, 先peek协议头, 协议内容完整后才slice
+     * 适合大协议内容, 网络分片频繁的场景
+     */
+    NON_REPLAYING {
+        @Override
+        public ByteToMessageDecoder newDecoder(ProtocolOptions options) {
+            return new NonReplayingProtocolDecoder(options);
+        }
+    },
+    ;
+
+    /**
+     * 创建协议解析器, 每个channel一个实例
+     *
+     * @param options 协议配置
+     * @return 协议解析器
+     */
+    public abstract ByteToMessageDecoder newDecoder(ProtocolOptions options);
+}
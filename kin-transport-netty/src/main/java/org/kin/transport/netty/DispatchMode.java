@@ -0,0 +1,163 @@
+package org.kin.transport.netty;
+
+import com.google.common.base.Preconditions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.concurrent.Queues;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * inbound payload分派模式, 决定同一session的多个payload如何交给{@link PayloadProcessor}处理, 即处理顺序和并发度
+ * <p>
+ * payload processor返回的{@link Mono}complete后, 才认为该payload处理完成
+ * 同步处理(即直接返回{@link Mono#empty()})的payload processor, 各模式差异不大, 异步处理时才有明显差异
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class DispatchMode {
+    /** 默认keyed模式lane数 */
+    private static final int DEFAULT_LANES = 32;
+
+    /** 默认, 不保证处理顺序, 即flatMap默认并发度(256)和prefetch(32) */
+    public static final DispatchMode DEFAULT = new DispatchMode(Type.CONCURRENT, Queues.SMALL_BUFFER_SIZE, Queues.XS_BUFFER_SIZE, null);
+    /** 严格有序, 上一个payload处理完成后才处理下一个 */
+    public static final DispatchMode ORDERED = ordered(Queues.XS_BUFFER_SIZE);
+
+    /**
+     * 严格有序, 上一个payload处理完成后才处理下一个
+     *
+     * @param prefetch 预取payload数
+     */
+    public static DispatchMode ordered(int prefetch) {
+        Preconditions.checkArgument(prefetch > 0, "prefetch must be greater than 0");
+        return new DispatchMode(Type.ORDERED, 1, prefetch, null);
+    }
+
+    /**
+     * 有界并发, 不保证处理顺序, 单个session最多同时处理{@code concurrency}个payload
+     *
+     * @param concurrency 最大并发处理payload数
+     * @param prefetch    预取payload数
+     */
+    public static DispatchMode concurrent(int concurrency, int prefetch) {
+        Preconditions.checkArgument(concurrency > 0, "concurrency must be greater than 0");
+        Preconditions.checkArgument(prefetch > 0, "prefetch must be greater than 0");
+        return new DispatchMode(Type.CONCURRENT, concurrency, prefetch, null);
+    }
+
+    /**
+     * 按key有序, 相同key的payload严格有序处理, 不同key的payload并发处理
+     *
+     * @param keyExtractor 从payload中提取key, 该方法在netty channel event loop执行, 不能修改payload reader index
+     * @see #keyed(Function, int)
+     */
+    public static DispatchMode keyed(Function<ByteBufPayload, Object> keyExtractor) {
+        return keyed(keyExtractor, DEFAULT_LANES);
+    }
+
+    /**
+     * 按key有序, 相同key的payload严格有序处理, 不同key的payload并发处理
+     * key按hash映射到{@code lanes}条lane, 每条lane内严格有序, 故此不同key也可能因落在同一lane而串行处理,
+     * 但lane数有界, 不会因为key过多导致分组无限增长
+     * {@link StreamingPayload}则以其stream id作为key
+     *
+     * @param keyExtractor 从payload中提取key, 该方法在netty channel event loop执行, 不能修改payload reader index
+     * @param lanes        lane数, 即最大并发处理payload数
+     */
+    public static DispatchMode keyed(Function<ByteBufPayload, Object> keyExtractor, int lanes) {
+        Preconditions.checkNotNull(keyExtractor, "key extractor must be not null");
+        Preconditions.checkArgument(lanes > 0, "lanes must be greater than 0");
+        return new DispatchMode(Type.KEYED, lanes, Queues.XS_BUFFER_SIZE, keyExtractor);
+    }
+
+    /** 分派模式类型 */
+    private final Type type;
+    /** 最大并发处理payload数, keyed模式下即lane数 */
+    private final int concurrency;
+    /** 预取payload数 */
+    private final int prefetch;
+    /** 从payload中提取key, 仅keyed模式存在 */
+    private final Function<ByteBufPayload, Object> keyExtractor;
+
+    private DispatchMode(Type type, int concurrency, int prefetch, Function<ByteBufPayload, Object> keyExtractor) {
+        this.type = type;
+        this.concurrency = concurrency;
+        this.prefetch = prefetch;
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * 按分派模式将{@code payloads}交给{@code processor}处理
+     *
+     * @param payloads  inbound payload, 即{@link ByteBufPayload}或{@link StreamingPayload}
+     * @param processor payload处理逻辑
+     * @return 处理完成signal
+     */
+    Flux<Void> dispatch(Flux<Object> payloads, Function<Object, Mono<Void>> processor) {
+        switch (type) {
+            case ORDERED:
+                return payloads.concatMap(processor, prefetch);
+            case CONCURRENT:
+                return payloads.flatMap(processor, concurrency, prefetch);
+            case KEYED:
+                return payloads.groupBy(this::lane, prefetch)
+                        .flatMap(lane -> lane.concatMap(processor, prefetch), concurrency);
+            default:
+                throw new UnsupportedOperationException("unknown dispatch mode type: " + type);
+        }
+    }
+
+    /**
+     * 计算payload所属lane
+     */
+    private int lane(Object o) {
+        Object key;
+        if (o instanceof StreamingPayload) {
+            key = ((StreamingPayload) o).getStreamId();
+        } else {
+            key = keyExtractor.apply((ByteBufPayload) o);
+        }
+        return Math.floorMod(Objects.hashCode(key), concurrency);
+    }
+
+    //getter
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    public boolean isOrdered() {
+        return Type.ORDERED.equals(type);
+    }
+
+    public boolean isKeyed() {
+        return Type.KEYED.equals(type);
+    }
+
+    @Override
+    public String toString() {
+        return "DispatchMode{" +
+                "type=" + type +
+                ", concurrency=" + concurrency +
+                ", prefetch=" + prefetch +
+                '}';
+    }
+
+    /**
+     * 分派模式类型
+     */
+    private enum Type {
+        /** 严格有序 */
+        ORDERED,
+        /** 有界并发 */
+        CONCURRENT,
+        /** 按key有序 */
+        KEYED,
+    }
+}
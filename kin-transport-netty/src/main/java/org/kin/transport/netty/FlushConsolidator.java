@@ -0,0 +1,173 @@
+package org.kin.transport.netty;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.Future;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 根据{@link FlushStrategy}合并flush请求, 减少系统调用次数, 同时统计write和flush次数
+ * 位于{@link ProtocolEncoder}之后(更靠近pipeline tail), 故此统计的write次数是payload数, 而不是分片后的协议数
+ * <p>
+ * 参考netty {@link io.netty.handler.flush.FlushConsolidationHandler}, 增加了按时间合并以及统计
+ * 非线程安全, 每个connection一个实例
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class FlushConsolidator extends ChannelDuplexHandler {
+    /** flush策略 */
+    private final FlushStrategy strategy;
+    /** write和flush计数 */
+    private final FlushStats stats;
+    /** 已合并但还未flush的flush请求数 */
+    private int pendingFlushes;
+    /** 是否处于channel read期间 */
+    private boolean readInProgress;
+    /** 已调度的flush任务 */
+    private Future<?> nextScheduledFlush;
+    /** flush task */
+    private Runnable flushTask;
+
+    public FlushConsolidator(FlushStrategy strategy, FlushStats stats) {
+        this.strategy = strategy;
+        this.stats = stats;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        flushTask = () -> {
+            nextScheduledFlush = null;
+            if (pendingFlushes > 0 && !readInProgress) {
+                flushNow(ctx);
+            }
+        };
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        stats.onWrite();
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        stats.onFlushRequest();
+        if (strategy.isImmediate()) {
+            flushNow(ctx);
+        } else if (readInProgress) {
+            //channel read期间, 延迟到channelReadComplete再flush
+            if (++pendingFlushes >= strategy.getMaxPendingFlushes()) {
+                flushNow(ctx);
+            }
+        } else if (strategy.isConsolidateWhenNoReadInProgress()) {
+            if (++pendingFlushes >= strategy.getMaxPendingFlushes()) {
+                flushNow(ctx);
+            } else {
+                scheduleFlush(ctx);
+            }
+        } else {
+            flushNow(ctx);
+        }
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        readInProgress = true;
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        resetReadAndFlushIfNeeded(ctx);
+        ctx.fireChannelReadComplete();
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        resetReadAndFlushIfNeeded(ctx);
+        ctx.fireExceptionCaught(cause);
+    }
+
+    @Override
+    public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) {
+        resetReadAndFlushIfNeeded(ctx);
+        ctx.disconnect(promise);
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) {
+        resetReadAndFlushIfNeeded(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        if (!ctx.channel().isWritable()) {
+            //channel outbound buffer达到高水位, 尽快flush
+            flushIfNeeded(ctx);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        flushIfNeeded(ctx);
+    }
+
+    /**
+     * channel read结束, 如果有合并的flush请求, 则flush
+     */
+    private void resetReadAndFlushIfNeeded(ChannelHandlerContext ctx) {
+        readInProgress = false;
+        flushIfNeeded(ctx);
+    }
+
+    /**
+     * 如果有合并的flush请求, 则flush
+     */
+    private void flushIfNeeded(ChannelHandlerContext ctx) {
+        if (pendingFlushes > 0) {
+            flushNow(ctx);
+        }
+    }
+
+    /**
+     * 立即flush, 并取消已调度的flush任务
+     */
+    private void flushNow(ChannelHandlerContext ctx) {
+        cancelScheduledFlush();
+        pendingFlushes = 0;
+        stats.onFlush();
+        ctx.flush();
+    }
+
+    /**
+     * 调度flush任务, 如果已调度, 则忽略
+     */
+    private void scheduleFlush(ChannelHandlerContext ctx) {
+        if (Objects.nonNull(nextScheduledFlush)) {
+            return;
+        }
+        long delayMicros = strategy.getDelayMicros();
+        if (delayMicros > 0) {
+            nextScheduledFlush = ctx.executor().schedule(flushTask, delayMicros, TimeUnit.MICROSECONDS);
+        } else {
+            //event loop执行完当前批次任务后再flush
+            nextScheduledFlush = ctx.executor().submit(flushTask);
+        }
+    }
+
+    /**
+     * 取消已调度的flush任务
+     */
+    private void cancelScheduledFlush() {
+        if (Objects.nonNull(nextScheduledFlush)) {
+            nextScheduledFlush.cancel(false);
+            nextScheduledFlush = null;
+        }
+    }
+}
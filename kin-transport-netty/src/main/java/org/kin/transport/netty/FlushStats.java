@@ -0,0 +1,69 @@
+package org.kin.transport.netty;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * write和flush计数, 同一transport下所有connection共享, 用于观察flush合并效果
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class FlushStats {
+    /** write次数, 即经过{@link FlushConsolidator}的outbound消息数 */
+    private final LongAdder writes = new LongAdder();
+    /** 上层flush请求次数 */
+    private final LongAdder flushRequests = new LongAdder();
+    /** 实际flush次数 */
+    private final LongAdder flushes = new LongAdder();
+
+    void onWrite() {
+        writes.increment();
+    }
+
+    void onFlushRequest() {
+        flushRequests.increment();
+    }
+
+    void onFlush() {
+        flushes.increment();
+    }
+
+    /**
+     * 平均每次实际flush写出的消息数
+     */
+    public double writesPerFlush() {
+        long flushes = getFlushes();
+        return flushes == 0 ? 0 : (double) getWrites() / flushes;
+    }
+
+    /**
+     * 重置计数
+     */
+    public void reset() {
+        writes.reset();
+        flushRequests.reset();
+        flushes.reset();
+    }
+
+    //getter
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    public long getFlushRequests() {
+        return flushRequests.sum();
+    }
+
+    public long getFlushes() {
+        return flushes.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "FlushStats{" +
+                "writes=" + getWrites() +
+                ", flushRequests=" + getFlushRequests() +
+                ", flushes=" + getFlushes() +
+                '}';
+    }
+}
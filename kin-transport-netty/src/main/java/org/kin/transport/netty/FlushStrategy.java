@@ -0,0 +1,98 @@
+package org.kin.transport.netty;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * flush策略, 决定{@link FlushConsolidator}何时将已write的协议真正flush到socket
+ * <p>
+ * {@link Session}的每次send都相当于writeAndFlush, 大量小消息场景下, 每条消息都对应一次系统调用,
+ * 合并flush可以以少量延迟为代价, 显著减少系统调用次数
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class FlushStrategy {
+    /** 合并模式下, 默认最多合并的flush请求数 */
+    private static final int DEFAULT_MAX_PENDING_FLUSHES = 256;
+
+    /** 每次flush请求都立即flush */
+    public static final FlushStrategy IMMEDIATE = new FlushStrategy(1, false, 0);
+    /**
+     * channel read期间的flush请求延迟到本次read结束(channelReadComplete)时合并flush, 非read期间则立即flush
+     * 适合server端在payload processor中直接回复的场景
+     */
+    public static final FlushStrategy END_OF_READ = new FlushStrategy(DEFAULT_MAX_PENDING_FLUSHES, false, 0);
+
+    /**
+     * 每累计{@code writes}次flush请求flush一次, 剩余的flush请求在channel read结束时或者event loop下一次执行任务时flush
+     *
+     * @param writes 最多合并的flush请求数
+     */
+    public static FlushStrategy consolidate(int writes) {
+        Preconditions.checkArgument(writes > 0, "writes must be greater than 0");
+        return new FlushStrategy(writes, true, 0);
+    }
+
+    /**
+     * 首次flush请求后最多等待{@code micros}微秒再flush, 期间的flush请求合并, channel read期间则延迟到read结束时flush
+     *
+     * @param micros 最大flush延迟, 微秒
+     */
+    public static FlushStrategy delay(long micros) {
+        return delay(micros, DEFAULT_MAX_PENDING_FLUSHES);
+    }
+
+    /**
+     * 首次flush请求后最多等待{@code micros}微秒再flush, 累计{@code writes}次flush请求则提前flush
+     *
+     * @param micros 最大flush延迟, 微秒
+     * @param writes 最多合并的flush请求数
+     */
+    public static FlushStrategy delay(long micros, int writes) {
+        Preconditions.checkArgument(micros > 0, "micros must be greater than 0");
+        Preconditions.checkArgument(writes > 0, "writes must be greater than 0");
+        return new FlushStrategy(writes, true, micros);
+    }
+
+    /** 最多合并的flush请求数, 达到该值立即flush */
+    private final int maxPendingFlushes;
+    /** 非channel read期间, 是否也合并flush请求 */
+    private final boolean consolidateWhenNoReadInProgress;
+    /** 非channel read期间, 首次flush请求后最多等待多少微秒再flush, 0则表示在event loop下一次执行任务时flush */
+    private final long delayMicros;
+
+    private FlushStrategy(int maxPendingFlushes, boolean consolidateWhenNoReadInProgress, long delayMicros) {
+        this.maxPendingFlushes = maxPendingFlushes;
+        this.consolidateWhenNoReadInProgress = consolidateWhenNoReadInProgress;
+        this.delayMicros = delayMicros;
+    }
+
+    /**
+     * 是否每次flush请求都立即flush
+     */
+    public boolean isImmediate() {
+        return maxPendingFlushes == 1;
+    }
+
+    //getter
+    public int getMaxPendingFlushes() {
+        return maxPendingFlushes;
+    }
+
+    public boolean isConsolidateWhenNoReadInProgress() {
+        return consolidateWhenNoReadInProgress;
+    }
+
+    public long getDelayMicros() {
+        return delayMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "FlushStrategy{" +
+                "maxPendingFlushes=" + maxPendingFlushes +
+                ", consolidateWhenNoReadInProgress=" + consolidateWhenNoReadInProgress +
+                ", delayMicros=" + delayMicros +
+                '}';
+    }
+}
@@ -0,0 +1,116 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import io.netty.util.ReferenceCountUtil;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 分片数据内容流, 将协议解析器解析出来的分片emit给{@link StreamingPayloadProcessor}
+ * <p>
+ * 积压分片数超过{@link #HIGH_WATER_MARK}时, 关闭channel auto read, 积压分片数低于{@link #LOW_WATER_MARK}时, 再重新打开,
+ * 以保证接收端内存占用有界
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+final class FragmentSink {
+    /** 积压分片数高水位线 */
+    private static final int HIGH_WATER_MARK = 16;
+    /** 积压分片数低水位线 */
+    private static final int LOW_WATER_MARK = 4;
+
+    /** 分片所属channel */
+    private final Channel channel;
+    /** 分片sink */
+    private final Sinks.Many<ByteBuf> sink = Sinks.many().unicast().onBackpressureBuffer();
+    /** 已emit但未被消费的分片数 */
+    private final AtomicInteger pending = new AtomicInteger();
+    /** 是否因为积压分片过多而暂停读取 */
+    private volatile boolean paused;
+
+    FragmentSink(Channel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * 创建分片数据内容流
+     *
+     * @param streamId 所属逻辑stream id
+     */
+    StreamingPayload payload(int streamId) {
+        return new StreamingPayload(streamId, sink.asFlux()
+                .doOnNext(fragment -> onConsumed())
+                //取消订阅时, release积压分片
+                .doOnDiscard(ByteBuf.class, ReferenceCountUtil::safeRelease));
+    }
+
+    /**
+     * emit分片, 仅在channel event loop调用
+     *
+     * @param fragment 分片数据内容
+     */
+    void next(ByteBuf fragment) {
+        if (sink.tryEmitNext(fragment).isFailure()) {
+            //已取消订阅
+            fragment.release();
+            return;
+        }
+
+        if (pending.incrementAndGet() >= HIGH_WATER_MARK && !paused) {
+            paused = true;
+            channel.config().setAutoRead(false);
+            if (pending.get() <= LOW_WATER_MARK) {
+                //消费者在暂停前已追上
+                resume();
+            }
+        }
+    }
+
+    /**
+     * 所有分片接收完成, 仅在channel event loop调用
+     */
+    void complete() {
+        sink.tryEmitComplete();
+        resume();
+    }
+
+    /**
+     * 分片接收异常, 仅在channel event loop调用
+     */
+    void error(Throwable cause) {
+        sink.tryEmitError(cause);
+        resume();
+    }
+
+    /**
+     * 分片被消费
+     */
+    private void onConsumed() {
+        if (pending.decrementAndGet() <= LOW_WATER_MARK && paused) {
+            if (channel.eventLoop().inEventLoop()) {
+                resume();
+            } else {
+                channel.eventLoop().execute(this::resume);
+            }
+        }
+    }
+
+    /**
+     * 恢复读取
+     */
+    private void resume() {
+        if (!paused) {
+            return;
+        }
+
+        paused = false;
+        ChannelConfig config = channel.config();
+        if (!config.isAutoRead()) {
+            config.setAutoRead(true);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.kin.transport.netty;
+
+/**
+ * 协议头数据内容长度字段的编码格式
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public enum HeaderFormat {
+    /** 定长, int, 占4个字节 */
+    FIXED(Protocols.BODY_SIZE_MARK),
+    /**
+     * 变长int, 占1-5个字节, 数据内容长度小于128B时仅占1个字节
+     * 适合大量小消息的场景, 配合1-2字节的短魔数, 协议头仅需2-3个字节
+     */
+    VAR_INT(Protocols.MAX_VAR_INT_BODY_SIZE_MARK),
+    ;
+
+    /** 数据内容长度字段最多占用的字节数 */
+    private final int maxBodySizeMark;
+
+    HeaderFormat(int maxBodySizeMark) {
+        this.maxBodySizeMark = maxBodySizeMark;
+    }
+
+    //getter
+    public int getMaxBodySizeMark() {
+        return maxBodySizeMark;
+    }
+}
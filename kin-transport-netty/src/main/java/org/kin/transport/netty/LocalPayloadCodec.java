@@ -0,0 +1,80 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * in-jvm local channel payload传递器
+ * local channel直接将write的对象交给对端pipeline, 故此不需要编码协议头, 仅将payload数据内容及元数据原样传递给对端,
+ * 即没有协议头编码, 压缩, 分片和校验和开销
+ * <p>
+ * 广播等预先编码好的协议bytebuf不经过本handler, 由后续协议解析器解析
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+@ChannelHandler.Sharable
+final class LocalPayloadCodec extends ChannelDuplexHandler {
+    /** 传输层配置 */
+    private final ProtocolOptions options;
+
+    LocalPayloadCodec(ProtocolOptions options) {
+        this.options = options;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (msg instanceof ByteBufPayload) {
+            ByteBufPayload transferred;
+            try {
+                transferred = transfer((ByteBufPayload) msg);
+            } finally {
+                ReferenceCountUtil.safeRelease(msg);
+            }
+            ctx.write(transferred, promise);
+        } else {
+            ctx.write(msg, promise);
+        }
+    }
+
+    /**
+     * 基于outbound payload创建传递给对端的inbound payload, 仅包含数据内容, 即跳过预留的协议头bytes
+     * 两者共享底层bytebuf, 不会copy
+     */
+    private ByteBufPayload transfer(ByteBufPayload payload) {
+        ByteBuf data = payload.data();
+        ByteBuf body;
+        if (payload.isHeaderReserved()) {
+            int reservedHeaderSize = options.getHeaderSize();
+            body = data.retainedSlice(data.readerIndex() + reservedHeaderSize, data.readableBytes() - reservedHeaderSize);
+        } else {
+            body = data.retain();
+        }
+
+        ByteBufPayload transferred = ByteBufPayload.create(body).streamId(payload.getStreamId());
+        if (payload.isResponse()) {
+            return transferred.response(payload.getRequestId());
+        }
+        return transferred.requestId(payload.getRequestId());
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof ByteBufPayload) {
+            ByteBufPayload payload = (ByteBufPayload) msg;
+            if (payload.isResponse()) {
+                //response直接在当前event loop完成对应的pending request, 不再传递给payload processor
+                PendingRequests.complete(ctx.channel(), payload.getRequestId(), payload);
+                return;
+            }
+            //reactor netty会对inbound obj进行release, 所以这里有必要retain一下
+            ctx.fireChannelRead(payload.retain());
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+}
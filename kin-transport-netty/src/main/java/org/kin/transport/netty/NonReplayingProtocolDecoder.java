@@ -0,0 +1,71 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+import java.util.List;
+
+/**
+ * 协议解析, 协议格式与{@link ProtocolDecoder}一致
+ * <p>
+ * 与{@link ProtocolDecoder}不同, 不依赖replay signal, 而是通过get方法peek协议头(不修改reader index),
+ * 直到完整协议内容到达后才slice, 协议内容不完整时仅仅是返回等待更多bytes, 不会重复解析协议头
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class NonReplayingProtocolDecoder extends ByteToMessageDecoder {
+    /** 协议配置 */
+    private final ProtocolOptions options;
+    /** 协议头校验以及协议内容解析 */
+    private final ProtocolContentDecoder contentDecoder;
+
+    public NonReplayingProtocolDecoder(ProtocolOptions options) {
+        this.options = options;
+        this.contentDecoder = new ProtocolContentDecoder(options);
+        if (options.isUseCompositeBuf()) {
+            setCumulator(COMPOSITE_CUMULATOR);
+        }
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf byteBuf, List<Object> out) {
+        int magicSize = options.getMagicSize();
+        //尝试一次读取多个协议
+        while (byteBuf.readableBytes() > magicSize) {
+            int readerIndex = byteBuf.readerIndex();
+            //peek header
+            contentDecoder.checkMagic(byteBuf, readerIndex);
+            int bodySizeMark = contentDecoder.peekBodySizeMark(byteBuf, readerIndex + magicSize);
+            if (bodySizeMark < 0) {
+                //协议头不完整, 等待更多bytes
+                return;
+            }
+
+            int headerSize = magicSize + bodySizeMark;
+            int bodySize;
+            if (HeaderFormat.FIXED.equals(options.getHeaderFormat())) {
+                bodySize = byteBuf.getInt(readerIndex + magicSize);
+            } else {
+                //变长int已完整, 直接读取
+                byteBuf.skipBytes(magicSize);
+                bodySize = contentDecoder.readBodySize(byteBuf);
+                byteBuf.readerIndex(readerIndex);
+            }
+            contentDecoder.checkContentSize(bodySize);
+            if (byteBuf.readableBytes() - headerSize < bodySize) {
+                //协议内容不完整, 等待更多bytes
+                return;
+            }
+
+            byteBuf.skipBytes(headerSize);
+            contentDecoder.decode(ctx, byteBuf.readRetainedSlice(bodySize), out);
+        }
+    }
+
+    @Override
+    protected void handlerRemoved0(ChannelHandlerContext ctx) {
+        contentDecoder.release();
+    }
+}
@@ -0,0 +1,19 @@
+package org.kin.transport.netty;
+
+/**
+ * bytes payload -> 数据对象逻辑, 目前用于解析response
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+@FunctionalInterface
+public interface ObjectDecoder<T> {
+    /**
+     * 对象反序列化
+     * 方法返回后, {@code payload}会被release, 故此不要在返回对象中引用{@code payload}的bytebuf
+     *
+     * @param payload inbound payload
+     * @return 数据对象
+     */
+    T decode(ByteBufPayload payload);
+}
@@ -0,0 +1,209 @@
+package org.kin.transport.netty;
+
+import com.google.common.base.Preconditions;
+import io.netty.util.ReferenceCountUtil;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * client重连期间的离线发送缓存, 有界
+ * 缓存已编码的{@link ByteBufPayload}, 待{@link Session#bind(reactor.netty.Connection)}绑定新连接后, 批量write并仅flush一次
+ * 每个client一个实例
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class Outbox {
+    /** 最多缓存的payload数 */
+    private final int maxMessages;
+    /** 最多缓存的bytes */
+    private final long maxBytes;
+    /** 已满时的处理策略 */
+    private final OutboxOverflowPolicy overflowPolicy;
+    /** 缓存的payload, 访问需加锁 */
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    /** 缓存的bytes, 写需加锁 */
+    private volatile long bufferedBytes;
+    /** 缓存的payload数, 写需加锁 */
+    private volatile int bufferedMessages;
+    /** 因缓存已满而丢弃或者拒绝的payload数 */
+    private final LongAdder dropped = new LongAdder();
+
+    public Outbox(int maxMessages, long maxBytes, OutboxOverflowPolicy overflowPolicy) {
+        Preconditions.checkArgument(maxMessages > 0, "outbox max messages must be greater than 0");
+        Preconditions.checkArgument(maxBytes > 0, "outbox max bytes must be greater than 0");
+        Preconditions.checkNotNull(overflowPolicy, "outbox overflow policy must be not null");
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * 缓存payload
+     *
+     * @param payload 已编码的outbound payload
+     * @param sink    send signal, payload真正write完成后complete, 被丢弃则返回{@link OutboxDroppedException}
+     */
+    void offer(ByteBufPayload payload, MonoSink<Void> sink) {
+        Entry entry = new Entry(payload, sink);
+        //被丢弃的payload, 在锁外complete
+        List<Entry> evicted = Collections.emptyList();
+        boolean rejected = false;
+        synchronized (this) {
+            if (!isOverflow(entry.size)) {
+                add(entry);
+            } else if (OutboxOverflowPolicy.DROP_OLDEST.equals(overflowPolicy) && entry.size <= maxBytes) {
+                evicted = new ArrayList<>();
+                while (isOverflow(entry.size)) {
+                    evicted.add(poll());
+                }
+                add(entry);
+            } else {
+                rejected = true;
+            }
+        }
+
+        for (Entry e : evicted) {
+            dropped.increment();
+            e.drop(new OutboxDroppedException(overflowPolicy, bufferedMessages, bufferedBytes));
+        }
+        if (rejected) {
+            dropped.increment();
+            entry.drop(OutboxOverflowPolicy.FAIL.equals(overflowPolicy) ?
+                    new TransportException(String.format("outbox is full, buffered messages=%d, buffered bytes=%d", bufferedMessages, bufferedBytes)) :
+                    new OutboxDroppedException(overflowPolicy, bufferedMessages, bufferedBytes));
+        }
+    }
+
+    /**
+     * 缓存加上{@code size} bytes的payload后是否溢出
+     */
+    private boolean isOverflow(int size) {
+        return bufferedMessages + 1 > maxMessages || bufferedBytes + size > maxBytes;
+    }
+
+    private void add(Entry entry) {
+        entries.offer(entry);
+        bufferedMessages++;
+        bufferedBytes += entry.size;
+    }
+
+    private Entry poll() {
+        Entry entry = entries.poll();
+        bufferedMessages--;
+        bufferedBytes -= entry.size;
+        return entry;
+    }
+
+    /**
+     * 取出所有缓存的payload
+     */
+    synchronized List<Entry> drain() {
+        if (entries.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Entry> drained = new ArrayList<>(entries);
+        entries.clear();
+        bufferedMessages = 0;
+        bufferedBytes = 0;
+        return drained;
+    }
+
+    /**
+     * session dispose时调用, 释放所有缓存的payload
+     *
+     * @param cause 失败原因
+     */
+    void clear(Throwable cause) {
+        for (Entry entry : drain()) {
+            entry.drop(cause);
+        }
+    }
+
+    //getter
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public OutboxOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * 当前缓存的bytes
+     */
+    public long getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    /**
+     * 当前缓存的payload数
+     */
+    public int getBufferedMessages() {
+        return bufferedMessages;
+    }
+
+    /**
+     * 因缓存已满而丢弃或者拒绝的payload总数
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    //--------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 缓存的payload
+     */
+    static final class Entry {
+        /** outbound payload */
+        private final ByteBufPayload payload;
+        /** send signal */
+        private final MonoSink<Void> sink;
+        /** 数据内容bytes */
+        private final int size;
+
+        Entry(ByteBufPayload payload, MonoSink<Void> sink) {
+            this.payload = payload;
+            this.sink = sink;
+            this.size = payload.data().readableBytes();
+        }
+
+        /**
+         * 丢弃payload
+         *
+         * @param cause 失败原因
+         */
+        void drop(Throwable cause) {
+            ReferenceCountUtil.safeRelease(payload);
+            complete(cause);
+        }
+
+        /**
+         * complete send signal
+         *
+         * @param cause 失败原因, null则表示成功
+         */
+        void complete(Throwable cause) {
+            if (cause == null) {
+                sink.success();
+            } else {
+                sink.error(cause);
+            }
+        }
+
+        //getter
+        ByteBufPayload getPayload() {
+            return payload;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.kin.transport.netty;
+
+/**
+ * {@link Outbox}已满, payload按{@link OutboxOverflowPolicy#DROP_OLDEST}或{@link OutboxOverflowPolicy#DROP_NEWEST}被丢弃
+ * 与{@link OutboxOverflowPolicy#FAIL}拒绝时返回的{@link TransportException}区分, 以便调用方识别payload并未发送
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class OutboxDroppedException extends TransportException {
+    private static final long serialVersionUID = -3416201872309384057L;
+
+    /** 丢弃payload的策略 */
+    private final OutboxOverflowPolicy overflowPolicy;
+
+    public OutboxDroppedException(OutboxOverflowPolicy overflowPolicy, int bufferedMessages, long bufferedBytes) {
+        super(String.format("payload is dropped by outbox overflow policy %s, buffered messages=%d, buffered bytes=%d",
+                overflowPolicy, bufferedMessages, bufferedBytes));
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    //getter
+    public OutboxOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+}
@@ -0,0 +1,17 @@
+package org.kin.transport.netty;
+
+/**
+ * {@link Outbox}已满时的处理策略
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public enum OutboxOverflowPolicy {
+    /** 丢弃最早缓存的payload, 被丢弃payload的send signal返回{@link OutboxDroppedException} */
+    DROP_OLDEST,
+    /** 丢弃新payload, 其send signal返回{@link OutboxDroppedException} */
+    DROP_NEWEST,
+    /** 拒绝新payload, 其send signal返回{@link TransportException} */
+    FAIL,
+    ;
+}
@@ -12,8 +12,9 @@ import reactor.core.publisher.Mono;
 public interface PayloadProcessor {
     /**
      * payload逻辑处理
-     * 该方法在netty channel event loop执行
-     * !!!!注意, 记住处理payload实例后, 要调用{@link ByteBufPayload#release()}, 释放引用
+     * 该方法默认在netty channel event loop执行, 配置{@link AdvancedTransport#processorExecutor(ProcessorExecutor)}后则在其线程执行
+     * !!!!注意, 方法返回后, 框架会release {@code payload}, 故此payload processor不需要调用{@link ByteBufPayload#release()};
+     * 如需在返回的{@link Mono}中异步访问{@code payload}, 则需先retain, 并在访问完成后release
      *
      * @param session channel session
      * @param payload ByteBuf payload
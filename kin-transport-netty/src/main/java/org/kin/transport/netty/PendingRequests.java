@@ -0,0 +1,275 @@
+package org.kin.transport.netty;
+
+import io.netty.channel.Channel;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.collection.IntObjectHashMap;
+import org.kin.framework.JvmCloseCleaner;
+import org.kin.framework.concurrent.SimpleThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.MonoSink;
+import reactor.netty.Connection;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 等待response的request
+ * <p>
+ * request id在jvm内全局唯一, 所有session共用一张按request id分段加锁的表, 用于收到response时按request id查找, 避免单一锁竞争
+ * 同时每个session维护其pending request索引, connection绑定和断开时仅需遍历该session的pending request
+ * request超时统一由一个{@link HashedWheelTimer}检查, 注册和取消超时均为O(1)
+ * 发送request的connection断开时, 已通过该connection发送的request立即失败, 而不是等待超时
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+final class PendingRequests {
+    private static final Logger log = LoggerFactory.getLogger(PendingRequests.class);
+    /** 分段数, 必须是2的n次方 */
+    private static final int STRIPES = 64;
+    /** 分段表 */
+    private static final Stripe[] TABLE = new Stripe[STRIPES];
+    /** request id生成器 */
+    private static final AtomicInteger ID_GENERATOR = new AtomicInteger();
+    /** request超时检查timer, tick 10ms */
+    private static final HashedWheelTimer TIMER =
+            new HashedWheelTimer(new SimpleThreadFactory("kin-request-timeout", true), 10, TimeUnit.MILLISECONDS);
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            TABLE[i] = new Stripe();
+        }
+        JvmCloseCleaner.instance().add(TIMER::stop);
+    }
+
+    private PendingRequests() {
+    }
+
+    /**
+     * 注册等待response的request
+     *
+     * @param session 发送request的session
+     * @param decoder response解析逻辑
+     * @param sink    response结果sink
+     * @param timeout 超时时间
+     * @return pending request
+     */
+    static <R> PendingRequest<R> register(Session session, ObjectDecoder<R> decoder, MonoSink<R> sink, Duration timeout) {
+        int requestId;
+        do {
+            requestId = ID_GENERATOR.incrementAndGet();
+        } while (requestId == 0);
+
+        PendingRequest<R> request = new PendingRequest<>(requestId, session, decoder, sink);
+        Stripe stripe = stripe(requestId);
+        synchronized (stripe) {
+            stripe.requests.put(requestId, request);
+        }
+        IntObjectHashMap<PendingRequest<?>> sessionRequests = session.getPendingRequests();
+        synchronized (sessionRequests) {
+            sessionRequests.put(requestId, request);
+            //与bind和fail持有同一把锁, 先发布到session索引再关联connection, 不会错过并发的connection绑定或断开
+            //connection未建立时, request会先缓存到离线发送缓存, 绑定新connection时再关联
+            request.connection = session.isActive() ? session.connection() : null;
+        }
+        request.timeout = TIMER.newTimeout(request, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        return request;
+    }
+
+    /**
+     * 收到response时调用, 完成对应的pending request, 并release {@code payload}
+     *
+     * @param channel   接收response的channel
+     * @param requestId request id
+     * @param payload   response payload
+     */
+    static void complete(Channel channel, int requestId, ByteBufPayload payload) {
+        try {
+            Session session = Session.current(channel);
+            PendingRequest<?> request = remove(requestId, session);
+            if (Objects.isNull(request)) {
+                //已超时或已取消
+                log.debug("receive response but no pending request found, requestId={}, channel={}", requestId, channel);
+                return;
+            }
+            request.complete(payload);
+        } finally {
+            ReferenceCountUtil.safeRelease(payload);
+        }
+    }
+
+    /**
+     * session绑定新connection时调用, 将{@code session}还未关联connection的pending request(即缓存在离线发送缓存中的request)
+     * 关联到{@code connection}, 离线发送缓存会在该connection上发送
+     *
+     * @param session    request所属session
+     * @param connection 新connection
+     */
+    static void bind(Session session, Connection connection) {
+        IntObjectHashMap<PendingRequest<?>> sessionRequests = session.getPendingRequests();
+        synchronized (sessionRequests) {
+            for (PendingRequest<?> request : sessionRequests.values()) {
+                if (Objects.isNull(request.connection)) {
+                    request.connection = connection;
+                }
+            }
+        }
+    }
+
+    /**
+     * connection断开时调用, 已通过{@code connection}发送的pending request均无法再收到response, 故此直接失败
+     *
+     * @param session    request所属session
+     * @param connection 已断开的connection
+     */
+    static void fail(Session session, Connection connection) {
+        List<PendingRequest<?>> closed = new ArrayList<>();
+        IntObjectHashMap<PendingRequest<?>> sessionRequests = session.getPendingRequests();
+        synchronized (sessionRequests) {
+            Iterator<PendingRequest<?>> iterator = sessionRequests.values().iterator();
+            while (iterator.hasNext()) {
+                PendingRequest<?> request = iterator.next();
+                if (request.connection == connection) {
+                    iterator.remove();
+                    closed.add(request);
+                }
+            }
+        }
+
+        for (PendingRequest<?> request : closed) {
+            if (Objects.isNull(remove(request.id, session))) {
+                //已收到response, 超时或已取消
+                continue;
+            }
+            request.cancelTimeout();
+            request.sink.error(new TransportException(String.format("connection closed before request(%d) receive response, channel=%s",
+                    request.id, connection.channel())));
+        }
+    }
+
+    /**
+     * 移除pending request
+     *
+     * @param requestId request id
+     * @param session   request所属session, null则不校验
+     * @return pending request, 如果不存在或者不属于{@code session}则返回null
+     */
+    private static PendingRequest<?> remove(int requestId, Session session) {
+        Stripe stripe = stripe(requestId);
+        PendingRequest<?> request;
+        synchronized (stripe) {
+            request = stripe.requests.get(requestId);
+            if (Objects.isNull(request) || (Objects.nonNull(session) && request.session != session)) {
+                return null;
+            }
+            stripe.requests.remove(requestId);
+        }
+        IntObjectHashMap<PendingRequest<?>> sessionRequests = request.session.getPendingRequests();
+        synchronized (sessionRequests) {
+            sessionRequests.remove(requestId);
+        }
+        return request;
+    }
+
+    private static Stripe stripe(int requestId) {
+        return TABLE[requestId & (STRIPES - 1)];
+    }
+
+    //--------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 分段
+     */
+    private static final class Stripe {
+        /** key -> request id */
+        private final IntObjectHashMap<PendingRequest<?>> requests = new IntObjectHashMap<>();
+    }
+
+    /**
+     * 等待response的request
+     */
+    static final class PendingRequest<R> implements TimerTask {
+        /** request id */
+        private final int id;
+        /** 发送request的session */
+        private final Session session;
+        /** response解析逻辑 */
+        private final ObjectDecoder<R> decoder;
+        /** response结果sink */
+        private final MonoSink<R> sink;
+        /** 发送request的connection, null表示还未发送(缓存在离线发送缓存中), 仅在session pending request索引锁内修改 */
+        private volatile Connection connection;
+        /** 超时任务 */
+        private volatile Timeout timeout;
+
+        PendingRequest(int id, Session session, ObjectDecoder<R> decoder, MonoSink<R> sink) {
+            this.id = id;
+            this.session = session;
+            this.decoder = decoder;
+            this.sink = sink;
+        }
+
+        /**
+         * 收到response
+         */
+        private void complete(ByteBufPayload payload) {
+            cancelTimeout();
+            R result;
+            try {
+                result = decoder.decode(payload);
+            } catch (Throwable t) {
+                sink.error(t);
+                return;
+            }
+            sink.success(result);
+        }
+
+        /**
+         * request发送失败或者被取消, 移除pending request
+         *
+         * @param cause 异常, null则表示被取消
+         */
+        void fail(Throwable cause) {
+            if (Objects.isNull(remove(id, null))) {
+                return;
+            }
+            cancelTimeout();
+            if (Objects.nonNull(cause)) {
+                sink.error(cause);
+            }
+        }
+
+        /**
+         * 取消超时任务
+         */
+        private void cancelTimeout() {
+            Timeout timeout = this.timeout;
+            if (Objects.nonNull(timeout)) {
+                timeout.cancel();
+            }
+        }
+
+        @Override
+        public void run(Timeout timeout) {
+            if (Objects.isNull(remove(id, null))) {
+                return;
+            }
+            sink.error(new TimeoutException(String.format("request(%d) wait response timeout, channel=%s", id, session.channel())));
+        }
+
+        //getter
+        public int getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.kin.transport.netty;
+
+import com.google.common.base.Preconditions;
+import io.netty.util.ReferenceCountUtil;
+import org.kin.framework.concurrent.SimpleThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * payload processor执行线程池, 将{@link PayloadProcessor}从netty channel event loop转移到业务线程执行,
+ * 从而payload processor可以直接执行阻塞逻辑, 而不会阻塞event loop上的其余connection
+ * <p>
+ * 可以多个transport共享同一实例, 由使用者负责调用{@link #shutdown()}
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class ProcessorExecutor {
+    private static final Logger log = LoggerFactory.getLogger(ProcessorExecutor.class);
+
+    /**
+     * 有界线程池, 队列已满时拒绝执行, 被拒绝的payload直接release, 并计入{@link #getRejected()}
+     *
+     * @param threads   线程数
+     * @param queueSize 等待队列最大长度
+     */
+    public static ProcessorExecutor bounded(int threads, int queueSize) {
+        Preconditions.checkArgument(threads > 0, "threads must be greater than 0");
+        Preconditions.checkArgument(queueSize > 0, "queue size must be greater than 0");
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), new SimpleThreadFactory("kin-payload-processor", true),
+                new ThreadPoolExecutor.AbortPolicy());
+        return new ProcessorExecutor(executor);
+    }
+
+    /**
+     * 每个payload一个虚拟线程, 仅jdk21+支持
+     * 虚拟线程没有数量上限, 阻塞成本低, 适合大量阻塞IO的payload processor
+     */
+    public static ProcessorExecutor virtualThreads() {
+        try {
+            //反射创建, 以兼容低版本jdk编译
+            Method method = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return new ProcessorExecutor((ExecutorService) method.invoke(null));
+        } catch (NoSuchMethodException e) {
+            throw new UnsupportedOperationException("virtual thread requires jdk21+, current is " + System.getProperty("java.version"));
+        } catch (Exception e) {
+            throw new TransportException("create virtual thread executor error", e);
+        }
+    }
+
+    /**
+     * 使用自定义线程池, 线程池拒绝执行时, 被拒绝的payload直接release, 并计入{@link #getRejected()}
+     */
+    public static ProcessorExecutor of(ExecutorService executor) {
+        Preconditions.checkNotNull(executor, "executor must be not null");
+        return new ProcessorExecutor(executor);
+    }
+
+    /** 实际执行payload processor的线程池 */
+    private final ExecutorService executor;
+    /** 被拒绝执行的payload数 */
+    private final LongAdder rejected = new LongAdder();
+
+    private ProcessorExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 在线程池中执行payload processor逻辑
+     * 与event loop执行一致, payload processor执行完后release一次{@code payload}, 另一次由reactor netty inbound在分派后release
+     * 如果被拒绝执行, payload processor不会被调用, 同样直接release一次
+     *
+     * @param processor payload processor
+     * @param session   channel session
+     * @param payload   inbound payload
+     * @return complete signal, payload processor返回的{@link Mono}complete时complete
+     */
+    Mono<Void> process(PayloadProcessor processor, Session session, ByteBufPayload payload) {
+        return Mono.create(sink -> {
+            try {
+                executor.execute(() -> {
+                    try {
+                        processor.process(session, payload).subscribe(null, sink::error, sink::success);
+                    } catch (Throwable t) {
+                        sink.error(t);
+                    } finally {
+                        ReferenceCountUtil.safeRelease(payload);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                if (log.isDebugEnabled()) {
+                    log.debug("payload processor executor reject payload from channel {}", session.channel());
+                }
+                ReferenceCountUtil.safeRelease(payload);
+                sink.error(e);
+            }
+        });
+    }
+
+    /**
+     * 关闭线程池, 已提交的payload会继续执行
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * @return 等待执行的payload数, 非{@link ThreadPoolExecutor}实现则返回-1
+     */
+    public int getQueueSize() {
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getQueue().size();
+        }
+        return -1;
+    }
+
+    /**
+     * @return 正在执行的payload数, 非{@link ThreadPoolExecutor}实现则返回-1
+     */
+    public int getActiveCount() {
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getActiveCount();
+        }
+        return -1;
+    }
+
+    //getter
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessorExecutor{" +
+                "executor=" + executor +
+                ", rejected=" + rejected.sum() +
+                '}';
+    }
+}
@@ -0,0 +1,341 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
+import org.kin.transport.netty.utils.VarIntUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 协议头校验以及协议内容解析, 供不同{@link DecoderMode}的协议解析器共用
+ * 每个协议解析器一个实例, 同时维护分片重组状态
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+final class ProtocolContentDecoder {
+    /** 协议配置 */
+    private final ProtocolOptions options;
+    /** 重组模式下, 正在重组的分片数据内容, key -> stream id */
+    private final IntObjectMap<CompositeByteBuf> assemblings = new IntObjectHashMap<>();
+    /** 流模式下, 正在接收的分片数据内容流, key -> stream id */
+    private final IntObjectMap<FragmentSink> fragmentSinks = new IntObjectHashMap<>();
+
+    ProtocolContentDecoder(ProtocolOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * 检查协议魔数与配置魔数是否一致
+     *
+     * @param magicBytes 协议魔数bytes
+     */
+    void checkMagic(byte[] magicBytes) {
+        if (!Arrays.equals(options.getMagic(), magicBytes)) {
+            throw new TransportException("magic is not match");
+        }
+    }
+
+    /**
+     * 检查协议魔数与配置魔数是否一致, 不会修改{@code byteBuf}的reader index
+     *
+     * @param byteBuf 协议bytes
+     * @param index   魔数开始index
+     */
+    void checkMagic(ByteBuf byteBuf, int index) {
+        byte[] magic = options.getMagic();
+        for (int i = 0; i < magic.length; i++) {
+            if (byteBuf.getByte(index + i) != magic[i]) {
+                throw new TransportException("magic is not match");
+            }
+        }
+    }
+
+    /**
+     * 计算从{@code index}开始的数据内容长度字段占用的字节数, 不会修改{@code byteBuf}的reader index
+     *
+     * @param byteBuf 协议bytes
+     * @param index   数据内容长度字段开始index
+     * @return 数据内容长度字段占用的字节数, 如果可读bytes不足, 则返回-1
+     */
+    int peekBodySizeMark(ByteBuf byteBuf, int index) {
+        if (HeaderFormat.VAR_INT.equals(options.getHeaderFormat())) {
+            try {
+                return VarIntUtils.peekRawVarInt32Size(byteBuf, index);
+            } catch (IllegalStateException e) {
+                throw new TransportException("malformed body size", e);
+            }
+        }
+
+        return byteBuf.writerIndex() - index >= Protocols.BODY_SIZE_MARK ? Protocols.BODY_SIZE_MARK : -1;
+    }
+
+    /**
+     * 读取数据内容长度
+     *
+     * @param byteBuf 协议bytes
+     * @return 数据内容长度
+     */
+    int readBodySize(ByteBuf byteBuf) {
+        if (HeaderFormat.VAR_INT.equals(options.getHeaderFormat())) {
+            return VarIntUtils.readRawVarInt32(byteBuf);
+        }
+        return byteBuf.readInt();
+    }
+
+    /**
+     * 检查协议数据长度字段(数据内容+协议头扩展字段)是否大于配置的最大大小
+     *
+     * @param size 协议数据长度
+     * @return 协议数据长度
+     */
+    int checkContentSize(int size) {
+        if (size < options.getExtSize((byte) 0) + options.getTrailerSize()) {
+            throw new TransportException(String.format("illegal body size(%d)", size));
+        }
+        if (size > options.getMaxContentSize()) {
+            throw new TransportException(String.format("actual body size(%d) is bigger than max body size(%d)", size, options.getMaxBodySize()));
+        }
+        return size;
+    }
+
+    /**
+     * 检查数据内容大小是否大于配置的最大大小
+     *
+     * @param size 数据内容大小
+     * @return 数据内容大小
+     */
+    int checkBodySize(int size) {
+        if (size < 0) {
+            throw new TransportException(String.format("illegal body size(%d)", size));
+        }
+        if (size > options.getMaxBodySize()) {
+            throw new TransportException(String.format("actual body size(%d) is bigger than max body size(%d)", size, options.getMaxBodySize()));
+        }
+        return size;
+    }
+
+    /**
+     * 解析协议内容
+     *
+     * @param ctx     channel handler context
+     * @param content 协议内容(协议头扩展字段+数据内容+协议尾), retained slice
+     * @param out     解析结果
+     */
+    void decode(ChannelHandlerContext ctx, ByteBuf content, List<Object> out) {
+        if (options.isChecksum()) {
+            try {
+                verifyChecksum(content);
+            } catch (TransportException e) {
+                content.release();
+                throw e;
+            }
+        }
+
+        byte flags = 0;
+        int streamId = Protocols.DEFAULT_STREAM_ID;
+        int requestId = 0;
+        ByteBuf body = content;
+        if (options.hasFlags()) {
+            try {
+                flags = content.readByte();
+                if (options.isMultiplexing()) {
+                    streamId = content.readInt();
+                }
+                if ((flags & (Protocols.FLAG_REQUEST | Protocols.FLAG_RESPONSE)) != 0) {
+                    requestId = readRequestId(content);
+                }
+            } catch (TransportException e) {
+                content.release();
+                throw e;
+            }
+            if ((flags & Protocols.FLAG_COMPRESSED) != 0) {
+                try {
+                    body = decompress(ctx.alloc(), content);
+                } finally {
+                    content.release();
+                }
+            }
+        }
+
+        boolean moreFragments = (flags & Protocols.FLAG_MORE_FRAGMENTS) != 0;
+        if (moreFragments || isAssembling(streamId)) {
+            //分片
+            decodeFragment(ctx, body, flags, streamId, requestId, !moreFragments, out);
+            return;
+        }
+
+        emit(ctx, body, flags, streamId, requestId, out);
+    }
+
+    /**
+     * 读取request id
+     *
+     * @param content 协议内容, reader index位于request id开始处
+     * @return request id
+     */
+    private int readRequestId(ByteBuf content) {
+        if (!options.isRequestResponse()) {
+            throw new TransportException("receive request or response, but request response is not enabled");
+        }
+        if (content.readableBytes() < Protocols.REQUEST_ID_SIZE) {
+            throw new TransportException("malformed request id");
+        }
+        return content.readInt();
+    }
+
+    /**
+     * 输出完整数据内容
+     * response直接在当前event loop完成对应的pending request, 不再传递给payload processor
+     *
+     * @param body      完整数据内容
+     * @param flags     协议flags
+     * @param streamId  所属逻辑stream id
+     * @param requestId request id, 非request/response协议则为0
+     */
+    private void emit(ChannelHandlerContext ctx, ByteBuf body, byte flags, int streamId, int requestId, List<Object> out) {
+        ByteBufPayload payload = ByteBufPayload.create(body).streamId(streamId);
+        if ((flags & Protocols.FLAG_RESPONSE) != 0) {
+            PendingRequests.complete(ctx.channel(), requestId, payload.response(requestId));
+            return;
+        }
+        //reactor netty会对inbound obj进行release, 所以这里有必要retain一下
+        out.add(payload.requestId(requestId).retain());
+    }
+
+    /**
+     * 指定stream是否有未完成的分片数据内容
+     */
+    private boolean isAssembling(int streamId) {
+        return (!assemblings.isEmpty() && assemblings.containsKey(streamId)) ||
+                (!fragmentSinks.isEmpty() && fragmentSinks.containsKey(streamId));
+    }
+
+    /**
+     * 解析分片数据内容
+     * response分片总是重组后再完成对应的pending request
+     *
+     * @param fragment  分片数据内容
+     * @param flags     协议flags
+     * @param streamId  所属逻辑stream id
+     * @param requestId request id, 非request/response协议则为0
+     * @param last      是否是最后一个分片
+     */
+    private void decodeFragment(ChannelHandlerContext ctx, ByteBuf fragment, byte flags, int streamId, int requestId,
+                                boolean last, List<Object> out) {
+        if (!options.isFragmentation() && !options.isMultiplexing()) {
+            fragment.release();
+            throw new TransportException("receive fragment, but fragmentation is not enabled");
+        }
+
+        if (options.isStreaming() && (flags & Protocols.FLAG_RESPONSE) == 0) {
+            FragmentSink fragmentSink = fragmentSinks.get(streamId);
+            if (Objects.isNull(fragmentSink)) {
+                //首个分片
+                fragmentSink = new FragmentSink(ctx.channel());
+                fragmentSinks.put(streamId, fragmentSink);
+                out.add(fragmentSink.payload(streamId));
+            }
+            fragmentSink.next(fragment);
+            if (last) {
+                fragmentSink.complete();
+                fragmentSinks.remove(streamId);
+            }
+            return;
+        }
+
+        CompositeByteBuf assembling = assemblings.get(streamId);
+        if (Objects.isNull(assembling)) {
+            //首个分片
+            assembling = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+            assemblings.put(streamId, assembling);
+        }
+        long assembledBodySize = (long) assembling.readableBytes() + fragment.readableBytes();
+        if (assembledBodySize > options.getMaxAssembledBodySize()) {
+            fragment.release();
+            release();
+            throw new TransportException(String.format("assembled body size(%d) is bigger than max assembled body size(%d)",
+                    assembledBodySize, options.getMaxAssembledBodySize()));
+        }
+        assembling.addComponent(true, fragment);
+        if (last) {
+            assemblings.remove(streamId);
+            emit(ctx, assembling, flags, streamId, requestId, out);
+        }
+    }
+
+    /**
+     * 协议解析器移除时调用, 释放未完成的分片
+     */
+    void release() {
+        for (CompositeByteBuf assembling : assemblings.values()) {
+            assembling.release();
+        }
+        assemblings.clear();
+
+        if (!fragmentSinks.isEmpty()) {
+            TransportException cause = new TransportException("channel closed before all fragments received");
+            for (FragmentSink fragmentSink : fragmentSinks.values()) {
+                fragmentSink.error(cause);
+            }
+            fragmentSinks.clear();
+        }
+    }
+
+    /**
+     * 校验协议尾checksum, 校验通过后, 移除协议尾
+     *
+     * @param content 协议内容(协议头扩展字段+数据内容+协议尾)
+     */
+    private void verifyChecksum(ByteBuf content) {
+        int trailerIndex = content.writerIndex() - Protocols.CHECKSUM_SIZE;
+        int expected = content.getInt(trailerIndex);
+        int actual = Checksums.checksum(content, content.readerIndex(), trailerIndex - content.readerIndex());
+        if (expected != actual) {
+            throw new TransportException(String.format("checksum is not match, expected %08x, but actual %08x", expected, actual));
+        }
+        content.writerIndex(trailerIndex);
+    }
+
+    /**
+     * 解压数据内容
+     *
+     * @param content 压缩数据内容, 原始数据内容长度(变长int) + 压缩数据
+     * @return 解压后的数据内容
+     */
+    private ByteBuf decompress(ByteBufAllocator allocator, ByteBuf content) {
+        if (options.getCompressor() == null) {
+            throw new TransportException("receive compressed body, but compression is not enabled");
+        }
+
+        int originalSize;
+        try {
+            originalSize = VarIntUtils.readRawVarInt32(content);
+        } catch (Exception e) {
+            throw new TransportException("malformed compressed body", e);
+        }
+        checkBodySize(originalSize);
+
+        //限制最大容量, 防止恶意构造的压缩数据撑爆内存
+        ByteBuf body = allocator.ioBuffer(originalSize, originalSize);
+        try {
+            options.getCompressor().decompress(content, body, originalSize);
+            if (body.readableBytes() != originalSize) {
+                throw new TransportException(String.format("decompressed body size(%d) is not match original size(%d)", body.readableBytes(), originalSize));
+            }
+            return body;
+        } catch (TransportException e) {
+            body.release();
+            throw e;
+        } catch (Exception e) {
+            body.release();
+            throw new TransportException("decompress body error", e);
+        }
+    }
+}
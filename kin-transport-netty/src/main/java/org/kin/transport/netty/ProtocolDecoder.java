@@ -4,7 +4,6 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ReplayingDecoder;
 
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -12,22 +11,27 @@ import java.util.List;
  * <p>
  * 消息头组成:
  * magic, bytes, 使用者配置而定
- * 数据内容长度, int, 占4个字节
+ * 数据内容长度, int, 占4个字节, 或者变长int, 占1-5个字节, 见{@link HeaderFormat}, 包含后续协议头扩展字段长度
+ * flags, byte, 占1个字节, 仅开启压缩, 分片, 多路复用或request/response时存在, 见{@link Protocols}FLAG_XXX
+ * stream id, int, 占4个字节, 仅开启多路复用时存在
+ * request id, int, 占4个字节, 仅request和response协议存在, 见{@link Protocols#FLAG_REQUEST}和{@link Protocols#FLAG_RESPONSE}
  * 数据内容
+ * checksum, int, 占4个字节, 仅开启checksum时存在
  *
  * @author huangjianqin
  * @date 2023/1/15
+ * @see NonReplayingProtocolDecoder
  */
 public class ProtocolDecoder extends ReplayingDecoder<ProtocolDecoder.State> {
-    /** 协议配置 */
-    private final ProtocolOptions options;
     /** 目前解析到的协议头信息 */
     private final ProtocolHeader header;
+    /** 协议头校验以及协议内容解析 */
+    private final ProtocolContentDecoder contentDecoder;
 
     public ProtocolDecoder(ProtocolOptions options) {
         super(State.MAGIC);
-        this.options = options;
-        this.header = new ProtocolHeader(this.options.getMagicSize());
+        this.header = new ProtocolHeader(options.getMagicSize());
+        this.contentDecoder = new ProtocolContentDecoder(options);
         if (options.isUseCompositeBuf()) {
             setCumulator(COMPOSITE_CUMULATOR);
         }
@@ -43,16 +47,14 @@ public class ProtocolDecoder extends ReplayingDecoder<ProtocolDecoder.State> {
             switch (state) {
                 case MAGIC:
                     byteBuf.readBytes(header.getMagicBytes());
-                    isMagicMatch(header.getMagicBytes());
+                    contentDecoder.checkMagic(header.getMagicBytes());
                     checkpoint(State.BODY_SIZE);
                 case BODY_SIZE:
-                    int bodySize = checkBodySize(byteBuf.readInt());
+                    int bodySize = contentDecoder.checkContentSize(contentDecoder.readBodySize(byteBuf));
                     header.bodySize(bodySize);
                     checkpoint(State.BODY);
                 case BODY:
-                    ByteBuf bodyByteBuf = byteBuf.readRetainedSlice(header.getBodySize());
-                    //reactor netty会对inbound obj进行release, 所以这里有必要retain一下
-                    out.add(ByteBufPayload.create(bodyByteBuf).retain());
+                    contentDecoder.decode(channelHandlerContext, byteBuf.readRetainedSlice(header.getBodySize()), out);
                     checkpoint(State.MAGIC);
                     break;
                 default:
@@ -61,28 +63,9 @@ public class ProtocolDecoder extends ReplayingDecoder<ProtocolDecoder.State> {
         }
     }
 
-    /**
-     * 检查协议魔数与配置魔数是否一致
-     *
-     * @param magicBytes 协议魔数bytes
-     */
-    private void isMagicMatch(byte[] magicBytes) {
-        if (!Arrays.equals(options.getMagic(), magicBytes)) {
-            throw new TransportException("magic is not match");
-        }
-    }
-
-    /**
-     * 检查数据内容大小是否大于配置的最大大小
-     *
-     * @param size 数据内容大小
-     * @return 数据内容大小
-     */
-    private int checkBodySize(int size) {
-        if (size > options.getMaxBodySize()) {
-            throw new TransportException(String.format("actual body size(%d) is bigger than max body size(%d)", size, options.getMaxBodySize()));
-        }
-        return size;
+    @Override
+    protected void handlerRemoved0(ChannelHandlerContext ctx) {
+        contentDecoder.release();
     }
 
     /**
@@ -1,12 +1,20 @@
 package org.kin.transport.netty;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.socket.DatagramPacket;
 import io.netty.handler.codec.EncoderException;
 import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.PromiseCombiner;
+import org.kin.transport.netty.utils.VarIntUtils;
+
+import java.net.InetSocketAddress;
+import java.util.Objects;
 
 /**
  * @author huangjianqin
@@ -16,9 +24,16 @@ import io.netty.util.ReferenceCountUtil;
 public class ProtocolEncoder extends ChannelOutboundHandlerAdapter {
     /** 传输层配置 */
     private final ProtocolOptions options;
+    /** udp单个datagram最大bytes, 超过则写出失败, 0表示不限制 */
+    private final int maxDatagramSize;
 
     public ProtocolEncoder(ProtocolOptions options) {
+        this(options, 0);
+    }
+
+    public ProtocolEncoder(ProtocolOptions options, int maxDatagramSize) {
         this.options = options;
+        this.maxDatagramSize = maxDatagramSize;
     }
 
     @Override
@@ -27,24 +42,14 @@ public class ProtocolEncoder extends ChannelOutboundHandlerAdapter {
             try {
                 ByteBufPayload payload = (ByteBufPayload) msg;
 
-                ByteBuf byteBuf = payload.data();
-                //当前可读字节数, 包含header
-                int readableBytes = byteBuf.readableBytes();
-
-                //记录当前write index
-                byteBuf.markWriterIndex();
-                //重置到header
-                byteBuf.writerIndex(byteBuf.writerIndex() - readableBytes);
-                //write header
-                //write magic
-                byteBuf.writeBytes(options.getMagic())
-                        //write body size
-                        .writeInt(readableBytes - options.getHeaderSize());
-                //回滚到之前的write index
-                byteBuf.resetWriterIndex();
-
-                //cte write完成会对bytebuf进行release一次
-                ctx.write(byteBuf.retain(), promise);
+                ByteBuf body = body(payload);
+                byte flags = baseFlags(payload);
+                if (body.readableBytes() > options.getFragmentSize()) {
+                    writeFragments(ctx, payload, body, flags, promise);
+                    return;
+                }
+
+                write0(ctx, payload, encode0(ctx.alloc(), payload, body, flags), promise);
             } catch (Throwable t) {
                 throw new EncoderException(t);
             } finally {
@@ -54,4 +59,271 @@ public class ProtocolEncoder extends ChannelOutboundHandlerAdapter {
             ctx.write(msg, promise);
         }
     }
+
+    /**
+     * 在pipeline之外将{@code payload}编码成完整协议bytebuf, 用于广播等需要预先编码一次, 再write到多个channel的场景
+     * 仅支持不需要分片的payload, 且不会包装成{@link StreamFrame}, 即总是属于默认stream
+     *
+     * @param alloc   bytebuf allocator
+     * @param payload outbound payload, 方法返回后会被release
+     * @return 完整协议bytebuf
+     */
+    public ByteBuf encode(ByteBufAllocator alloc, ByteBufPayload payload) {
+        try {
+            ByteBuf body = body(payload);
+            if (body.readableBytes() > options.getFragmentSize()) {
+                throw new TransportException(String.format("body size(%d) is bigger than fragment size(%d), can not be encoded once",
+                        body.readableBytes(), options.getFragmentSize()));
+            }
+            return encode0(alloc, payload, body, baseFlags(payload));
+        } finally {
+            ReferenceCountUtil.safeRelease(payload);
+        }
+    }
+
+    /**
+     * 获取仅包含数据内容的bytebuf, 即跳过预留的协议头bytes
+     */
+    private ByteBuf body(ByteBufPayload payload) {
+        ByteBuf byteBuf = payload.data();
+        if (payload.isHeaderReserved()) {
+            int reservedHeaderSize = options.getHeaderSize();
+            return byteBuf.slice(byteBuf.readerIndex() + reservedHeaderSize, byteBuf.readableBytes() - reservedHeaderSize);
+        }
+        return byteBuf;
+    }
+
+    /**
+     * 将不需要分片的数据内容编码成完整协议bytebuf, 优先压缩
+     *
+     * @param payload 协议头元数据
+     * @param body    数据内容
+     * @param flags   协议flags
+     * @return 完整协议bytebuf, 调用方负责release
+     */
+    private ByteBuf encode0(ByteBufAllocator alloc, ByteBufPayload payload, ByteBuf body, byte flags) {
+        if (options.isCompressRequired(body.readableBytes())) {
+            ByteBuf compressed = compress(alloc, payload, body, flags);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+
+        if (payload.isHeaderReserved()) {
+            //payload release时会对bytebuf进行release一次
+            return writeReservedHeader(payload.data(), payload, flags).retain();
+        } else {
+            return prependHeader(alloc, payload, payload.data(), flags);
+        }
+    }
+
+    /**
+     * 根据payload元数据计算协议flags
+     */
+    private byte baseFlags(ByteBufPayload payload) {
+        if (payload.isResponse()) {
+            return Protocols.FLAG_RESPONSE;
+        }
+        if (payload.getRequestId() != 0) {
+            return Protocols.FLAG_REQUEST;
+        }
+        return 0;
+    }
+
+    /**
+     * 写出完整协议bytebuf, 开启多路复用时, 包装成{@link StreamFrame}交给{@link StreamScheduler}调度
+     * 指定了接收者地址时(udp datagram session view), 包装成发往该地址的{@link DatagramPacket}
+     * 协议bytes超过udp datagram最大bytes时, 对端无法完整接收, 直接以{@link TransportException}结束写出
+     */
+    private void write0(ChannelHandlerContext ctx, ByteBufPayload payload, ByteBuf protocol, ChannelPromise promise) {
+        if (maxDatagramSize > 0 && protocol.readableBytes() > maxDatagramSize) {
+            int protocolSize = protocol.readableBytes();
+            protocol.release();
+            promise.tryFailure(new TransportException(String.format("protocol size(%d) is bigger than max datagram size(%d)",
+                    protocolSize, maxDatagramSize)));
+            return;
+        }
+
+        InetSocketAddress recipient = payload.getRecipient();
+        if (Objects.nonNull(recipient)) {
+            ctx.write(new DatagramPacket(protocol, recipient), promise);
+        } else if (options.isMultiplexing()) {
+            ctx.write(new StreamFrame(payload.getStreamId(), protocol), promise);
+        } else {
+            ctx.write(protocol, promise);
+        }
+    }
+
+    /**
+     * 将数据内容拆分成多个{@link ProtocolOptions#getFragmentSize()}大小的分片, 每个分片单独组成一个协议写出
+     * 除了最后一个分片, 其余分片协议头flags均带有{@link Protocols#FLAG_MORE_FRAGMENTS}
+     * 分片仅仅是{@code body}的slice, 不会copy{@code body}
+     *
+     * @param payload 协议头元数据
+     * @param body    数据内容
+     * @param flags   协议flags
+     * @param promise 所有分片写出完成后才complete
+     */
+    private void writeFragments(ChannelHandlerContext ctx, ByteBufPayload payload, ByteBuf body, byte flags, ChannelPromise promise) {
+        int bodySize = body.readableBytes();
+        if (bodySize > options.getMaxBodySize() && !options.isFragmentation()) {
+            throw new TransportException(String.format("actual body size(%d) is bigger than max body size(%d), please enable fragmentation",
+                    bodySize, options.getMaxBodySize()));
+        }
+
+        int fragmentSize = options.getFragmentSize();
+        PromiseCombiner combiner = new PromiseCombiner(ctx.executor());
+        for (int offset = 0; offset < bodySize; offset += fragmentSize) {
+            int length = Math.min(fragmentSize, bodySize - offset);
+            byte fragmentFlags = offset + length < bodySize ? (byte) (flags | Protocols.FLAG_MORE_FRAGMENTS) : flags;
+            ByteBuf fragment = body.slice(body.readerIndex() + offset, length);
+
+            ByteBuf protocol = null;
+            if (options.isCompressRequired(length)) {
+                protocol = compress(ctx.alloc(), payload, fragment, fragmentFlags);
+            }
+            if (protocol == null) {
+                protocol = prependHeader(ctx.alloc(), payload, fragment, fragmentFlags);
+            }
+            ChannelPromise fragmentPromise = ctx.newPromise();
+            write0(ctx, payload, protocol, fragmentPromise);
+            combiner.add(fragmentPromise);
+        }
+        combiner.finish(promise);
+    }
+
+    /**
+     * 压缩数据内容, 并写入协议头
+     * 压缩后的数据内容格式: 原始数据内容长度(变长int) + 压缩数据
+     *
+     * @param payload 协议头元数据
+     * @param body    数据内容, 不会修改其reader index
+     * @param flags   协议flags
+     * @return 完整协议bytebuf, 如果压缩后数据内容没有变小, 则返回null, 即不压缩
+     */
+    private ByteBuf compress(ByteBufAllocator alloc, ByteBufPayload payload, ByteBuf body, byte flags) {
+        int bodySize = body.readableBytes();
+        int reservedHeaderSize = options.getHeaderSize();
+        ByteBuf out = alloc.ioBuffer(reservedHeaderSize + Protocols.MAX_VAR_INT_BODY_SIZE_MARK + bodySize);
+        boolean success = false;
+        try {
+            out.writerIndex(reservedHeaderSize);
+            VarIntUtils.writeRawVarInt32(out, bodySize);
+            //duplicate, 不修改原bytebuf的reader index
+            options.getCompressor().compress(body.duplicate(), out);
+            if (out.readableBytes() - reservedHeaderSize >= bodySize) {
+                //压缩无收益
+                return null;
+            }
+
+            success = true;
+            return writeReservedHeader(out, payload, (byte) (flags | Protocols.FLAG_COMPRESSED));
+        } finally {
+            if (!success) {
+                out.release();
+            }
+        }
+    }
+
+    /**
+     * 在{@code byteBuf}头部预留的bytes中写入协议头
+     * 实际协议头长度小于预留长度时(比如变长int数据内容长度), 协议头紧贴数据内容写入, 并将reader index后移到协议头开始处
+     *
+     * @param byteBuf 头部已预留协议头bytes的bytebuf
+     * @param payload 协议头元数据
+     * @param flags   协议flags
+     * @return {@code byteBuf}
+     */
+    private ByteBuf writeReservedHeader(ByteBuf byteBuf, ByteBufPayload payload, byte flags) {
+        int reservedHeaderSize = options.getHeaderSize();
+        //数据内容长度
+        int bodySize = byteBuf.readableBytes() - reservedHeaderSize;
+        //实际协议头长度
+        int headerSize = options.getHeaderSize(bodySize, flags);
+        //实际协议头开始index
+        int headerIndex = byteBuf.readerIndex() + reservedHeaderSize - headerSize;
+
+        //跳过未使用的预留bytes
+        byteBuf.readerIndex(headerIndex);
+        //记录当前write index
+        byteBuf.markWriterIndex();
+        //重置到header
+        byteBuf.writerIndex(headerIndex);
+        //write header
+        writeHeader(byteBuf, payload, bodySize, flags);
+        //回滚到之前的write index
+        byteBuf.resetWriterIndex();
+        //write checksum
+        if (options.isChecksum()) {
+            int extSize = options.getExtSize(flags);
+            int contentIndex = headerIndex + headerSize - extSize;
+            byteBuf.writeInt(Checksums.checksum(byteBuf, contentIndex, extSize + bodySize));
+        }
+        return byteBuf;
+    }
+
+    /**
+     * 额外分配协议头bytebuf, 然后与{@code body}组合成{@link CompositeByteBuf}
+     * 底层write时, 会以gathering write方式写出, 不会copy{@code body}
+     *
+     * @param payload 协议头元数据
+     * @param body    仅包含传输内容的bytebuf
+     * @param flags   协议flags
+     * @return 完整协议bytebuf
+     */
+    private ByteBuf prependHeader(ByteBufAllocator alloc, ByteBufPayload payload, ByteBuf body, byte flags) {
+        int bodySize = body.readableBytes();
+        ByteBuf header = alloc.ioBuffer(options.getHeaderSize(bodySize, flags));
+        writeHeader(header, payload, bodySize, flags);
+
+        if (!options.isChecksum()) {
+            CompositeByteBuf composite = alloc.compositeBuffer(2);
+            //composite release时会对header和body进行release, 故此body需retain一次
+            return composite.addComponents(true, header, body.retain());
+        }
+
+        int extSize = options.getExtSize(flags);
+        ByteBuf ext = header.slice(header.writerIndex() - extSize, extSize);
+        ByteBuf trailer = alloc.ioBuffer(Protocols.CHECKSUM_SIZE);
+        trailer.writeInt(Checksums.checksum(ext, body));
+
+        CompositeByteBuf composite = alloc.compositeBuffer(3);
+        //composite release时会对header和body进行release, 故此body需retain一次
+        return composite.addComponents(true, header, body.retain(), trailer);
+    }
+
+    /**
+     * 写入协议头
+     *
+     * @param byteBuf  协议bytebuf
+     * @param payload  协议头元数据, 即stream id和request id
+     * @param bodySize 传输内容大小
+     * @param flags    协议flags
+     */
+    private void writeHeader(ByteBuf byteBuf, ByteBufPayload payload, int bodySize, byte flags) {
+        //write magic
+        byteBuf.writeBytes(options.getMagic());
+        //write body size, 包含协议头扩展字段和协议尾
+        int contentSize = options.getContentSize(bodySize, flags);
+        if (HeaderFormat.VAR_INT.equals(options.getHeaderFormat())) {
+            VarIntUtils.writeRawVarInt32(byteBuf, contentSize);
+        } else {
+            byteBuf.writeInt(contentSize);
+        }
+        //write flags
+        if (options.hasFlags()) {
+            byteBuf.writeByte(flags);
+        }
+        //write stream id
+        if (options.isMultiplexing()) {
+            byteBuf.writeInt(payload.getStreamId());
+        }
+        //write request id
+        if ((flags & (Protocols.FLAG_REQUEST | Protocols.FLAG_RESPONSE)) != 0) {
+            if (!options.isRequestResponse()) {
+                throw new TransportException("request response is not enabled");
+            }
+            byteBuf.writeInt(payload.getRequestId());
+        }
+    }
 }
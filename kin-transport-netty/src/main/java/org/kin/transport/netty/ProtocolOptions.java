@@ -2,6 +2,13 @@ package org.kin.transport.netty;
 
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import org.kin.transport.netty.compression.Compressor;
+import org.kin.transport.netty.utils.VarIntUtils;
+import reactor.netty.Connection;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
 
 /**
  * 协议配置
@@ -14,7 +21,10 @@ public class ProtocolOptions {
     private final byte[] magic;
     /** 数据内容最大长度 */
     private final int maxBodySize;
-    /** 协议头部长度, 即魔数bytes+协议数据长度bytes(4Byte) */
+    /**
+     * 协议头部最大长度, 即魔数bytes+协议数据长度bytes(最多)+协议头扩展字段bytes
+     * outbound bytebuf会预留该长度的bytes用于写入协议头
+     */
     private final int headerSize;
     /**
      * Cumulate {@link ByteBuf}s by add them to a CompositeByteBuf and so do no memory copy whenever possible.
@@ -22,13 +32,181 @@ public class ProtocolOptions {
      * and the decoder implementation this may be slower then just use the {@link io.netty.handler.codec.ByteToMessageDecoder#MERGE_CUMULATOR}.
      */
     private final boolean useCompositeBuf;
+    /** 协议解析器实现模式 */
+    private final DecoderMode decoderMode;
+    /** 协议头数据内容长度字段的编码格式 */
+    private final HeaderFormat headerFormat;
+    /** 数据内容压缩实现, null则表示不压缩 */
+    @Nullable
+    private final Compressor compressor;
+    /** 数据内容大于等于该值才压缩 */
+    private final int compressThreshold;
+    /** 是否在协议尾追加checksum */
+    private final boolean checksum;
+    /** 是否开启分片, 开启后, 大于{@link #maxBodySize}的数据内容会被拆分成多个协议发送 */
+    private final boolean fragmentation;
+    /** 分片重组后数据内容最大长度, 仅重组模式下生效 */
+    private final int maxAssembledBodySize;
+    /** 是否开启多路复用, 开启后协议头带上stream id */
+    private final boolean multiplexing;
+    /** 单个分片数据内容最大长度 */
+    private final int fragmentSize;
+    /** 是否开启request/response, 开启后request和response协议头带上request id */
+    private final boolean requestResponse;
+    /** flush策略 */
+    private final FlushStrategy flushStrategy;
+    /** write和flush计数 */
+    private final FlushStats flushStats;
+    /** 协议头是否包含flags */
+    private final boolean flags;
+    /** 是否以流的方式接收分片数据内容, 即payload processor是{@link StreamingPayloadProcessor}实现 */
+    private final boolean streaming;
+    /**
+     * 协议头扩展字段(位于协议数据长度之后)最大长度, 包含flags(开启压缩, 分片, 多路复用或request/response时存在),
+     * stream id(开启多路复用时存在)和request id(仅request和response协议存在)
+     * 协议数据长度包含扩展字段长度
+     */
+    private final int extSize;
+    /**
+     * 协议尾长度, 目前仅有checksum
+     * 协议数据长度包含协议尾长度
+     */
+    private final int trailerSize;
+    /** 协议数据长度字段的最大值 */
+    private final int maxContentSize;
 
-    public ProtocolOptions(byte[] magic, int maxBodySize, boolean useCompositeBuf) {
+    public ProtocolOptions(AdvancedTransport<?> transport) {
+        byte[] magic = transport.getMagic();
         Preconditions.checkArgument(magic.length <= Protocols.MAX_MAGIC_SIZE, "max magic bytes size must be lower than " + Protocols.MAX_MAGIC_SIZE);
         this.magic = magic;
-        this.maxBodySize = maxBodySize;
-        this.headerSize = magic.length + Protocols.BODY_SIZE_MARK;
-        this.useCompositeBuf = useCompositeBuf;
+        this.maxBodySize = transport.getMaxBodySize();
+        this.useCompositeBuf = transport.isDecoderUseCompositeBuf();
+        this.decoderMode = transport.getDecoderMode();
+        this.headerFormat = transport.getHeaderFormat();
+        this.compressor = transport.getCompressor();
+        this.compressThreshold = transport.getCompressThreshold();
+        this.checksum = transport.isChecksum();
+        this.fragmentation = transport.isFragmentation();
+        this.multiplexing = transport.isMultiplexing();
+        //未开启分片时, 多路复用的分片重组后不会超过maxBodySize
+        this.maxAssembledBodySize = fragmentation ? transport.getMaxAssembledBodySize() : maxBodySize;
+        this.streaming = transport.getPayloadProcessor() instanceof StreamingPayloadProcessor;
+        this.fragmentSize = multiplexing ? Math.min(transport.getStreamChunkSize(), maxBodySize) : maxBodySize;
+
+        this.requestResponse = transport.isRequestResponse();
+        this.flushStrategy = transport.getFlushStrategy();
+        this.flushStats = transport.getFlushStats();
+
+        this.flags = Objects.nonNull(compressor) || fragmentation || multiplexing || requestResponse;
+        int extSize = 0;
+        if (flags) {
+            extSize += Protocols.FLAGS_SIZE;
+        }
+        if (multiplexing) {
+            extSize += Protocols.STREAM_ID_SIZE;
+        }
+        if (requestResponse) {
+            extSize += Protocols.REQUEST_ID_SIZE;
+        }
+        this.extSize = extSize;
+        this.headerSize = magic.length + headerFormat.getMaxBodySizeMark() + extSize;
+
+        this.trailerSize = checksum ? Protocols.CHECKSUM_SIZE : 0;
+
+        int maxContentSize = maxBodySize + extSize + trailerSize;
+        if (Objects.nonNull(compressor)) {
+            //压缩数据前面会带上原始数据大小
+            maxContentSize += Protocols.MAX_VAR_INT_BODY_SIZE_MARK;
+        }
+        this.maxContentSize = maxContentSize;
+    }
+
+    /**
+     * 计算实际协议头长度
+     *
+     * @param bodySize 数据内容长度
+     * @param flags    协议flags
+     * @return 实际协议头长度
+     */
+    public int getHeaderSize(int bodySize, byte flags) {
+        int extSize = getExtSize(flags);
+        if (HeaderFormat.VAR_INT.equals(headerFormat)) {
+            return magic.length + VarIntUtils.computeRawVarInt32Size(getContentSize(bodySize, flags)) + extSize;
+        }
+        return magic.length + Protocols.BODY_SIZE_MARK + extSize;
+    }
+
+    /**
+     * 计算实际协议头扩展字段长度
+     *
+     * @param flags 协议flags
+     * @return 实际协议头扩展字段长度
+     */
+    public int getExtSize(byte flags) {
+        if (!requestResponse || (flags & (Protocols.FLAG_REQUEST | Protocols.FLAG_RESPONSE)) != 0) {
+            return extSize;
+        }
+        //非request/response协议, 不带request id
+        return extSize - Protocols.REQUEST_ID_SIZE;
+    }
+
+    /**
+     * 计算协议数据长度字段的值, 即协议头扩展字段+数据内容+协议尾
+     *
+     * @param bodySize 数据内容长度
+     * @param flags    协议flags
+     * @return 协议数据长度
+     */
+    public int getContentSize(int bodySize, byte flags) {
+        return getExtSize(flags) + bodySize + trailerSize;
+    }
+
+    /**
+     * 根据{@link #decoderMode}创建协议解析器
+     */
+    public ByteToMessageDecoder newDecoder() {
+        return decoderMode.newDecoder(this);
+    }
+
+    /**
+     * 往{@code connection} pipeline添加协议编解码相关handler, 即协议解析器, stream调度器(仅开启多路复用时), 协议编码器和flush合并器
+     *
+     * @return {@code connection}
+     */
+    public Connection addCodecHandlers(Connection connection) {
+        connection.addHandlerLast(newDecoder());
+        if (multiplexing) {
+            //stream调度器需位于协议编码器之前
+            connection.addHandlerLast(new StreamScheduler());
+        }
+        connection.addHandlerLast(new ProtocolEncoder(this));
+        //outbound从tail到head, 位于协议编码器之后, 以统计payload write次数
+        return connection.addHandlerLast(new FlushConsolidator(flushStrategy, flushStats));
+    }
+
+    /**
+     * 往udp {@code connection} pipeline添加协议编解码相关handler, 即datagram协议解析器, 协议编码器和flush合并器
+     * 每个payload编码成一个datagram, 故此不支持分片和多路复用
+     *
+     * @param maxDatagramSize 单个datagram最大bytes, 编码后协议超过该值的payload写出失败
+     * @return {@code connection}
+     */
+    public Connection addDatagramCodecHandlers(Connection connection, int maxDatagramSize) {
+        connection.addHandlerLast(new DatagramProtocolDecoder(this))
+                .addHandlerLast(new ProtocolEncoder(this, maxDatagramSize));
+        return connection.addHandlerLast(new FlushConsolidator(flushStrategy, flushStats));
+    }
+
+    /**
+     * 往in-jvm local {@code connection} pipeline添加payload传递相关handler, 即payload传递器, 协议解析器和flush合并器
+     * 协议解析器仅用于解析广播等预先编码好的协议bytebuf
+     *
+     * @return {@code connection}
+     */
+    public Connection addLocalCodecHandlers(Connection connection) {
+        connection.addHandlerLast(new LocalPayloadCodec(this))
+                .addHandlerLast(newDecoder());
+        return connection.addHandlerLast(new FlushConsolidator(flushStrategy, flushStats));
     }
 
     /**
@@ -38,6 +216,22 @@ public class ProtocolOptions {
         return magic.length;
     }
 
+    /**
+     * 协议头是否包含flags
+     */
+    public boolean hasFlags() {
+        return flags;
+    }
+
+    /**
+     * 是否需要压缩数据内容
+     *
+     * @param bodySize 数据内容长度
+     */
+    public boolean isCompressRequired(int bodySize) {
+        return Objects.nonNull(compressor) && bodySize >= compressThreshold;
+    }
+
     //getter
     public byte[] getMagic() {
         return magic;
@@ -48,7 +242,7 @@ public class ProtocolOptions {
     }
 
     public int getMaxProtocolSize() {
-        return maxBodySize + headerSize;
+        return maxContentSize + headerSize;
     }
 
     public int getHeaderSize() {
@@ -58,4 +252,69 @@ public class ProtocolOptions {
     public boolean isUseCompositeBuf() {
         return useCompositeBuf;
     }
+
+    public DecoderMode getDecoderMode() {
+        return decoderMode;
+    }
+
+    public HeaderFormat getHeaderFormat() {
+        return headerFormat;
+    }
+
+    @Nullable
+    public Compressor getCompressor() {
+        return compressor;
+    }
+
+    public int getCompressThreshold() {
+        return compressThreshold;
+    }
+
+    public boolean isChecksum() {
+        return checksum;
+    }
+
+    public int getTrailerSize() {
+        return trailerSize;
+    }
+
+    public boolean isFragmentation() {
+        return fragmentation;
+    }
+
+    public int getMaxAssembledBodySize() {
+        return maxAssembledBodySize;
+    }
+
+    public boolean isMultiplexing() {
+        return multiplexing;
+    }
+
+    public boolean isRequestResponse() {
+        return requestResponse;
+    }
+
+    public FlushStrategy getFlushStrategy() {
+        return flushStrategy;
+    }
+
+    public FlushStats getFlushStats() {
+        return flushStats;
+    }
+
+    public int getFragmentSize() {
+        return fragmentSize;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public int getExtSize() {
+        return extSize;
+    }
+
+    public int getMaxContentSize() {
+        return maxContentSize;
+    }
 }
@@ -12,6 +12,28 @@ public final class Protocols {
 
     /** 支持的最大数据内容长度(4Byte), {@link Integer#MAX_VALUE} */
     public static final int BODY_SIZE_MARK = 4;
+    /** 变长int编码时, 数据内容长度最多占用的字节数(5Byte), {@link Integer#MAX_VALUE} */
+    public static final int MAX_VAR_INT_BODY_SIZE_MARK = 5;
     /** 支持的最大魔数bytes长度, 256B */
     public static final int MAX_MAGIC_SIZE = 256;
+    /** 协议头flags长度(1Byte) */
+    public static final int FLAGS_SIZE = 1;
+    /** 协议头stream id长度(4Byte) */
+    public static final int STREAM_ID_SIZE = 4;
+    /** 默认stream id, 即非{@link Session#openStream()}发送的payload */
+    public static final int DEFAULT_STREAM_ID = 0;
+    /** 协议头request id长度(4Byte) */
+    public static final int REQUEST_ID_SIZE = 4;
+    /** 协议尾checksum长度(4Byte) */
+    public static final int CHECKSUM_SIZE = 4;
+
+    //-----------------------------------------------------------flags
+    /** flags, 数据内容已压缩 */
+    public static final byte FLAG_COMPRESSED = 1;
+    /** flags, 该协议是分片数据内容, 并且后续还有分片 */
+    public static final byte FLAG_MORE_FRAGMENTS = 1 << 1;
+    /** flags, 该协议是request, 协议头带有request id */
+    public static final byte FLAG_REQUEST = 1 << 2;
+    /** flags, 该协议是response, 协议头带有request id */
+    public static final byte FLAG_RESPONSE = 1 << 3;
 }
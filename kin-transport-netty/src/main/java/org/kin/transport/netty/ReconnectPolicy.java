@@ -0,0 +1,216 @@
+package org.kin.transport.netty;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * client重连策略, 即指数退避 + 随机抖动 + 最大重连次数 + 连接速率限制
+ * <p>
+ * 服务端重启时, 大量client会同时断连, 如果以相同间隔重连, 则会同时涌向服务端, 再次将其压垮
+ * 随机抖动可以将重连分散到时间窗口内, 连接速率限制则进一步限制单位时间内发起的连接数
+ * <p>
+ * 不可变, 修改配置会返回新实例, 同一实例(包括其连接速率限制)可以被多个transport共享
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class ReconnectPolicy {
+    /** 默认策略, 1s, 2s, 3s, 3s..., 无随机抖动, 不限重连次数 */
+    public static final ReconnectPolicy DEFAULT = exponential(Duration.ofSeconds(1), Duration.ofSeconds(3));
+
+    /** 随机抖动模式 */
+    public enum Jitter {
+        /** 无抖动, 即base * 2^(n-1) */
+        NONE,
+        /** 全抖动, 即random(0, base * 2^(n-1)] */
+        FULL,
+        /** 去相关抖动, 即random(base, 上次间隔 * 3], 间隔增长更平滑 */
+        DECORRELATED,
+        ;
+    }
+
+    /**
+     * 指数退避
+     *
+     * @param baseDelay 首次重连间隔
+     * @param maxDelay  最大重连间隔
+     */
+    public static ReconnectPolicy exponential(Duration baseDelay, Duration maxDelay) {
+        Preconditions.checkArgument(baseDelay.toMillis() > 0, "base delay must be greater than or equal to 1ms");
+        Preconditions.checkArgument(maxDelay.compareTo(baseDelay) >= 0, "max delay must be greater than or equal to base delay");
+        return new ReconnectPolicy(baseDelay.toMillis(), maxDelay.toMillis(), Jitter.NONE, 0, null);
+    }
+
+    /** 首次重连间隔, 毫秒 */
+    private final long baseDelayMillis;
+    /** 最大重连间隔, 毫秒 */
+    private final long maxDelayMillis;
+    /** 随机抖动模式 */
+    private final Jitter jitter;
+    /** 最大连续重连次数, 超过则放弃重连并dispose client, 0表示不限 */
+    private final int maxAttempts;
+    /** 连接速率限制, null表示不限 */
+    @Nullable
+    private final RateLimiter rateLimiter;
+
+    private ReconnectPolicy(long baseDelayMillis, long maxDelayMillis, Jitter jitter, int maxAttempts, @Nullable RateLimiter rateLimiter) {
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.jitter = jitter;
+        this.maxAttempts = maxAttempts;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * 设置随机抖动模式
+     */
+    public ReconnectPolicy jitter(Jitter jitter) {
+        Preconditions.checkNotNull(jitter, "jitter must be not null");
+        return new ReconnectPolicy(baseDelayMillis, maxDelayMillis, jitter, maxAttempts, rateLimiter);
+    }
+
+    /**
+     * 设置最大连续重连次数, 超过则放弃重连并dispose client, 0表示不限
+     */
+    public ReconnectPolicy maxAttempts(int maxAttempts) {
+        Preconditions.checkArgument(maxAttempts >= 0, "max attempts must be greater than or equal to 0");
+        return new ReconnectPolicy(baseDelayMillis, maxDelayMillis, jitter, maxAttempts, rateLimiter);
+    }
+
+    /**
+     * 限制使用该策略的所有client每秒最多发起{@code permitsPerSecond}个重连
+     */
+    public ReconnectPolicy connectRate(int permitsPerSecond) {
+        Preconditions.checkArgument(permitsPerSecond > 0, "permits per second must be greater than 0");
+        return new ReconnectPolicy(baseDelayMillis, maxDelayMillis, jitter, maxAttempts, new RateLimiter(permitsPerSecond));
+    }
+
+    /**
+     * 是否已超过最大连续重连次数
+     *
+     * @param attempt 第几次重连, 从1开始
+     */
+    public boolean isExhausted(int attempt) {
+        return maxAttempts > 0 && attempt > maxAttempts;
+    }
+
+    /**
+     * 计算下次重连间隔
+     *
+     * @param attempt         第几次重连, 从1开始, 0则表示首次连接, 不需要等待
+     * @param prevDelayMillis 上次重连间隔, 毫秒, 仅{@link Jitter#DECORRELATED}使用
+     * @return 下次重连间隔, 毫秒
+     */
+    public long nextDelayMillis(int attempt, long prevDelayMillis) {
+        if (attempt <= 0) {
+            return 0;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (jitter) {
+            case FULL:
+                return 1 + random.nextLong(exponentialDelayMillis(attempt));
+            case DECORRELATED:
+                long upper = Math.max(baseDelayMillis, prevDelayMillis) * 3;
+                return Math.min(maxDelayMillis, baseDelayMillis + random.nextLong(upper - baseDelayMillis + 1));
+            default:
+                return exponentialDelayMillis(attempt);
+        }
+    }
+
+    /**
+     * 指数退避间隔, 即min(max, base * 2^(n-1))
+     */
+    private long exponentialDelayMillis(int attempt) {
+        //防止溢出
+        int shift = Math.min(attempt - 1, 30);
+        long delay = baseDelayMillis << shift;
+        return delay < 0 || delay > maxDelayMillis ? maxDelayMillis : delay;
+    }
+
+    /**
+     * 预留一个连接许可
+     *
+     * @return 需要额外等待的时间, 毫秒
+     */
+    public long reserveConnect() {
+        return Objects.isNull(rateLimiter) ? 0 : rateLimiter.reserve();
+    }
+
+    //getter
+    public long getBaseDelayMillis() {
+        return baseDelayMillis;
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    public Jitter getJitter() {
+        return jitter;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    @Override
+    public String toString() {
+        return "ReconnectPolicy{" +
+                "baseDelayMillis=" + baseDelayMillis +
+                ", maxDelayMillis=" + maxDelayMillis +
+                ", jitter=" + jitter +
+                ", maxAttempts=" + maxAttempts +
+                ", rateLimiter=" + rateLimiter +
+                '}';
+    }
+
+    //--------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 非阻塞连接速率限制, 预留许可时返回需要等待的时间, 由调用方延迟执行, 而不是阻塞线程
+     */
+    private static final class RateLimiter {
+        /** 每秒许可数 */
+        private final int permitsPerSecond;
+        /** 相邻许可间隔, 纳秒 */
+        private final long intervalNanos;
+        /** 下一个可用许可的时间, 纳秒 */
+        private final AtomicLong nextFreeNanos = new AtomicLong(System.nanoTime());
+
+        RateLimiter(int permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        }
+
+        /**
+         * 预留一个许可
+         *
+         * @return 需要等待的时间, 毫秒
+         */
+        long reserve() {
+            long now = System.nanoTime();
+            long prev;
+            long next;
+            do {
+                prev = nextFreeNanos.get();
+                //空闲期间不累积许可, 避免突发
+                next = Math.max(prev, now) + intervalNanos;
+            } while (!nextFreeNanos.compareAndSet(prev, next));
+            return TimeUnit.NANOSECONDS.toMillis(next - intervalNanos - now);
+        }
+
+        @Override
+        public String toString() {
+            return "RateLimiter{" +
+                    "permitsPerSecond=" + permitsPerSecond +
+                    '}';
+        }
+    }
+}
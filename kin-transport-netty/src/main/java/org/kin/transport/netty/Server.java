@@ -8,8 +8,11 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.DisposableServer;
 
+import javax.annotation.Nonnull;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * server抽象, 统一payload处理流程
@@ -25,8 +28,10 @@ public abstract class Server<S extends Server<S, PT>, PT extends AdvancedTranspo
     protected final String host;
     /** 监听端口 */
     protected final int port;
-    /** server disposable */
-    private volatile DisposableServer disposable;
+    /** server disposable, 开启多个SO_REUSEPORT监听socket时, 每个监听socket一个 */
+    private final List<DisposableServer> disposables = new CopyOnWriteArrayList<>();
+    /** 已连接的session注册表 */
+    private final SessionRegistry sessionRegistry = new SessionRegistry();
 
     protected Server(PT serverTransport, String host, int port) {
         this.serverTransport = serverTransport;
@@ -51,9 +56,19 @@ public abstract class Server<S extends Server<S, PT>, PT extends AdvancedTranspo
     /**
      * client连接成功逻辑处理
      */
-    @SuppressWarnings({"unchecked"})
     protected final void onClientConnected(Session session) {
+        sessionRegistry.register(session);
+        receivePayloads(session);
+    }
+
+    /**
+     * 订阅{@code session}接收到的payload, 并交给payload processor处理, 不会注册到session注册表
+     */
+    @SuppressWarnings({"unchecked"})
+    protected final void receivePayloads(Session session) {
         PayloadProcessor payloadProcessor = serverTransport.getPayloadProcessor();
+        DispatchMode dispatchMode = serverTransport.getDispatchMode();
+        ProcessorExecutor processorExecutor = serverTransport.getProcessorExecutor();
         session.connection()
                 .inbound()
                 .receiveObject()
@@ -67,21 +82,32 @@ public abstract class Server<S extends Server<S, PT>, PT extends AdvancedTranspo
                 })
                 .filter(o -> {
                     //过滤非法payload
-                    if (!(o instanceof ByteBufPayload)) {
+                    if (!(o instanceof ByteBufPayload) && !(o instanceof StreamingPayload)) {
                         log.warn("unexpected payload type received: {}, channel: {}.", o.getClass(), session.channel());
                         return false;
                     }
 
                     return true;
                 })
-                .cast(ByteBufPayload.class)
-                .flatMap(bp -> {
+                .transform(payloads -> dispatchMode.dispatch(payloads, o -> {
+                    if (o instanceof StreamingPayload) {
+                        //分片数据内容流
+                        return ((StreamingPayloadProcessor) payloadProcessor).process(session, ((StreamingPayload) o).fragments());
+                    }
+
+                    ByteBufPayload bp = (ByteBufPayload) o;
+                    //udp server channel没有连接对端, 以绑定发送者地址的datagram session view处理, 从而可以直接send和reply
+                    Session target = Objects.isNull(bp.getSender()) ? session : session.datagramView(bp.getSender());
+                    if (Objects.nonNull(processorExecutor)) {
+                        //转移到业务线程执行, 执行完后再release
+                        return processorExecutor.process(payloadProcessor, target, bp);
+                    }
                     try {
-                        return payloadProcessor.process(session, bp).thenReturn(bp);
+                        return payloadProcessor.process(target, bp);
                     } finally {
                         ReferenceCountUtil.safeRelease(bp);
                     }
-                })
+                }))
                 .onErrorContinue((throwable, o) -> {
                     log.error("{} process payload error, {}", serverName(), o, throwable);
                 })
@@ -92,16 +118,16 @@ public abstract class Server<S extends Server<S, PT>, PT extends AdvancedTranspo
      * process after server bound
      */
     protected final void onBound(DisposableServer disposable) {
-        this.disposable = disposable;
+        disposables.add(disposable);
     }
 
     @Override
     public final void dispose() {
-        if (Objects.isNull(disposable) || disposable.isDisposed()) {
-            return;
+        for (DisposableServer disposable : disposables) {
+            if (!disposable.isDisposed()) {
+                disposable.dispose();
+            }
         }
-
-        disposable.dispose();
     }
 
     /**
@@ -110,10 +136,42 @@ public abstract class Server<S extends Server<S, PT>, PT extends AdvancedTranspo
      * @return disposed signal mono
      */
     public final Mono<Void> onDispose() {
-        if (Objects.isNull(disposable)) {
+        if (disposables.isEmpty()) {
             return Mono.empty();
         }
 
-        return disposable.onDispose();
+        return Mono.when(disposables.stream().map(DisposableServer::onDispose).toArray(Mono[]::new));
+    }
+
+    /**
+     * 广播给所有已连接的session, 跳过不可写的session
+     *
+     * @param encoder 数据对象 -> bytes payload逻辑, 仅调用一次
+     * @return 实际write的session数
+     * @see Broadcaster#broadcast(Object, ObjectEncoder, Collection, BroadcastPolicy)
+     */
+    public final <T> Mono<Integer> broadcast(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder) {
+        return Broadcaster.broadcast(obj, encoder, sessionRegistry.sessions());
+    }
+
+    /**
+     * 广播给所有已连接的session
+     *
+     * @param encoder 数据对象 -> bytes payload逻辑, 仅调用一次
+     * @param policy  如何处理outbound buffer积压的session
+     * @return 实际write的session数
+     * @see Broadcaster#broadcast(Object, ObjectEncoder, Collection, BroadcastPolicy)
+     */
+    public final <T> Mono<Integer> broadcast(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder, @Nonnull BroadcastPolicy policy) {
+        return Broadcaster.broadcast(obj, encoder, sessionRegistry.sessions(), policy);
+    }
+
+    //getter
+
+    /**
+     * @return 已连接的session注册表
+     */
+    public final SessionRegistry getSessionRegistry() {
+        return sessionRegistry;
     }
 }
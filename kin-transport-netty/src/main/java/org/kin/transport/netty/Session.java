@@ -5,21 +5,31 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.EventLoop;
 import io.netty.util.Attribute;
 import io.netty.util.AttributeKey;
-import org.kin.transport.netty.utils.ByteBufUtils;
+import io.netty.util.collection.IntObjectHashMap;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.netty.Connection;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  * 会话
@@ -31,6 +41,8 @@ public final class Session implements Disposable {
     private static final Logger log = LoggerFactory.getLogger(Session.class);
     /** session channel key */
     public static final AttributeKey<Session> SESSION_KEY = AttributeKey.valueOf("session");
+    /** channel可写状态监听handler name */
+    private static final String WRITABILITY_HANDLER_NAME = "kinWritability";
 
     /** 协议配置 */
     private final ProtocolOptions options;
@@ -39,7 +51,22 @@ public final class Session implements Disposable {
     /** 标识是否closed */
     private volatile boolean disposed;
     /** 自适应分配bytebuf */
-    private final AdaptiveOutputByteBufAllocator.Handle adaptiveHandle = AdaptiveOutputByteBufAllocator.DEFAULT.newHandle();
+    private final AdaptiveOutputByteBufAllocator.Handle adaptiveHandle;
+    /** 逻辑stream id生成器 */
+    private final AtomicInteger streamIdGenerator;
+    /** 离线发送缓存, 连接断开期间缓存已编码的payload, 绑定新连接后批量发送 */
+    @Nullable
+    private final Outbox outbox;
+    /** channel可写状态变化, 仅保留最新状态, 新订阅者会先收到当前状态 */
+    private final Sinks.Many<Boolean> writabilitySink;
+    /** 等待response的request索引, key -> request id, 由{@link PendingRequests}维护, 访问需持有其锁 */
+    private final IntObjectHashMap<PendingRequests.PendingRequest<?>> pendingRequests;
+    /** 仅datagram session view有值, 即绑定底层connection的session */
+    @Nullable
+    private final Session owner;
+    /** 仅datagram session view有值, 即发送payload的对端地址 */
+    @Nullable
+    private final InetSocketAddress recipient;
 
     /**
      * 获取{@code connection}绑定的session
@@ -65,10 +92,53 @@ public final class Session implements Disposable {
      * 基于已建立的connection构建session实例
      */
     public Session(ProtocolOptions options, Connection connection) {
+        this(options, connection, null);
+    }
+
+    /**
+     * 基于已建立的connection构建session实例
+     *
+     * @param outbox 离线发送缓存, null则表示连接断开时直接send失败
+     */
+    public Session(ProtocolOptions options, Connection connection, @Nullable Outbox outbox) {
         this.options = options;
+        this.outbox = outbox;
+        this.adaptiveHandle = AdaptiveOutputByteBufAllocator.DEFAULT.newHandle();
+        this.streamIdGenerator = new AtomicInteger();
+        this.writabilitySink = Sinks.many().replay().latest();
+        this.pendingRequests = new IntObjectHashMap<>();
+        this.owner = null;
+        this.recipient = null;
         bind(connection);
     }
 
+    /**
+     * 构建datagram session view, 与{@code owner}共享底层connection以及相关状态, 但不绑定到channel
+     */
+    private Session(Session owner, InetSocketAddress recipient) {
+        this.options = owner.options;
+        this.connection = owner.connection;
+        this.outbox = null;
+        this.adaptiveHandle = owner.adaptiveHandle;
+        this.streamIdGenerator = owner.streamIdGenerator;
+        this.writabilitySink = owner.writabilitySink;
+        this.pendingRequests = owner.pendingRequests;
+        this.owner = owner;
+        this.recipient = recipient;
+    }
+
+    /**
+     * 获取发往{@code recipient}的datagram session view, 用于udp server这类channel没有连接对端的场景
+     * view与当前session共享底层connection, 通过view send, reply和request的payload均会被编码成发往{@code recipient}的datagram
+     * view dispose仅标识view不可用, 不会close底层connection
+     *
+     * @param recipient 对端地址, 一般是{@link ByteBufPayload#getSender()}
+     * @return datagram session view
+     */
+    public Session datagramView(@Nonnull InetSocketAddress recipient) {
+        return new Session(Objects.nonNull(owner) ? owner : this, recipient);
+    }
+
     /**
      * 底层连接建立时调用, 以绑定新connection
      * 往往用于旧连接断开, 新连接建立成功后, 替换session实例的底层connection
@@ -89,6 +159,59 @@ public final class Session implements Disposable {
         connection.onDispose(() -> {
             log.info("session unbound on channel {}", channel());
         });
+        //已通过该connection发送的request无法再收到response, 直接失败
+        connection.onDispose(() -> PendingRequests.fail(this, connection));
+        //监听channel可写状态变化, 并发布当前状态
+        connection.addHandlerLast(WRITABILITY_HANDLER_NAME, new WritabilityHandler(this));
+        emitWritability(channel().isWritable());
+        if (Objects.nonNull(outbox)) {
+            //离线发送缓存中的request会在新connection上发送
+            PendingRequests.bind(this, connection);
+            drainOutbox();
+        }
+    }
+
+    /**
+     * 将离线发送缓存中的payload全部write到当前连接, 并仅flush一次
+     */
+    private void drainOutbox() {
+        Channel channel = channel();
+        if (!channel.eventLoop().inEventLoop()) {
+            channel.eventLoop().execute(this::drainOutbox);
+            return;
+        }
+
+        List<Outbox.Entry> entries = outbox.drain();
+        if (entries.isEmpty()) {
+            return;
+        }
+        log.info("session drain {} buffered payloads on channel {}", entries.size(), channel);
+        for (Outbox.Entry entry : entries) {
+            channel.write(entry.getPayload()).addListener(f -> entry.complete(f.cause()));
+        }
+        channel.flush();
+    }
+
+    /**
+     * 连接断开期间, 缓存payload, 待绑定新连接后发送
+     *
+     * @param payload outbound payload
+     */
+    private Mono<Void> buffer(@Nonnull ByteBufPayload payload) {
+        return Mono.create(sink -> {
+            outbox.offer(payload, sink);
+            if (isActive()) {
+                //缓存期间已绑定新连接
+                drainOutbox();
+            }
+        });
+    }
+
+    /**
+     * 发布channel可写状态
+     */
+    private void emitWritability(boolean writable) {
+        writabilitySink.emitNext(writable, RetryNonSerializedEmitFailureHandler.RETRY_NON_SERIALIZED);
     }
 
     /**
@@ -111,6 +234,7 @@ public final class Session implements Disposable {
 
     /**
      * send bytebuf
+     * {@code data}仅包含传输内容, 发送时会额外分配协议头并与{@code data}组合发送, 不会copy{@code data}
      *
      * @param data data
      */
@@ -118,13 +242,209 @@ public final class Session implements Disposable {
         return send0(newOutboundPayload(data));
     }
 
+    /**
+     * channel可写时才send object, 否则挂起直到channel恢复可写, 挂起期间不会编码{@code obj}
+     * 适用于生产速度可能超过网络发送速度的场景, 避免outbound buffer无限积压
+     *
+     * @param encoder 数据对象 -> bytes payload逻辑
+     * @see #onWritable()
+     */
+    public <T> Mono<Void> sendWhenWritable(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder) {
+        return whenWritable(Mono.defer(() -> sendObject(obj, encoder)));
+    }
+
+    /**
+     * channel可写时才send bytebuf, 否则挂起直到channel恢复可写
+     *
+     * @param data data, 挂起期间被cancel也不会release
+     * @see #onWritable()
+     */
+    public Mono<Void> sendWhenWritable(@Nonnull ByteBuf data) {
+        return whenWritable(Mono.defer(() -> send(data)));
+    }
+
+    /**
+     * channel可写时才执行{@code send}, 否则挂起直到channel恢复可写
+     * 连接断开时直接执行{@code send}, 由离线发送缓存或send失败逻辑处理
+     * 注意, 多个挂起的send会在channel恢复可写时同时执行, 故outbound buffer可能会略微超过高水位线
+     */
+    private Mono<Void> whenWritable(Mono<Void> send) {
+        if (!isActive() || isWritable()) {
+            return send;
+        }
+        return onWritable().filter(Boolean::booleanValue)
+                .next()
+                .then(send);
+    }
+
+    /**
+     * channel可写状态变化流, 订阅时先收到当前可写状态, 之后每次可写状态变化时收到新状态, session dispose时complete
+     * 可写状态由channel outbound buffer高低水位线决定, 见{@link AdvancedTransport#writeBufferWaterMark(int, int)}
+     */
+    public Flux<Boolean> onWritable() {
+        return writabilitySink.asFlux().distinctUntilChanged();
+    }
+
+    /**
+     * 批量send object, 所有数据对象编码后批量write, 并合并flush, 最终仅返回一个complete signal
+     * 由reactor netty按channel可写状态向{@code objs}请求数据, channel不可写({@link Channel#isWritable()})时暂停编码和write
+     *
+     * @param objs    待发送的数据对象流
+     * @param encoder 数据对象 -> bytes payload逻辑
+     * @return complete signal, 所有数据对象write完成后complete
+     */
+    public <T> Mono<Void> sendAll(@Nonnull Publisher<T> objs, @Nonnull ObjectEncoder<T> encoder) {
+        return sendAll(objs, encoder, 0);
+    }
+
+    /**
+     * 批量send object, 每write {@code batchSize}个payload flush一次
+     *
+     * @param objs      待发送的数据对象流
+     * @param encoder   数据对象 -> bytes payload逻辑
+     * @param batchSize 每批次flush的payload数, 小于等于0则表示由reactor netty决定flush时机(队列排空或者累积一定数量)
+     * @return complete signal, 所有数据对象write完成后complete
+     * @see #sendAll(Publisher, ObjectEncoder)
+     */
+    public <T> Mono<Void> sendAll(@Nonnull Publisher<T> objs, @Nonnull ObjectEncoder<T> encoder, int batchSize) {
+        if (!isActive()) {
+            return Mono.error(new TransportException("channel inactive, " + channel()));
+        }
+
+        Flux<ByteBufPayload> payloads = Flux.from(objs).map(obj -> {
+            ByteBufPayload outboundPayload = newOutboundPayload();
+            try {
+                encoder.encode(obj, outboundPayload);
+            } catch (Throwable t) {
+                outboundPayload.release();
+                throw t;
+            }
+            outboundPayload.touch(this);
+            return outboundPayload;
+        });
+
+        Predicate<Object> flushPredicate;
+        if (batchSize > 0) {
+            //仅在event loop中调用, 不需要原子操作
+            int[] written = new int[1];
+            flushPredicate = o -> ++written[0] % batchSize == 0;
+        } else {
+            flushPredicate = o -> false;
+        }
+        return connection.outbound().sendObject(payloads, flushPredicate).then();
+    }
+
+    /**
+     * send object on logical stream
+     *
+     * @param streamId 逻辑stream id
+     * @param encoder  数据对象 -> bytes payload逻辑
+     */
+    <T> Mono<Void> sendObject(int streamId, @Nonnull T obj, @Nonnull ObjectEncoder<T> encoder) {
+        ByteBufPayload outboundPayload = newOutboundPayload();
+        encoder.encode(obj, outboundPayload);
+        return send0(outboundPayload.streamId(streamId));
+    }
+
+    /**
+     * send bytebuf on logical stream
+     *
+     * @param streamId 逻辑stream id
+     * @param data     data
+     */
+    Mono<Void> send(int streamId, @Nonnull ByteBuf data) {
+        return send0(newOutboundPayload(data).streamId(streamId));
+    }
+
+    /**
+     * 开启新的逻辑stream, 需开启多路复用{@link AdvancedTransport#multiplexing()}
+     * 不同stream的payload会被拆分成分片后轮流写出, 大数据内容不会阻塞其他stream的小数据内容
+     * stream id仅在发送方向唯一, 对端可以通过{@link ByteBufPayload#getStreamId()}和{@link #stream(int)}在同一stream上回复
+     *
+     * @return 逻辑stream
+     */
+    public SessionStream openStream() {
+        int streamId;
+        do {
+            streamId = streamIdGenerator.incrementAndGet() & Integer.MAX_VALUE;
+        } while (streamId == Protocols.DEFAULT_STREAM_ID);
+        return stream(streamId);
+    }
+
+    /**
+     * 获取指定id的逻辑stream, 一般用于在接收payload的同一stream上回复
+     *
+     * @param streamId 逻辑stream id
+     * @return 逻辑stream
+     */
+    public SessionStream stream(int streamId) {
+        if (!options.isMultiplexing()) {
+            throw new TransportException("multiplexing is not enabled");
+        }
+        return new SessionStream(this, streamId);
+    }
+
+    /**
+     * send request, 并等待对端response, 需开启request/response{@link AdvancedTransport#requestResponse()}
+     * 对端通过{@link ByteBufPayload#getRequestId()}和{@link #reply(int, Object, ObjectEncoder)}回复
+     *
+     * @param encoder 数据对象 -> bytes payload逻辑
+     * @param decoder response bytes payload -> 数据对象逻辑
+     * @param timeout 等待response超时时间
+     * @return response signal, 超时则返回{@link java.util.concurrent.TimeoutException}, 收到response前connection断开则返回{@link TransportException}
+     */
+    public <T, R> Mono<R> request(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder,
+                                  @Nonnull ObjectDecoder<R> decoder, @Nonnull Duration timeout) {
+        if (!options.isRequestResponse()) {
+            return Mono.error(new TransportException("request response is not enabled"));
+        }
+
+        return Mono.create(sink -> {
+            //response由绑定channel的session接收, 故此datagram session view的request需注册到其owner
+            PendingRequests.PendingRequest<R> request = PendingRequests.register(Objects.nonNull(owner) ? owner : this, decoder, sink, timeout);
+            sink.onCancel(() -> request.fail(null));
+
+            ByteBufPayload outboundPayload;
+            try {
+                outboundPayload = newOutboundPayload();
+                encoder.encode(obj, outboundPayload);
+            } catch (Throwable t) {
+                request.fail(t);
+                return;
+            }
+            send0(outboundPayload.requestId(request.getId())).subscribe(null, request::fail);
+        });
+    }
+
+    /**
+     * 回复request
+     *
+     * @param requestId request id, 即{@link ByteBufPayload#getRequestId()}
+     * @param encoder   数据对象 -> bytes payload逻辑
+     */
+    public <T> Mono<Void> reply(int requestId, @Nonnull T obj, @Nonnull ObjectEncoder<T> encoder) {
+        if (!options.isRequestResponse()) {
+            return Mono.error(new TransportException("request response is not enabled"));
+        }
+        if (requestId == 0) {
+            return Mono.error(new TransportException("payload is not a request"));
+        }
+
+        ByteBufPayload outboundPayload = newOutboundPayload();
+        encoder.encode(obj, outboundPayload);
+        return send0(outboundPayload.response(requestId));
+    }
+
     /**
      * send
      *
-     * @param payload 保证底层bytebuf拥有(header(预占)+传输内容)bytes
+     * @param payload outbound payload
      */
     private Mono<Void> send0(@Nonnull ByteBufPayload payload) {
         if (!isActive()) {
+            if (Objects.nonNull(outbox) && !disposed) {
+                return buffer(payload);
+            }
             return Mono.error(new TransportException("channel inactive, " + channel()));
         }
 
@@ -154,6 +474,7 @@ public final class Session implements Disposable {
 
     /**
      * send bytebuf
+     * {@code data}仅包含传输内容, 发送时会额外分配协议头并与{@code data}组合发送, 不会copy{@code data}
      *
      * @param data data
      */
@@ -164,12 +485,16 @@ public final class Session implements Disposable {
     /**
      * send
      *
-     * @param payload 保证底层bytebuf拥有(header(预占)+传输内容)bytes
+     * @param payload outbound payload
      */
     private Mono<Void> send0(@Nonnull ByteBufPayload payload, @Nonnull ChannelOperationListener listener) {
         Mono<Void> result;
         if (!isActive()) {
-            result = Mono.error(new TransportException("channel inactive, " + channel()));
+            if (Objects.nonNull(outbox) && !disposed) {
+                result = buffer(payload);
+            } else {
+                result = Mono.error(new TransportException("channel inactive, " + channel()));
+            }
         } else {
             result = send1(payload);
         }
@@ -201,7 +526,7 @@ public final class Session implements Disposable {
     /**
      * send and close session
      *
-     * @param payload 保证底层bytebuf拥有(header(预占)+传输内容)bytes
+     * @param payload outbound payload
      */
     private Mono<Void> sendAndClose0(@Nonnull ByteBufPayload payload) {
         if (!isActive()) {
@@ -232,7 +557,15 @@ public final class Session implements Disposable {
         }
 
         this.disposed = true;
+        if (Objects.nonNull(owner)) {
+            //datagram session view不持有底层connection
+            return;
+        }
         connection.dispose();
+        if (Objects.nonNull(outbox)) {
+            outbox.clear(new TransportException("session disposed"));
+        }
+        writabilitySink.emitComplete(RetryNonSerializedEmitFailureHandler.RETRY_NON_SERIALIZED);
     }
 
     @Override
@@ -261,30 +594,37 @@ public final class Session implements Disposable {
     /**
      * 分配新的自适应大小的outbound bytebuf
      */
-    private ByteBufPayload newOutboundPayload() {
+    ByteBufPayload newOutboundPayload() {
         ByteBuf byteBuf = adaptiveHandle.allocate(alloc())
                 .ensureWritable(options.getHeaderSize())
                 .writerIndex(options.getHeaderSize());
-        return ByteBufPayload.create(byteBuf, adaptiveHandle);
+        return ByteBufPayload.create(byteBuf, adaptiveHandle).recipient(recipient);
     }
 
     /**
-     * 分配新的自适应大小的outbound bytebuf
+     * 包装仅包含传输内容的outbound bytebuf, 协议头由{@link ProtocolEncoder}额外分配
      *
      * @param data data
      */
     private ByteBufPayload newOutboundPayload(@Nonnull ByteBuf data) {
-        return ByteBufPayload.create(ByteBufUtils.rightShift(data, options.getHeaderSize()), adaptiveHandle);
+        return ByteBufPayload.create(data).recipient(recipient);
     }
 
     /**
      * {@link Channel#id()}
      */
     public String id() {
-        // 注意这里的id并不是全局唯一, 单节点中是唯一的
+        // 注意这里的id并不是全局唯一, 仅4字节随机数, 需要唯一id时, 使用longId()
         return channel().id().asShortText();
     }
 
+    /**
+     * {@link io.netty.channel.ChannelId#asLongText()}, 全局唯一
+     */
+    public String longId() {
+        return channel().id().asLongText();
+    }
+
     /**
      * {@link EventLoop#inEventLoop()}
      */
@@ -300,9 +640,12 @@ public final class Session implements Disposable {
     }
 
     /**
-     * {@link Channel#remoteAddress()}
+     * {@link Channel#remoteAddress()}, datagram session view则返回其对端地址
      */
     public SocketAddress remoteAddress() {
+        if (Objects.nonNull(recipient)) {
+            return recipient;
+        }
         return channel().remoteAddress();
     }
 
@@ -313,6 +656,13 @@ public final class Session implements Disposable {
         return channel().isWritable();
     }
 
+    /**
+     * {@link Channel#bytesBeforeUnwritable()}
+     */
+    public long bytesBeforeUnwritable() {
+        return channel().bytesBeforeUnwritable();
+    }
+
     /**
      * {@link ChannelConfig#isAutoRead()}
      */
@@ -328,7 +678,40 @@ public final class Session implements Disposable {
     }
 
     //getter
+    ProtocolOptions options() {
+        return options;
+    }
+
     public Connection connection() {
         return connection;
     }
+
+    @Nullable
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    IntObjectHashMap<PendingRequests.PendingRequest<?>> getPendingRequests() {
+        return pendingRequests;
+    }
+
+    //--------------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 监听channel可写状态变化, 并发布到{@link #writabilitySink}
+     */
+    private static class WritabilityHandler extends ChannelInboundHandlerAdapter {
+        /** 所属session */
+        private final Session session;
+
+        WritabilityHandler(Session session) {
+            this.session = session;
+        }
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+            session.emitWritability(ctx.channel().isWritable());
+            super.channelWritabilityChanged(ctx);
+        }
+    }
 }
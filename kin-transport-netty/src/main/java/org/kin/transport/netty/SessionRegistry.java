@@ -0,0 +1,142 @@
+package org.kin.transport.netty;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * server端session注册表, 按session id以及使用者自定义key索引session, session dispose时自动移除
+ * <p>
+ * 基于{@link ConcurrentHashMap}实现, 读不加锁, 写仅锁单个hash桶, 百万级session下竞争也很小
+ * 所有方法均可在任意线程调用, 遍历是弱一致的, 不会抛出{@link java.util.ConcurrentModificationException}
+ * <p>
+ * {@link Session#id()}是channel id的short text, 仅4字节随机数, 百万级session下可能冲突, 故此以{@link Session#longId()}索引
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class SessionRegistry {
+    /** key -> {@link Session#longId()} */
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>(1024);
+    /** key -> 使用者自定义key */
+    private final ConcurrentHashMap<Object, Session> keyedSessions = new ConcurrentHashMap<>();
+    /** session绑定的自定义key, 用于session移除时解绑, 仅绑定过自定义key的session存在, key -> {@link Session#longId()} */
+    private final ConcurrentHashMap<String, Set<Object>> sessionKeys = new ConcurrentHashMap<>();
+
+    /**
+     * 注册session, session底层连接断开时自动移除
+     */
+    void register(Session session) {
+        sessions.put(session.longId(), session);
+        session.connection().onDispose(() -> unregister(session));
+    }
+
+    /**
+     * 移除session, 以及其绑定的所有自定义key
+     */
+    private void unregister(Session session) {
+        String id = session.longId();
+        sessions.remove(id, session);
+        Set<Object> keys = sessionKeys.remove(id);
+        if (Objects.nonNull(keys)) {
+            for (Object key : keys) {
+                keyedSessions.remove(key, session);
+            }
+        }
+    }
+
+    /**
+     * 绑定自定义key, 比如user id, 一个session可以绑定多个key, 同一key仅能绑定一个session
+     *
+     * @param key     自定义key
+     * @param session 已注册的session
+     * @return key之前绑定的session
+     */
+    @Nullable
+    public Session bind(@Nonnull Object key, @Nonnull Session session) {
+        String id = session.longId();
+        sessionKeys.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(key);
+        Session old = keyedSessions.put(key, session);
+        if (Objects.nonNull(old) && old != session) {
+            Set<Object> oldKeys = sessionKeys.get(old.longId());
+            if (Objects.nonNull(oldKeys)) {
+                oldKeys.remove(key);
+            }
+        }
+
+        if (sessions.get(id) != session) {
+            //session未注册或者绑定期间已移除, 回滚
+            keyedSessions.remove(key, session);
+            sessionKeys.remove(id);
+            throw new TransportException(String.format("session is not registered or has been removed, %s", session.channel()));
+        }
+        return old;
+    }
+
+    /**
+     * 解绑自定义key
+     *
+     * @param key 自定义key
+     * @return key绑定的session
+     */
+    @Nullable
+    public Session unbind(@Nonnull Object key) {
+        Session session = keyedSessions.remove(key);
+        if (Objects.nonNull(session)) {
+            Set<Object> keys = sessionKeys.get(session.longId());
+            if (Objects.nonNull(keys)) {
+                keys.remove(key);
+            }
+        }
+        return session;
+    }
+
+    /**
+     * 根据{@link Session#longId()}获取session
+     */
+    @Nullable
+    public Session get(@Nonnull String longId) {
+        return sessions.get(longId);
+    }
+
+    /**
+     * 根据自定义key获取session
+     */
+    @Nullable
+    public Session getByKey(@Nonnull Object key) {
+        return keyedSessions.get(key);
+    }
+
+    /**
+     * 遍历所有session, 弱一致
+     */
+    public void forEach(@Nonnull Consumer<Session> action) {
+        sessions.values().forEach(action);
+    }
+
+    /**
+     * 所有session的只读视图, 弱一致
+     */
+    public Collection<Session> sessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    /**
+     * 已注册的session数
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * 已绑定的自定义key数
+     */
+    public int keySize() {
+        return keyedSessions.size();
+    }
+}
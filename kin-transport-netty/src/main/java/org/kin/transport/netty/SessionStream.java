@@ -0,0 +1,53 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnull;
+
+/**
+ * {@link Session}上的逻辑stream, 同一stream的payload按发送顺序到达
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ * @see Session#openStream()
+ */
+public final class SessionStream {
+    /** 所属session */
+    private final Session session;
+    /** stream id */
+    private final int id;
+
+    SessionStream(Session session, int id) {
+        this.session = session;
+        this.id = id;
+    }
+
+    /**
+     * send object
+     *
+     * @param encoder 数据对象 -> bytes payload逻辑
+     */
+    public <T> Mono<Void> sendObject(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder) {
+        return session.sendObject(id, obj, encoder);
+    }
+
+    /**
+     * send bytebuf
+     * {@code data}仅包含传输内容, 发送时会额外分配协议头并与{@code data}组合发送, 不会copy{@code data}
+     *
+     * @param data data
+     */
+    public Mono<Void> send(@Nonnull ByteBuf data) {
+        return session.send(id, data);
+    }
+
+    //getter
+    public Session session() {
+        return session;
+    }
+
+    public int id() {
+        return id;
+    }
+}
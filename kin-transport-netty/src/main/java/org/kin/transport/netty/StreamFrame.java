@@ -0,0 +1,30 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * 开启多路复用时, {@link ProtocolEncoder}输出的完整协议, 附带所属逻辑stream id, 供{@link StreamScheduler}调度
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+final class StreamFrame {
+    /** 所属逻辑stream id */
+    private final int streamId;
+    /** 完整协议bytebuf */
+    private final ByteBuf protocol;
+
+    StreamFrame(int streamId, ByteBuf protocol) {
+        this.streamId = streamId;
+        this.protocol = protocol;
+    }
+
+    //getter
+    int getStreamId() {
+        return streamId;
+    }
+
+    ByteBuf getProtocol() {
+        return protocol;
+    }
+}
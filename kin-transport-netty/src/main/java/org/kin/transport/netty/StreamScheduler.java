@@ -0,0 +1,187 @@
+package org.kin.transport.netty;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.PendingWriteQueue;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+
+/**
+ * 多路复用时, 对不同逻辑stream的协议进行公平调度
+ * <p>
+ * 每个stream一个待写出协议队列, flush时, 按轮询的方式每次从一个stream队列取一个协议写出, 直到写出bytes超过高水位线,
+ * 待已写出协议完成后, 再继续写出. 因此大数据内容的分片不会阻塞其他stream的小数据内容, 单个stream内协议顺序不变
+ * 队列中的协议bytes计入channel可写状态, 故此生产过快时channel会变为不可写, 不会无限积压
+ * 非{@link StreamFrame}的outbound消息视为属于{@link Protocols#DEFAULT_STREAM_ID}
+ * <p>
+ * 需添加到{@link ProtocolEncoder}之前(即更靠近pipeline head), 每个channel一个实例
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class StreamScheduler extends ChannelDuplexHandler {
+    /** key -> stream id, value -> 该stream待写出的协议队列 */
+    private final IntObjectMap<StreamQueue> queues = new IntObjectHashMap<>();
+    /** 存在待写出协议的stream队列, 按轮询顺序排列 */
+    private final ArrayDeque<StreamQueue> activeQueues = new ArrayDeque<>();
+    /** 所有stream队列中待写出协议的bytes, 已计入channel outbound buffer的pending bytes */
+    private long queuedBytes;
+    /** 是否正在drain, 写出协议时会减少pending bytes, 可能同步触发{@link #channelWritabilityChanged(ChannelHandlerContext)}, 避免重入 */
+    private boolean draining;
+    /** 是否已监听最后写出协议的完成, 完成后继续drain */
+    private boolean resumeScheduled;
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        int streamId = Protocols.DEFAULT_STREAM_ID;
+        Object protocol = msg;
+        if (msg instanceof StreamFrame) {
+            StreamFrame frame = (StreamFrame) msg;
+            streamId = frame.getStreamId();
+            protocol = frame.getProtocol();
+        }
+
+        StreamQueue queue = queues.get(streamId);
+        if (Objects.isNull(queue)) {
+            queue = new StreamQueue(streamId, ctx);
+            queues.put(streamId, queue);
+            activeQueues.add(queue);
+        }
+        queuedBytes += queue.add(protocol, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        drain(ctx);
+        ctx.flush();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (!draining && ctx.channel().isWritable() && !activeQueues.isEmpty()) {
+            drain(ctx);
+            ctx.flush();
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        TransportException cause = new TransportException("channel closed before protocol written, " + ctx.channel());
+        for (StreamQueue queue : activeQueues) {
+            queue.fail(cause);
+        }
+        activeQueues.clear();
+        queues.clear();
+        queuedBytes = 0;
+    }
+
+    /**
+     * 轮询写出各stream队列的协议, 直到已交给channel outbound buffer的bytes超过高水位线或者所有队列为空
+     * <p>
+     * 队列中的协议bytes已计入channel outbound buffer的pending bytes(与netty {@link PendingWriteQueue}一致), 积压时channel不可写,
+     * 故此不能以{@link io.netty.channel.Channel#isWritable()}判断是否继续写出, 而是扣除队列中的bytes后再与高水位线比较.
+     * 因为队列积压的bytes可能一直高于低水位线, channel不会恢复可写, 所以停止写出时, 监听最后写出协议的完成, 完成后继续drain
+     */
+    private void drain(ChannelHandlerContext ctx) {
+        ChannelOutboundBuffer outboundBuffer = ctx.channel().unsafe().outboundBuffer();
+        if (Objects.isNull(outboundBuffer)) {
+            //channel已关闭, 由handlerRemoved释放
+            return;
+        }
+
+        long highWaterMark = ctx.channel().config().getWriteBufferHighWaterMark();
+        draining = true;
+        try {
+            ChannelFuture lastWrite = null;
+            while (!activeQueues.isEmpty()) {
+                long writtenBytes = outboundBuffer.totalPendingWriteBytes() - queuedBytes;
+                //至少写出一个协议, 保证有协议可监听
+                if (writtenBytes >= highWaterMark && (Objects.nonNull(lastWrite) || resumeScheduled)) {
+                    break;
+                }
+
+                StreamQueue queue = activeQueues.poll();
+                long bytes = queue.bytes();
+                lastWrite = queue.writeOne(ctx);
+                queuedBytes -= bytes - queue.bytes();
+                if (queue.isEmpty()) {
+                    queues.remove(queue.streamId);
+                } else {
+                    //排到队尾, 等待下一轮
+                    activeQueues.add(queue);
+                }
+            }
+
+            if (!activeQueues.isEmpty() && Objects.nonNull(lastWrite)) {
+                resumeScheduled = true;
+                lastWrite.addListener(f -> {
+                    resumeScheduled = false;
+                    if (!activeQueues.isEmpty()) {
+                        drain(ctx);
+                        ctx.flush();
+                    }
+                });
+            }
+        } finally {
+            draining = false;
+        }
+    }
+
+    //--------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 单个stream待写出的协议队列
+     */
+    private static final class StreamQueue {
+        /** stream id */
+        private final int streamId;
+        /** 待写出协议及其promise, 其bytes计入channel outbound buffer的pending bytes */
+        private final PendingWriteQueue protocols;
+
+        StreamQueue(int streamId, ChannelHandlerContext ctx) {
+            this.streamId = streamId;
+            this.protocols = new PendingWriteQueue(ctx);
+        }
+
+        /**
+         * @return 协议bytes
+         */
+        long add(Object protocol, ChannelPromise promise) {
+            long bytes = protocols.bytes();
+            protocols.add(protocol, promise);
+            return protocols.bytes() - bytes;
+        }
+
+        /**
+         * 写出队首协议
+         *
+         * @return 可监听的write future, void promise则替换成非void promise
+         */
+        ChannelFuture writeOne(ChannelHandlerContext ctx) {
+            Object protocol = ReferenceCountUtil.retain(protocols.current());
+            //移除时会release协议一次, 故此先retain
+            ChannelPromise promise = protocols.remove();
+            return ctx.write(protocol, promise.isVoid() ? promise.unvoid() : promise);
+        }
+
+        boolean isEmpty() {
+            return protocols.isEmpty();
+        }
+
+        long bytes() {
+            return protocols.bytes();
+        }
+
+        void fail(Throwable cause) {
+            protocols.removeAndFailAll(cause);
+        }
+    }
+}
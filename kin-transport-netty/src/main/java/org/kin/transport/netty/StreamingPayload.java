@@ -0,0 +1,32 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import reactor.core.publisher.Flux;
+
+/**
+ * 以流的方式接收的分片数据内容, 由协议解析器在接收到首个分片时创建
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ * @see StreamingPayloadProcessor
+ */
+public final class StreamingPayload {
+    /** 所属逻辑stream id */
+    private final int streamId;
+    /** 分片数据内容 */
+    private final Flux<ByteBuf> fragments;
+
+    StreamingPayload(int streamId, Flux<ByteBuf> fragments) {
+        this.streamId = streamId;
+        this.fragments = fragments;
+    }
+
+    //getter
+    public int getStreamId() {
+        return streamId;
+    }
+
+    public Flux<ByteBuf> fragments() {
+        return fragments;
+    }
+}
@@ -0,0 +1,27 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 支持以流的方式处理分片数据内容的payload逻辑处理
+ * 需配合{@link AdvancedTransport#fragmentation(int)}使用, 未分片的payload仍然交给{@link #process(Session, ByteBufPayload)}处理
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public interface StreamingPayloadProcessor extends PayloadProcessor {
+    /**
+     * 分片数据内容逻辑处理
+     * 分片按发送顺序emit, 所有分片接收完成后complete, 连接断开则error
+     * 该方法在netty channel event loop执行, 但{@code fragments}的分片可能在其他线程emit
+     * !!!!注意, 记住处理分片后, 要调用{@link ByteBuf#release()}, 释放引用
+     * 未处理的分片会积压在内存中, 积压到一定数量后, 会暂停读取该连接数据, 直到积压分片被消费
+     *
+     * @param session   channel session
+     * @param fragments 分片数据内容
+     * @return complete signal
+     */
+    Mono<Void> process(Session session, Flux<ByteBuf> fragments);
+}
@@ -0,0 +1,211 @@
+package org.kin.transport.netty.cluster;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import org.kin.transport.netty.*;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.Function;
+
+/**
+ * 集群client, 每个节点对应一个{@link Client}, 每次send按{@link EndpointSelector}选择一个健康节点
+ * 节点断连或者连接失败时被摘除, 由{@link Client}自动重连, 重连成功后恢复
+ * 所有节点都被摘除时, 轮询选择节点, 由{@link Client}决定等待连接建立或者直接失败
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class ClusterClient<C extends Client<C, ?>> implements Disposable {
+    /** 集群节点 */
+    private final List<Endpoint<C>> endpoints;
+    /** 节点选择策略 */
+    private final EndpointSelector selector;
+    /** 所有节点都被摘除时, 轮询选择节点 */
+    private final AtomicInteger fallbackCounter = new AtomicInteger();
+    /** 已有延迟样本的节点的延迟EWMA之和, 纳秒 */
+    private final DoubleAdder latencyEwmaSum = new DoubleAdder();
+    /** 已有延迟样本的节点数 */
+    private final AtomicInteger sampledEndpoints = new AtomicInteger();
+    /** 集群client是否closed */
+    private volatile boolean disposed;
+
+    /**
+     * @param clients  未connect的client, 其transport observer必须是{@code observer}
+     * @param selector 节点选择策略
+     * @param observer 维护节点健康状态
+     */
+    public ClusterClient(List<C> clients, EndpointSelector selector, ClusterClientObserver<C> observer) {
+        Preconditions.checkArgument(!clients.isEmpty(), "clients must be not empty");
+        Preconditions.checkNotNull(selector, "endpoint selector must be not null");
+        List<Endpoint<C>> endpoints = new ArrayList<>(clients.size());
+        for (C client : clients) {
+            Endpoint<C> endpoint = new Endpoint<>(client, this);
+            observer.register(endpoint);
+            endpoints.add(endpoint);
+        }
+        this.endpoints = Collections.unmodifiableList(endpoints);
+        this.selector = selector;
+    }
+
+    /**
+     * 所有节点connect
+     *
+     * @return this
+     */
+    public ClusterClient<C> connect() {
+        for (Endpoint<C> endpoint : endpoints) {
+            endpoint.getClient().connect();
+        }
+        return this;
+    }
+
+    /**
+     * 节点延迟EWMA变化时调用, 维护集群平均延迟EWMA
+     *
+     * @param prev 变化前的延迟EWMA, 0表示此前没有样本
+     * @param next 变化后的延迟EWMA, 0表示已重置
+     */
+    void onLatencyEwmaChanged(double prev, double next) {
+        latencyEwmaSum.add(next - prev);
+        if (prev == 0 && next != 0) {
+            sampledEndpoints.incrementAndGet();
+        } else if (prev != 0 && next == 0) {
+            sampledEndpoints.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return 已有延迟样本的节点的平均延迟EWMA, 纳秒, 所有节点都没有样本时返回0
+     */
+    double getMeanLatencyEwma() {
+        int sampled = sampledEndpoints.get();
+        if (sampled <= 0) {
+            return 0;
+        }
+        return Math.max(latencyEwmaSum.sum() / sampled, 0);
+    }
+
+    /**
+     * 选择节点
+     */
+    private Endpoint<C> select() {
+        List<Endpoint<C>> healthyEndpoints = new ArrayList<>(endpoints.size());
+        for (Endpoint<C> endpoint : endpoints) {
+            if (endpoint.isHealthy()) {
+                healthyEndpoints.add(endpoint);
+            }
+        }
+
+        if (healthyEndpoints.isEmpty()) {
+            return endpoints.get((fallbackCounter.getAndIncrement() & Integer.MAX_VALUE) % endpoints.size());
+        }
+        return selector.select(Collections.unmodifiableList(healthyEndpoints));
+    }
+
+    /**
+     * 选择节点并执行send逻辑, 同时统计节点正在发送的请求数和延迟
+     *
+     * @param action send逻辑
+     */
+    private <R> Mono<R> route(Function<C, Mono<R>> action) {
+        return Mono.defer(() -> {
+            if (disposed) {
+                return Mono.error(new TransportException("cluster client disposed"));
+            }
+
+            Endpoint<C> endpoint = select();
+            endpoint.onStart();
+            long startTime = System.nanoTime();
+            return action.apply(endpoint.getClient())
+                    .doOnSuccess(r -> endpoint.record(System.nanoTime() - startTime))
+                    .doFinally(s -> endpoint.onComplete());
+        });
+    }
+
+    /**
+     * send payload, 如果失败, 则丢失
+     *
+     * @param encoder 数据对象 -> bytes payload逻辑
+     * @return complete signal
+     */
+    public <T> Mono<Void> sendObject(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder) {
+        return route(c -> c.sendObject(obj, encoder));
+    }
+
+    /**
+     * send payload, 如果失败, 则丢失
+     *
+     * @param encoder  数据对象 -> bytes payload逻辑
+     * @param listener netty channel operation callback
+     * @return complete signal
+     */
+    public <T> Mono<Void> sendObject(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder,
+                                     @Nonnull ChannelOperationListener listener) {
+        return route(c -> c.sendObject(obj, encoder, listener));
+    }
+
+    /**
+     * 批量send payload, 所有payload都发送到同一节点, 如果失败, 则丢失
+     *
+     * @param encoder 数据对象 -> bytes payload逻辑
+     * @return complete signal
+     * @see Session#sendAll(Publisher, ObjectEncoder)
+     */
+    public <T> Mono<Void> sendAll(@Nonnull Publisher<T> objs, @Nonnull ObjectEncoder<T> encoder) {
+        return route(c -> c.sendAll(objs, encoder));
+    }
+
+    /**
+     * send bytebuf, 如果失败, 则丢失
+     *
+     * @return complete signal
+     */
+    public Mono<Void> send(@Nonnull ByteBuf byteBuf) {
+        return route(c -> c.send(byteBuf));
+    }
+
+    /**
+     * send request, 并等待对端response, 节点延迟即request往返时间
+     *
+     * @see Session#request(Object, ObjectEncoder, ObjectDecoder, Duration)
+     */
+    public <T, R> Mono<R> request(@Nonnull T obj, @Nonnull ObjectEncoder<T> encoder,
+                                  @Nonnull ObjectDecoder<R> decoder, @Nonnull Duration timeout) {
+        return route(c -> c.request(obj, encoder, decoder, timeout));
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+
+        disposed = true;
+        for (Endpoint<C> endpoint : endpoints) {
+            endpoint.getClient().dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    //getter
+    public List<Endpoint<C>> getEndpoints() {
+        return endpoints;
+    }
+
+    public EndpointSelector getSelector() {
+        return selector;
+    }
+}
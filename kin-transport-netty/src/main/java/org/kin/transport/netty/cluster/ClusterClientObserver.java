@@ -0,0 +1,98 @@
+package org.kin.transport.netty.cluster;
+
+import io.netty.handler.timeout.IdleStateEvent;
+import org.kin.transport.netty.Client;
+import org.kin.transport.netty.ClientObserver;
+import org.kin.transport.netty.Session;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 根据client连接状态变化摘除或者恢复集群节点, 然后再委托给使用者自定义的{@link ClientObserver}
+ * 断连或者连接失败时摘除节点, 连接或者重连成功后恢复
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class ClusterClientObserver<C extends Client<C, ?>> implements ClientObserver<C> {
+    /** 使用者自定义的{@link ClientObserver} */
+    private final ClientObserver delegate;
+    /** key -> client, value -> 集群节点 */
+    private final Map<C, Endpoint<C>> endpoints = new ConcurrentHashMap<>();
+
+    public ClusterClientObserver(ClientObserver delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 注册集群节点, 需在client connect之前注册
+     */
+    void register(Endpoint<C> endpoint) {
+        endpoints.put(endpoint.getClient(), endpoint);
+    }
+
+    /**
+     * 更新集群节点健康状态
+     */
+    private void healthy(C client, boolean healthy) {
+        Endpoint<C> endpoint = endpoints.get(client);
+        if (Objects.nonNull(endpoint)) {
+            endpoint.healthy(healthy);
+        }
+    }
+
+    @Override
+    public void onExceptionCaught(Session session, Throwable cause) {
+        delegate.onExceptionCaught(session, cause);
+    }
+
+    @Override
+    public void onIdle(Session session, IdleStateEvent event) {
+        delegate.onIdle(session, event);
+    }
+
+    @Override
+    public void onUserEventTriggered(Session session, Object event) {
+        delegate.onUserEventTriggered(session, event);
+    }
+
+    @Override
+    public void onConnected(C client, Session session) {
+        healthy(client, true);
+        delegate.onConnected(client, session);
+    }
+
+    @Override
+    public void onConnectFail(C client, Throwable cause) {
+        healthy(client, false);
+        delegate.onConnectFail(client, cause);
+    }
+
+    @Override
+    public void onReconnected(C client, Session session) {
+        healthy(client, true);
+        delegate.onReconnected(client, session);
+    }
+
+    @Override
+    public void onDisconnected(C client, Session oldSession) {
+        healthy(client, false);
+        delegate.onDisconnected(client, oldSession);
+    }
+
+    @Override
+    public void onDisposed(C client, @Nullable Session session) {
+        healthy(client, false);
+        endpoints.remove(client);
+        delegate.onDisposed(client, session);
+    }
+
+    //getter
+    public ClientObserver getDelegate() {
+        return delegate;
+    }
+}
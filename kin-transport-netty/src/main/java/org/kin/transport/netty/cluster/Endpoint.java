@@ -0,0 +1,146 @@
+package org.kin.transport.netty.cluster;
+
+import com.google.common.base.Preconditions;
+import org.kin.transport.netty.Client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 集群节点, 维护节点的健康状态, 正在发送的请求数以及延迟EWMA
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class Endpoint<C extends Client<C, ?>> {
+    /** EWMA平滑系数, 越大越偏向最近的延迟 */
+    private static final double ALPHA = 0.2;
+
+    /** 节点client */
+    private final C client;
+    /** 所属集群client, 用于获取集群平均延迟EWMA */
+    private final ClusterClient<C> cluster;
+    /** 节点权重, 权重越大, 被选中概率越大 */
+    private volatile int weight = 1;
+    /** 是否健康, 断连或者连接失败时被摘除, 重连成功后恢复 */
+    private volatile boolean healthy;
+    /** 正在发送(还未complete)的请求数 */
+    private final AtomicInteger pending = new AtomicInteger();
+    /** 延迟EWMA, 纳秒, double bits, 0表示还没有样本 */
+    private final AtomicLong latencyEwma = new AtomicLong(Double.doubleToRawLongBits(0));
+
+    Endpoint(C client, ClusterClient<C> cluster) {
+        this.client = client;
+        this.cluster = cluster;
+    }
+
+    /**
+     * 开始发送请求
+     */
+    void onStart() {
+        pending.incrementAndGet();
+    }
+
+    /**
+     * 请求complete
+     */
+    void onComplete() {
+        pending.decrementAndGet();
+    }
+
+    /**
+     * 记录延迟样本
+     *
+     * @param latencyNanos 延迟, 纳秒
+     */
+    void record(long latencyNanos) {
+        long prevBits;
+        double prev;
+        double next;
+        do {
+            prevBits = latencyEwma.get();
+            prev = Double.longBitsToDouble(prevBits);
+            next = prev == 0 ? Math.max(latencyNanos, 1) : prev + ALPHA * (latencyNanos - prev);
+        } while (!latencyEwma.compareAndSet(prevBits, Double.doubleToRawLongBits(next)));
+        cluster.onLatencyEwmaChanged(prev, next);
+    }
+
+    /**
+     * 重置延迟EWMA, 即丢弃已有样本
+     */
+    private void resetLatencyEwma() {
+        double prev = Double.longBitsToDouble(latencyEwma.getAndSet(Double.doubleToRawLongBits(0)));
+        if (prev != 0) {
+            cluster.onLatencyEwmaChanged(prev, 0);
+        }
+    }
+
+    /**
+     * 节点负载评分, 越小越空闲
+     * 即(正在发送的请求数 + 1) * 延迟EWMA / 权重
+     * 还没有延迟样本(新节点或者刚恢复健康的节点)时, 以集群平均延迟EWMA代替, 集群也没有样本时, 即(正在发送的请求数 + 1) / 权重,
+     * 避免无样本节点在首个请求complete前被选中所有请求
+     */
+    public double score() {
+        double latency = getLatencyEwma();
+        if (latency == 0) {
+            latency = cluster.getMeanLatencyEwma();
+        }
+        if (latency == 0) {
+            latency = 1;
+        }
+        return (pending.get() + 1) * latency / weight;
+    }
+
+    void healthy(boolean healthy) {
+        if (healthy && !this.healthy) {
+            //恢复健康, 摘除前的延迟样本已过时, 重新采样
+            resetLatencyEwma();
+        }
+        this.healthy = healthy;
+    }
+
+    /**
+     * 设置节点权重
+     */
+    public Endpoint<C> weight(int weight) {
+        Preconditions.checkArgument(weight > 0, "weight must be greater than 0");
+        this.weight = weight;
+        return this;
+    }
+
+    //getter
+    public C getClient() {
+        return client;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * 延迟EWMA, 纳秒
+     */
+    public double getLatencyEwma() {
+        return Double.longBitsToDouble(latencyEwma.get());
+    }
+
+    @Override
+    public String toString() {
+        return "Endpoint{" +
+                "client=" + client +
+                ", weight=" + weight +
+                ", healthy=" + healthy +
+                ", pending=" + pending.get() +
+                ", latencyEwma=" + getLatencyEwma() +
+                '}';
+    }
+}
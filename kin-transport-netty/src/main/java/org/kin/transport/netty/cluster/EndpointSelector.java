@@ -0,0 +1,26 @@
+package org.kin.transport.netty.cluster;
+
+import org.kin.transport.netty.Client;
+
+import java.util.List;
+
+/**
+ * 集群节点选择策略
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public interface EndpointSelector {
+    /** 加权最少请求, 选择{@link Endpoint#score()}最小的节点, O(N) */
+    EndpointSelector LEAST_PENDING = new LeastPendingSelector();
+    /** power of two choices, 随机选择两个节点, 再取{@link Endpoint#score()}较小的一个, O(1) */
+    EndpointSelector POWER_OF_TWO_CHOICES = new PowerOfTwoChoicesSelector();
+
+    /**
+     * 选择节点
+     *
+     * @param endpoints 候选节点, 至少包含一个元素, 不可修改
+     * @return 选中的节点
+     */
+    <C extends Client<C, ?>> Endpoint<C> select(List<Endpoint<C>> endpoints);
+}
@@ -0,0 +1,31 @@
+package org.kin.transport.netty.cluster;
+
+import org.kin.transport.netty.Client;
+
+import java.util.List;
+
+/**
+ * 加权最少请求
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+final class LeastPendingSelector implements EndpointSelector {
+    LeastPendingSelector() {
+    }
+
+    @Override
+    public <C extends Client<C, ?>> Endpoint<C> select(List<Endpoint<C>> endpoints) {
+        Endpoint<C> selected = endpoints.get(0);
+        double minScore = selected.score();
+        for (int i = 1; i < endpoints.size(); i++) {
+            Endpoint<C> endpoint = endpoints.get(i);
+            double score = endpoint.score();
+            if (score < minScore) {
+                selected = endpoint;
+                minScore = score;
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,33 @@
+package org.kin.transport.netty.cluster;
+
+import org.kin.transport.netty.Client;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * power of two choices
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+final class PowerOfTwoChoicesSelector implements EndpointSelector {
+    PowerOfTwoChoicesSelector() {
+    }
+
+    @Override
+    public <C extends Client<C, ?>> Endpoint<C> select(List<Endpoint<C>> endpoints) {
+        int size = endpoints.size();
+        if (size == 1) {
+            return endpoints.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        //保证两次选择不同
+        int second = (first + 1 + random.nextInt(size - 1)) % size;
+        Endpoint<C> a = endpoints.get(first);
+        Endpoint<C> b = endpoints.get(second);
+        return a.score() <= b.score() ? a : b;
+    }
+}
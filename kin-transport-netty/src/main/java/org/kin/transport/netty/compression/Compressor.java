@@ -0,0 +1,34 @@
+package org.kin.transport.netty.compression;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * 协议数据内容压缩
+ * 通信双方必须配置相同的实现
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public interface Compressor {
+    /** 基于jdk {@link java.util.zip.Deflater}实现 */
+    Compressor DEFLATE = new DeflateCompressor();
+    /** 基于netty {@link io.netty.handler.codec.compression.Snappy}实现, 压缩率不如deflate, 但速度更快 */
+    Compressor SNAPPY = new SnappyCompressor();
+
+    /**
+     * 压缩{@code in}全部可读bytes, 并写入{@code out}
+     *
+     * @param in  待压缩数据
+     * @param out 压缩结果, 一般是pooled direct bytebuf
+     */
+    void compress(ByteBuf in, ByteBuf out);
+
+    /**
+     * 解压{@code in}全部可读bytes, 并写入{@code out}
+     *
+     * @param in           压缩数据
+     * @param out          解压结果, 一般是pooled direct bytebuf, 已预留{@code originalSize}可写bytes
+     * @param originalSize 原始数据大小
+     */
+    void decompress(ByteBuf in, ByteBuf out, int originalSize);
+}
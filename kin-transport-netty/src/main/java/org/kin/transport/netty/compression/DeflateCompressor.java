@@ -0,0 +1,147 @@
+package org.kin.transport.netty.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.FastThreadLocal;
+import org.kin.transport.netty.TransportException;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 基于jdk {@link Deflater}和{@link Inflater}的压缩实现
+ * jdk8的{@link Deflater}仅支持byte[], 故此非heap bytebuf按块copy到线程本地byte[]后再输入, 压缩结果同样经过线程本地byte[]写入{@code out},
+ * 整个过程不会分配与数据内容等大的byte[]
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class DeflateCompressor implements Compressor {
+    /** 线程本地中转buffer大小 */
+    private static final int BUFFER_SIZE = 8 * 1024;
+    /** 线程本地{@link Deflater}, 创建{@link Deflater}开销较大, 故此复用 */
+    private static final FastThreadLocal<Deflater> DEFLATER = new FastThreadLocal<Deflater>() {
+        @Override
+        protected Deflater initialValue() {
+            return new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+
+        @Override
+        protected void onRemoval(Deflater deflater) {
+            deflater.end();
+        }
+    };
+    /** 线程本地{@link Inflater} */
+    private static final FastThreadLocal<Inflater> INFLATER = new FastThreadLocal<Inflater>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater(true);
+        }
+
+        @Override
+        protected void onRemoval(Inflater inflater) {
+            inflater.end();
+        }
+    };
+    /** 线程本地输入中转buffer, 非heap bytebuf分块copy到该buffer再压缩或解压 */
+    private static final FastThreadLocal<byte[]> INPUT_BUFFER = new FastThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[BUFFER_SIZE];
+        }
+    };
+    /** 线程本地输出中转buffer */
+    private static final FastThreadLocal<byte[]> OUTPUT_BUFFER = new FastThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[BUFFER_SIZE];
+        }
+    };
+
+    DeflateCompressor() {
+    }
+
+    @Override
+    public void compress(ByteBuf in, ByteBuf out) {
+        int length = in.readableBytes();
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+
+        byte[] output = OUTPUT_BUFFER.get();
+        if (in.hasArray()) {
+            deflater.setInput(in.array(), in.arrayOffset() + in.readerIndex(), length);
+        } else {
+            byte[] input = INPUT_BUFFER.get();
+            for (int index = in.readerIndex(), end = index + length; index < end; ) {
+                int chunkSize = Math.min(end - index, input.length);
+                in.getBytes(index, input, 0, chunkSize);
+                deflater.setInput(input, 0, chunkSize);
+                //消费完当前分块后, 才能复用输入中转buffer
+                while (!deflater.needsInput()) {
+                    out.writeBytes(output, 0, deflater.deflate(output));
+                }
+                index += chunkSize;
+            }
+        }
+        deflater.finish();
+
+        while (!deflater.finished()) {
+            out.writeBytes(output, 0, deflater.deflate(output));
+        }
+        in.skipBytes(length);
+    }
+
+    @Override
+    public void decompress(ByteBuf in, ByteBuf out, int originalSize) {
+        int length = in.readableBytes();
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+
+        byte[] output = OUTPUT_BUFFER.get();
+        try {
+            if (in.hasArray()) {
+                inflater.setInput(in.array(), in.arrayOffset() + in.readerIndex(), length);
+                inflate(inflater, output, out, originalSize);
+            } else {
+                byte[] input = INPUT_BUFFER.get();
+                for (int index = in.readerIndex(), end = index + length; index < end && !inflater.finished(); ) {
+                    int chunkSize = Math.min(end - index, input.length);
+                    in.getBytes(index, input, 0, chunkSize);
+                    inflater.setInput(input, 0, chunkSize);
+                    inflate(inflater, output, out, originalSize);
+                    index += chunkSize;
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new TransportException("malformed deflate body", e);
+        }
+        if (!inflater.finished()) {
+            throw new TransportException("truncated deflate body");
+        }
+        in.skipBytes(length);
+    }
+
+    /**
+     * 解压当前输入, 直到解压完成或者需要更多输入
+     *
+     * @param buffer       输出中转buffer
+     * @param originalSize 原始数据大小, 解压结果不能超过该值
+     */
+    private static void inflate(Inflater inflater, byte[] buffer, ByteBuf out, int originalSize) throws DataFormatException {
+        while (!inflater.finished()) {
+            int read = inflater.inflate(buffer);
+            if (read == 0) {
+                if (inflater.needsInput()) {
+                    return;
+                }
+                if (inflater.needsDictionary()) {
+                    throw new TransportException("deflate body requires preset dictionary");
+                }
+            }
+            if (out.readableBytes() + read > originalSize) {
+                throw new TransportException(String.format("inflated body size is bigger than original size(%d)", originalSize));
+            }
+            out.writeBytes(buffer, 0, read);
+        }
+    }
+}
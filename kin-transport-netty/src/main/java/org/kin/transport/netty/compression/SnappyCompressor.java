@@ -0,0 +1,59 @@
+package org.kin.transport.netty.compression;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.compression.Snappy;
+import org.kin.transport.netty.TransportException;
+import org.kin.transport.netty.utils.VarIntUtils;
+
+/**
+ * 基于netty {@link Snappy}的压缩实现, 直接操作bytebuf, 不需要额外的byte[] copy
+ * <p>
+ * {@link Snappy}单次最多仅支持编码{@link Short#MAX_VALUE}bytes, 故此数据会被拆分成多个block压缩,
+ * 每个block格式为: block压缩后长度(变长int) + snappy压缩数据
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class SnappyCompressor implements Compressor {
+    /** 单个block最大原始数据长度 */
+    private static final int MAX_BLOCK_SIZE = Short.MAX_VALUE;
+
+    SnappyCompressor() {
+    }
+
+    @Override
+    public void compress(ByteBuf in, ByteBuf out) {
+        //Snappy非线程安全, 且实例仅包含少量状态, 故此每次压缩创建新实例
+        Snappy snappy = new Snappy();
+        while (in.isReadable()) {
+            int blockSize = Math.min(in.readableBytes(), MAX_BLOCK_SIZE);
+            //预留block压缩后长度
+            int lengthIndex = out.writerIndex();
+            out.writeMedium(0);
+            snappy.encode(in.readSlice(blockSize), out, blockSize);
+            snappy.reset();
+
+            int compressedBlockSize = out.writerIndex() - lengthIndex - 3;
+            //block压缩后长度不超过2^21, 固定使用3字节变长int
+            out.setByte(lengthIndex, compressedBlockSize & 0x7F | 0x80);
+            out.setByte(lengthIndex + 1, compressedBlockSize >>> 7 & 0x7F | 0x80);
+            out.setByte(lengthIndex + 2, compressedBlockSize >>> 14 & 0x7F);
+        }
+    }
+
+    @Override
+    public void decompress(ByteBuf in, ByteBuf out, int originalSize) {
+        Snappy snappy = new Snappy();
+        while (in.isReadable()) {
+            int compressedBlockSize = VarIntUtils.readRawVarInt32(in);
+            if (compressedBlockSize < 0 || compressedBlockSize > in.readableBytes()) {
+                throw new TransportException("malformed snappy body");
+            }
+            snappy.decode(in.readSlice(compressedBlockSize), out);
+            snappy.reset();
+            if (out.readableBytes() > originalSize) {
+                throw new TransportException(String.format("decompressed body size is bigger than original size(%d)", originalSize));
+            }
+        }
+    }
+}
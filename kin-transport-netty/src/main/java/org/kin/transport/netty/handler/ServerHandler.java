@@ -91,5 +91,7 @@ public class ServerHandler extends ChannelInboundHandlerAdapter {
 
             config.setAutoRead(true);
         }
+        //传递给后续handler, 比如session可写状态监听handler
+        ctx.fireChannelWritabilityChanged();
     }
 }
\ No newline at end of file
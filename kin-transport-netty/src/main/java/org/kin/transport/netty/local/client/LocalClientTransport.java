@@ -0,0 +1,61 @@
+package org.kin.transport.netty.local.client;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import org.kin.framework.utils.StringUtils;
+import org.kin.transport.netty.AdvancedClientTransport;
+import org.kin.transport.netty.ChannelLoopResources;
+import reactor.netty.tcp.TcpClient;
+
+/**
+ * 创建{@link LocalClient}入口
+ * 基于netty local channel, 仅用于连接同一jvm内的{@link org.kin.transport.netty.local.server.LocalServer}
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class LocalClientTransport extends AdvancedClientTransport<LocalClientTransport> {
+    public static LocalClientTransport create() {
+        return new LocalClientTransport();
+    }
+
+    private LocalClientTransport() {
+    }
+
+    /**
+     * create
+     *
+     * @param name local server命名
+     */
+    public LocalClient create(String name) {
+        checkRequire();
+        Preconditions.checkArgument(StringUtils.isNotBlank(name), "local server name must be not blank");
+        Preconditions.checkArgument(!isSsl(), "local client does not support ssl");
+
+        LocalAddress address = new LocalAddress(name);
+        TcpClient tcpClient = TcpClient.create()
+                .remoteAddress(() -> address)
+                //移除reactor netty默认的tcp option, local channel不支持
+                .option(ChannelOption.TCP_NODELAY, null)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                //默认与server共享event loop
+                .runOn(new ChannelLoopResources(getLoopResources(), LocalServerChannel.class, LocalChannel.class));
+
+        tcpClient = applyOptions(tcpClient);
+
+        return new LocalClient(this, tcpClient, address);
+    }
+
+    /**
+     * connect
+     *
+     * @param name local server命名
+     */
+    public LocalClient connect(String name) {
+        return create(name).connect();
+    }
+}
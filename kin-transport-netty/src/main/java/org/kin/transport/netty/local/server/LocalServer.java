@@ -0,0 +1,77 @@
+package org.kin.transport.netty.local.server;
+
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import org.kin.transport.netty.*;
+import org.kin.transport.netty.handler.ServerHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.netty.DisposableServer;
+
+/**
+ * 基于netty local channel的{@link Server}实现类
+ * {@link #host}即local server命名, {@link #port}无意义, 恒为0
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class LocalServer extends Server<LocalServer, LocalServerTransport> {
+    private static final Logger log = LoggerFactory.getLogger(LocalServer.class);
+    /** reactor netty tcp server, 绑定local address */
+    private final reactor.netty.tcp.TcpServer tcpServer;
+    /** 标识server是否已调用{@link #bind()} */
+    private volatile boolean bound;
+
+    LocalServer(LocalServerTransport serverTransport, reactor.netty.tcp.TcpServer tcpServer, String name) {
+        super(serverTransport, name, 0);
+        this.tcpServer = tcpServer;
+    }
+
+    @Override
+    public LocalServer bind() {
+        if (bound) {
+            return this;
+        }
+
+        bound = true;
+        onBind(serverTransport, tcpServer);
+        return this;
+    }
+
+    /**
+     * 监听local address
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void onBind(LocalServerTransport serverTransport, reactor.netty.tcp.TcpServer tcpServer) {
+        ProtocolOptions options = serverTransport.getProtocolOptions();
+        ChannelInitializer channelInitializer = serverTransport.getChannelInitializer();
+
+        ServerObserver observer = serverTransport.getObserver();
+
+        tcpServer.runOn(new ChannelLoopResources(serverTransport.getLoopResources(), LocalServerChannel.class, LocalChannel.class))
+                .doOnConnection(connection -> {
+                    channelInitializer.initChannel(connection);
+                    //核心handler
+                    options.addLocalCodecHandlers(connection)
+                            .addHandlerLast(new ServerHandler(observer));
+                    Session session = new Session(options, connection);
+                    onClientConnected(session);
+
+                    observer.onClientConnected(LocalServer.this, session);
+                })
+                .doOnBound(d -> {
+                    //定义server close逻辑
+                    d.onDispose(() -> observer.onUnbound(LocalServer.this));
+                    d.onDispose(() -> log.info("{}({}) closed", serverName(), host));
+
+                    observer.onBound(LocalServer.this);
+                })
+                .bind()
+                .cast(DisposableServer.class)
+                //这里才subscribe, 真正启动server
+                .subscribe(ds -> {
+                    log.info("{} started on local:{}", serverName(), host);
+                    onBound(ds);
+                }, t -> log.error("{} encounter error when starting", serverName(), t));
+    }
+}
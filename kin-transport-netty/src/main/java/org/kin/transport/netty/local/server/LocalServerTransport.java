@@ -0,0 +1,56 @@
+package org.kin.transport.netty.local.server;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.local.LocalAddress;
+import org.kin.framework.utils.StringUtils;
+import org.kin.transport.netty.AdvancedServerTransport;
+
+/**
+ * 创建{@link LocalServer}的入口
+ * 基于netty local channel, 仅用于同一jvm内通信, payload直接传递给对端, 不经过协议编解码, 也不占用端口
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class LocalServerTransport extends AdvancedServerTransport<LocalServerTransport> {
+    public static LocalServerTransport create() {
+        return new LocalServerTransport();
+    }
+
+    private LocalServerTransport() {
+    }
+
+    /**
+     * create
+     *
+     * @param name local server命名, 即local address id, jvm内唯一
+     */
+    public LocalServer create(String name) {
+        checkRequire();
+        Preconditions.checkArgument(StringUtils.isNotBlank(name), "local server name must be not blank");
+        Preconditions.checkArgument(!isSsl(), "local server does not support ssl");
+
+        reactor.netty.tcp.TcpServer tcpServer = reactor.netty.tcp.TcpServer.create()
+                .bindAddress(() -> new LocalAddress(name))
+                //移除reactor netty默认的tcp option, local channel不支持
+                .option(ChannelOption.SO_REUSEADDR, null)
+                .childOption(ChannelOption.TCP_NODELAY, null)
+                .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+
+        tcpServer = applyOptions(tcpServer);
+        tcpServer = applyChildOptions(tcpServer);
+
+        return new LocalServer(this, tcpServer, name);
+    }
+
+    /**
+     * listen
+     *
+     * @param name local server命名, 即local address id, jvm内唯一
+     */
+    public LocalServer bind(String name) {
+        return create(name).bind();
+    }
+}
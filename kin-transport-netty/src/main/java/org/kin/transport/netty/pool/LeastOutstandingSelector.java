@@ -0,0 +1,34 @@
+package org.kin.transport.netty.pool;
+
+import org.kin.transport.netty.Session;
+
+import java.util.List;
+
+/**
+ * 选择待发送bytes最少的session
+ * 基于{@link Session#bytesBeforeUnwritable()}, 该值越大, 说明channel outbound buffer中积压的bytes越少
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+final class LeastOutstandingSelector implements SessionSelector {
+    static final LeastOutstandingSelector INSTANCE = new LeastOutstandingSelector();
+
+    private LeastOutstandingSelector() {
+    }
+
+    @Override
+    public Session select(List<Session> sessions) {
+        Session selected = sessions.get(0);
+        long maxBytesBeforeUnwritable = selected.bytesBeforeUnwritable();
+        for (int i = 1; i < sessions.size(); i++) {
+            Session session = sessions.get(i);
+            long bytesBeforeUnwritable = session.bytesBeforeUnwritable();
+            if (bytesBeforeUnwritable > maxBytesBeforeUnwritable) {
+                selected = session;
+                maxBytesBeforeUnwritable = bytesBeforeUnwritable;
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,35 @@
+package org.kin.transport.netty.pool;
+
+import org.kin.transport.netty.Session;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * power of two choices, 随机选择两个不同的session, 再取待发送bytes较少的一个
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+final class PowerOfTwoChoicesSelector implements SessionSelector {
+    static final PowerOfTwoChoicesSelector INSTANCE = new PowerOfTwoChoicesSelector();
+
+    private PowerOfTwoChoicesSelector() {
+    }
+
+    @Override
+    public Session select(List<Session> sessions) {
+        int size = sessions.size();
+        if (size == 1) {
+            return sessions.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        //保证两次选择不同
+        int second = (first + 1 + random.nextInt(size - 1)) % size;
+        Session a = sessions.get(first);
+        Session b = sessions.get(second);
+        return a.bytesBeforeUnwritable() >= b.bytesBeforeUnwritable() ? a : b;
+    }
+}
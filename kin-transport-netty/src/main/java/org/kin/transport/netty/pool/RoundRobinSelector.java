@@ -0,0 +1,25 @@
+package org.kin.transport.netty.pool;
+
+import org.kin.transport.netty.Session;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 轮询
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+final class RoundRobinSelector implements SessionSelector {
+    /** 轮询计数 */
+    private final AtomicInteger counter = new AtomicInteger();
+
+    RoundRobinSelector() {
+    }
+
+    @Override
+    public Session select(List<Session> sessions) {
+        return sessions.get((counter.getAndIncrement() & Integer.MAX_VALUE) % sessions.size());
+    }
+}
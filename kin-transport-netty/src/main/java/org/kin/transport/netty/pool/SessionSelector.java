@@ -0,0 +1,45 @@
+package org.kin.transport.netty.pool;
+
+import org.kin.transport.netty.Session;
+
+import java.util.List;
+
+/**
+ * 从多个可用session中选择一个用于发送, 即负载均衡策略
+ * 实现类可能包含状态(比如轮询下标), 故此每个连接池一个实例
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+@FunctionalInterface
+public interface SessionSelector {
+    /**
+     * 轮询
+     */
+    static SessionSelector roundRobin() {
+        return new RoundRobinSelector();
+    }
+
+    /**
+     * 选择待发送bytes最少, 即{@link Session#bytesBeforeUnwritable()}最大的session
+     */
+    static SessionSelector leastOutstanding() {
+        return LeastOutstandingSelector.INSTANCE;
+    }
+
+    /**
+     * power of two choices, 随机选择两个session, 再取待发送bytes较少的一个
+     * 与{@link #leastOutstanding()}相比, 选择开销为O(1), 且可以避免所有调用方同时涌向同一个最空闲的session
+     */
+    static SessionSelector powerOfTwoChoices() {
+        return PowerOfTwoChoicesSelector.INSTANCE;
+    }
+
+    /**
+     * 选择session
+     *
+     * @param sessions 可用session, 至少包含一个元素, 不可修改
+     * @return 选中的session
+     */
+    Session select(List<Session> sessions);
+}
@@ -0,0 +1,48 @@
+package org.kin.transport.netty.shm;
+
+import java.net.SocketAddress;
+import java.util.Objects;
+
+/**
+ * 共享内存transport地址, 即server监听的目录, 或者client创建的共享内存文件
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class ShmAddress extends SocketAddress {
+    private static final long serialVersionUID = 2193728264419716226L;
+
+    /** 文件路径 */
+    private final String path;
+
+    public ShmAddress(String path) {
+        this.path = path;
+    }
+
+    //getter
+    public String path() {
+        return path;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ShmAddress that = (ShmAddress) o;
+        return Objects.equals(path, that.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path);
+    }
+
+    @Override
+    public String toString() {
+        return "shm:" + path;
+    }
+}
@@ -0,0 +1,452 @@
+package org.kin.transport.netty.shm;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.*;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.AlreadyConnectedException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ConnectionPendingException;
+import java.nio.channels.UnsupportedAddressTypeException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 基于共享内存文件的字节流channel, 每个方向一个单生产者单消费者ring buffer
+ * <p>
+ * 写: 在event loop中将outbound bytebuf copy到对端读取的ring buffer, 空间不足时按{@link ShmWaitStrategy}延迟重试
+ * 读: 独立的读线程按{@link ShmWaitStrategy}轮询ring buffer, 有可读数据且channel请求读时, copy成bytebuf并交给event loop触发channel read
+ * <p>
+ * 建立连接: client在server监听目录下创建并初始化共享内存文件, 再rename成{@link ShmMemory#FILE_SUFFIX}后缀,
+ * server轮询到该文件后映射, 标识server状态为已连接, 并删除文件(两端均已映射, 删除不影响共享内存), client轮询到server状态为已连接即连接成功
+ * <p>
+ * 断开连接: 标识本端状态为已关闭, 对端读线程检测到且已读完剩余数据后关闭对端channel
+ * 注意, 进程异常退出时, 对端无法感知, 需配合心跳或者idle检测
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class ShmChannel extends AbstractChannel {
+    private static final Logger log = LoggerFactory.getLogger(ShmChannel.class);
+    private static final ChannelMetadata METADATA = new ChannelMetadata(false);
+    /** client轮询server是否accept的间隔 */
+    private static final long CONNECT_POLL_MICROS = 100;
+    /** 单次读取的最大字节数 */
+    private static final int MAX_READ_SIZE = 64 * 1024;
+
+    private enum State {
+        /** 已创建, 未连接 */
+        OPEN,
+        /** 已连接 */
+        CONNECTED,
+        /** 已关闭 */
+        CLOSED,
+    }
+
+    private final ShmChannelConfig config = new ShmChannelConfig(this);
+    private volatile State state = State.OPEN;
+    /** 共享内存, client端connect时才映射 */
+    private MappedByteBuffer mapped;
+    /** 本端读取的ring buffer */
+    private ShmRing inbound;
+    /** 本端写入的ring buffer */
+    private ShmRing outbound;
+    /** 本端状态地址 */
+    private long localStateAddress;
+    /** 对端状态地址 */
+    private long remoteStateAddress;
+    private volatile ShmAddress localAddress;
+    private volatile ShmAddress remoteAddress;
+    /** client端创建的共享内存文件, server accept前需由client负责删除 */
+    private Path file;
+    /** 读线程 */
+    private volatile Thread reader;
+    /** channel是否请求读 */
+    private volatile boolean readRequested;
+    /** 是否已安排重试写 */
+    private boolean flushRetryScheduled;
+    /** client端connect promise */
+    private ChannelPromise connectPromise;
+    /** client端轮询server是否accept的future */
+    private ScheduledFuture<?> connectFuture;
+
+    /**
+     * client端, 由reactor netty通过反射创建
+     */
+    public ShmChannel() {
+        super(null);
+    }
+
+    /**
+     * server端accept的channel
+     */
+    private ShmChannel(ShmServerChannel parent, MappedByteBuffer mapped, int capacity, ShmAddress localAddress, ShmAddress remoteAddress) {
+        super(parent);
+        attach(mapped, capacity, false);
+        this.localAddress = localAddress;
+        this.remoteAddress = remoteAddress;
+        this.state = State.CONNECTED;
+    }
+
+    /**
+     * server端accept client创建的共享内存文件
+     *
+     * @param parent server channel
+     * @param file   client创建的共享内存文件
+     * @return server端channel
+     */
+    static ShmChannel accept(ShmServerChannel parent, Path file) throws IOException {
+        MappedByteBuffer mapped = ShmMemory.map(file);
+        try {
+            int magic = mapped.getInt(ShmMemory.MAGIC_OFFSET);
+            int capacity = mapped.getInt(ShmMemory.CAPACITY_OFFSET);
+            if (magic != ShmMemory.MAGIC || capacity <= 0 || mapped.capacity() != ShmMemory.fileSize(capacity)) {
+                throw new IOException("illegal shm file " + file);
+            }
+            ShmChannel channel = new ShmChannel(parent, mapped, capacity, parent.localAddress(), new ShmAddress(file.toString()));
+            ShmMemory.putLongVolatile(channel.localStateAddress, ShmMemory.STATE_CONNECTED);
+            //两端均已映射, 删除文件不影响共享内存
+            Files.deleteIfExists(file);
+            return channel;
+        } catch (Throwable t) {
+            ShmMemory.unmap(mapped);
+            throw t;
+        }
+    }
+
+    /**
+     * 绑定共享内存
+     *
+     * @param client 是否是client端
+     */
+    private void attach(MappedByteBuffer mapped, int capacity, boolean client) {
+        this.mapped = mapped;
+        long address = ShmMemory.address(mapped);
+        ShmRing clientToServer = new ShmRing(mapped, ShmMemory.clientToServerRingOffset(), capacity);
+        ShmRing serverToClient = new ShmRing(mapped, ShmMemory.serverToClientRingOffset(capacity), capacity);
+        if (client) {
+            this.inbound = serverToClient;
+            this.outbound = clientToServer;
+            this.localStateAddress = address + ShmMemory.CLIENT_STATE_OFFSET;
+            this.remoteStateAddress = address + ShmMemory.SERVER_STATE_OFFSET;
+        } else {
+            this.inbound = clientToServer;
+            this.outbound = serverToClient;
+            this.localStateAddress = address + ShmMemory.SERVER_STATE_OFFSET;
+            this.remoteStateAddress = address + ShmMemory.CLIENT_STATE_OFFSET;
+        }
+    }
+
+    /**
+     * client端创建并初始化共享内存文件, 初始化完成后才rename, server才能看到
+     */
+    private void createFile(ShmAddress remoteAddress) throws IOException {
+        int capacity = config.getRingCapacity();
+        String fileName = id().asLongText();
+        Path dir = Paths.get(remoteAddress.path());
+        Path tmpFile = dir.resolve(fileName + ShmMemory.TMP_FILE_SUFFIX);
+        MappedByteBuffer mapped = ShmMemory.map(tmpFile, ShmMemory.fileSize(capacity));
+        try {
+            mapped.putInt(ShmMemory.MAGIC_OFFSET, ShmMemory.MAGIC);
+            mapped.putInt(ShmMemory.CAPACITY_OFFSET, capacity);
+            attach(mapped, capacity, true);
+            ShmMemory.putLongVolatile(localStateAddress, ShmMemory.STATE_CONNECTED);
+            this.file = Files.move(tmpFile, dir.resolve(fileName + ShmMemory.FILE_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        } catch (Throwable t) {
+            this.mapped = null;
+            ShmMemory.unmap(mapped);
+            Files.deleteIfExists(tmpFile);
+            throw t;
+        }
+        this.localAddress = new ShmAddress(file.toString());
+        this.remoteAddress = remoteAddress;
+    }
+
+    /**
+     * client端轮询server是否已accept
+     *
+     * @param deadline 连接超时时间, {@link System#nanoTime()}
+     */
+    private void checkAccepted(long deadline) {
+        if (state != State.OPEN) {
+            return;
+        }
+
+        long remoteState = ShmMemory.getLongVolatile(remoteStateAddress);
+        if (remoteState == ShmMemory.STATE_CONNECTED) {
+            connectFuture.cancel(false);
+            //server已删除文件
+            file = null;
+            state = State.CONNECTED;
+            startReader();
+
+            boolean promiseSet = connectPromise.trySuccess();
+            pipeline().fireChannelActive();
+            if (!promiseSet) {
+                //已被取消
+                close(voidPromise());
+            }
+        } else if (remoteState == ShmMemory.STATE_CLOSED || System.nanoTime() >= deadline) {
+            connectFuture.cancel(false);
+            connectPromise.tryFailure(new ConnectTimeoutException("connection timed out: " + remoteAddress));
+            close(voidPromise());
+        }
+    }
+
+    /**
+     * 启动读线程
+     */
+    private void startReader() {
+        if (Objects.nonNull(reader)) {
+            return;
+        }
+        Thread reader = new Thread(this::readLoop, "kin-shm-reader-" + id().asShortText());
+        reader.setDaemon(true);
+        this.reader = reader;
+        reader.start();
+    }
+
+    /**
+     * 读线程逻辑, 退出时解除共享内存映射
+     */
+    private void readLoop() {
+        ShmWaitStrategy waitStrategy = config.getWaitStrategy();
+        int idleCount = 0;
+        boolean remoteClosed = false;
+        try {
+            while (state != State.CLOSED) {
+                int readableBytes = inbound.readableBytes();
+                if (readRequested && readableBytes > 0) {
+                    readRequested = false;
+                    ByteBuf byteBuf = alloc().directBuffer(Math.min(readableBytes, MAX_READ_SIZE));
+                    inbound.read(byteBuf, byteBuf.writableBytes());
+                    eventLoop().execute(() -> {
+                        pipeline().fireChannelRead(byteBuf);
+                        pipeline().fireChannelReadComplete();
+                    });
+                    idleCount = 0;
+                    continue;
+                }
+
+                if (!remoteClosed && readableBytes == 0 && ShmMemory.getLongVolatile(remoteStateAddress) == ShmMemory.STATE_CLOSED) {
+                    //对端已关闭, 且剩余数据已读完
+                    remoteClosed = true;
+                    eventLoop().execute(() -> unsafe().close(unsafe().voidPromise()));
+                }
+                idleCount = waitStrategy.idle(idleCount);
+            }
+        } catch (Throwable t) {
+            log.error("shm channel read error, {}", this, t);
+            eventLoop().execute(() -> unsafe().close(unsafe().voidPromise()));
+            //等待channel关闭, 再解除映射
+            while (state != State.CLOSED) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        } finally {
+            ShmMemory.unmap(mapped);
+        }
+    }
+
+    /**
+     * ring buffer写满, 延迟重试写
+     */
+    private void scheduleFlushRetry() {
+        if (flushRetryScheduled) {
+            return;
+        }
+
+        flushRetryScheduled = true;
+        Runnable task = () -> {
+            flushRetryScheduled = false;
+            unsafe().flush();
+        };
+        long delayNanos = config.getWaitStrategy().retryDelayNanos();
+        if (delayNanos > 0) {
+            eventLoop().schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+        } else {
+            eventLoop().execute(task);
+        }
+    }
+
+    @Override
+    protected AbstractUnsafe newUnsafe() {
+        return new ShmUnsafe();
+    }
+
+    @Override
+    protected boolean isCompatible(EventLoop loop) {
+        return loop instanceof SingleThreadEventLoop;
+    }
+
+    @Override
+    protected SocketAddress localAddress0() {
+        return localAddress;
+    }
+
+    @Override
+    protected SocketAddress remoteAddress0() {
+        return remoteAddress;
+    }
+
+    @Override
+    protected void doRegister() {
+        if (state == State.CONNECTED) {
+            //server端accept的channel
+            startReader();
+        }
+    }
+
+    @Override
+    protected void doBind(SocketAddress localAddress) {
+        throw new UnsupportedOperationException("shm channel does not support bind");
+    }
+
+    @Override
+    protected void doDisconnect() {
+        doClose();
+    }
+
+    @Override
+    protected void doClose() {
+        if (state == State.CLOSED) {
+            return;
+        }
+
+        if (Objects.nonNull(connectFuture)) {
+            connectFuture.cancel(false);
+        }
+        if (Objects.nonNull(connectPromise)) {
+            connectPromise.tryFailure(new ClosedChannelException());
+        }
+        if (Objects.nonNull(file)) {
+            //server未accept
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("delete shm file '{}' error", file, e);
+            }
+        }
+
+        if (Objects.nonNull(mapped)) {
+            //先通知对端, 再标识关闭, 之后本端event loop不再访问共享内存
+            ShmMemory.putLongVolatile(localStateAddress, ShmMemory.STATE_CLOSED);
+        }
+        state = State.CLOSED;
+
+        Thread reader = this.reader;
+        if (Objects.nonNull(reader)) {
+            //由读线程解除映射
+            LockSupport.unpark(reader);
+        } else if (Objects.nonNull(mapped)) {
+            ShmMemory.unmap(mapped);
+        }
+    }
+
+    @Override
+    protected void doBeginRead() {
+        readRequested = true;
+        Thread reader = this.reader;
+        if (Objects.nonNull(reader)) {
+            LockSupport.unpark(reader);
+        }
+    }
+
+    @Override
+    protected void doWrite(ChannelOutboundBuffer in) {
+        for (; ; ) {
+            Object msg = in.current();
+            if (Objects.isNull(msg)) {
+                break;
+            }
+
+            ByteBuf byteBuf = (ByteBuf) msg;
+            int readableBytes = byteBuf.readableBytes();
+            if (readableBytes == 0) {
+                in.remove();
+                continue;
+            }
+
+            int written = outbound.write(byteBuf);
+            if (written > 0) {
+                in.removeBytes(written);
+            }
+            if (written < readableBytes) {
+                //ring buffer已满, 等待对端读取
+                scheduleFlushRetry();
+                break;
+            }
+        }
+    }
+
+    @Override
+    protected Object filterOutboundMessage(Object msg) {
+        if (msg instanceof ByteBuf) {
+            return msg;
+        }
+        throw new UnsupportedOperationException("unsupported message type: " + msg.getClass().getName());
+    }
+
+    @Override
+    public ShmChannelConfig config() {
+        return config;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return state != State.CLOSED;
+    }
+
+    @Override
+    public boolean isActive() {
+        return state == State.CONNECTED;
+    }
+
+    @Override
+    public ChannelMetadata metadata() {
+        return METADATA;
+    }
+
+    private final class ShmUnsafe extends AbstractUnsafe {
+        @Override
+        public void connect(SocketAddress remoteAddress, SocketAddress localAddress, ChannelPromise promise) {
+            if (!promise.setUncancellable() || !ensureOpen(promise)) {
+                return;
+            }
+            if (state == State.CONNECTED) {
+                promise.setFailure(new AlreadyConnectedException());
+                return;
+            }
+            if (Objects.nonNull(connectPromise)) {
+                promise.setFailure(new ConnectionPendingException());
+                return;
+            }
+            if (!(remoteAddress instanceof ShmAddress)) {
+                promise.setFailure(new UnsupportedAddressTypeException());
+                return;
+            }
+
+            try {
+                createFile((ShmAddress) remoteAddress);
+            } catch (Throwable t) {
+                promise.setFailure(t);
+                close(voidPromise());
+                return;
+            }
+
+            connectPromise = promise;
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getConnectTimeoutMillis());
+            connectFuture = eventLoop().scheduleWithFixedDelay(() -> checkAccepted(deadline),
+                    CONNECT_POLL_MICROS, CONNECT_POLL_MICROS, TimeUnit.MICROSECONDS);
+        }
+    }
+}
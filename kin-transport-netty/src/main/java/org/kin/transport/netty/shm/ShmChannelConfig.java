@@ -0,0 +1,81 @@
+package org.kin.transport.netty.shm;
+
+import com.google.common.base.Preconditions;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.DefaultChannelConfig;
+
+import java.util.Map;
+
+/**
+ * {@link ShmChannel}配置
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+final class ShmChannelConfig extends DefaultChannelConfig {
+    /** 默认单向ring buffer数据区字节数, 1MB */
+    static final int DEFAULT_RING_CAPACITY = 1 << 20;
+
+    /** 单向ring buffer数据区字节数 */
+    private volatile int ringCapacity = DEFAULT_RING_CAPACITY;
+    /** 空闲等待策略 */
+    private volatile ShmWaitStrategy waitStrategy = ShmWaitStrategy.PARK;
+
+    ShmChannelConfig(Channel channel) {
+        super(channel);
+    }
+
+    @Override
+    public Map<ChannelOption<?>, Object> getOptions() {
+        return getOptions(super.getOptions(), ShmChannelOption.RING_CAPACITY, ShmChannelOption.WAIT_STRATEGY);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T getOption(ChannelOption<T> option) {
+        if (option == ShmChannelOption.RING_CAPACITY) {
+            return (T) Integer.valueOf(ringCapacity);
+        }
+        if (option == ShmChannelOption.WAIT_STRATEGY) {
+            return (T) waitStrategy;
+        }
+        return super.getOption(option);
+    }
+
+    @Override
+    public <T> boolean setOption(ChannelOption<T> option, T value) {
+        validate(option, value);
+
+        if (option == ShmChannelOption.RING_CAPACITY) {
+            setRingCapacity((Integer) value);
+        } else if (option == ShmChannelOption.WAIT_STRATEGY) {
+            setWaitStrategy((ShmWaitStrategy) value);
+        } else {
+            return super.setOption(option, value);
+        }
+        return true;
+    }
+
+    //setter && getter
+    public int getRingCapacity() {
+        return ringCapacity;
+    }
+
+    public ShmChannelConfig setRingCapacity(int ringCapacity) {
+        Preconditions.checkArgument(ringCapacity > 0 && (ringCapacity & (ringCapacity - 1)) == 0,
+                "shm ring capacity must be a power of 2");
+        this.ringCapacity = ringCapacity;
+        return this;
+    }
+
+    public ShmWaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public ShmChannelConfig setWaitStrategy(ShmWaitStrategy waitStrategy) {
+        Preconditions.checkNotNull(waitStrategy, "shm wait strategy must be not null");
+        this.waitStrategy = waitStrategy;
+        return this;
+    }
+}
@@ -0,0 +1,19 @@
+package org.kin.transport.netty.shm;
+
+import io.netty.channel.ChannelOption;
+
+/**
+ * 共享内存channel option
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class ShmChannelOption {
+    /** 单向ring buffer数据区字节数, 必须是2的n次方, 仅client端有效, server端使用client创建的共享内存文件 */
+    public static final ChannelOption<Integer> RING_CAPACITY = ChannelOption.valueOf("SHM_RING_CAPACITY");
+    /** 空闲等待策略 */
+    public static final ChannelOption<ShmWaitStrategy> WAIT_STRATEGY = ChannelOption.valueOf("SHM_WAIT_STRATEGY");
+
+    private ShmChannelOption() {
+    }
+}
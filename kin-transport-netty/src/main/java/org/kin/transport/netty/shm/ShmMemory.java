@@ -0,0 +1,167 @@
+package org.kin.transport.netty.shm;
+
+import io.netty.util.internal.PlatformDependent;
+import org.kin.transport.netty.TransportException;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 共享内存文件布局以及内存访问
+ * <p>
+ * 文件布局: 文件头 + client->server ring buffer + server->client ring buffer
+ * 文件头: magic(int, offset 0) + ring buffer数据区字节数(int, offset 8) + client状态(long, offset 64) + server状态(long, offset 128)
+ * ring buffer: tail(long, offset 0) + head(long, offset 128) + 数据区
+ * 读写位置以及状态分别占用独立的cache line, 避免false sharing
+ * <p>
+ * 通过反射加载{@code sun.misc.Unsafe}, 并通过{@link MethodHandle}调用其volatile/ordered读写方法, 避免直接依赖jdk内部api
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+final class ShmMemory {
+    /** 文件魔数, 即'KSHM' */
+    static final int MAGIC = 0x4B53484D;
+    /** client创建, 等待server accept的共享内存文件后缀 */
+    static final String FILE_SUFFIX = ".shm";
+    /** client初始化共享内存文件时使用的临时文件后缀, 初始化完成后再rename, 以保证server不会看到未初始化完成的文件 */
+    static final String TMP_FILE_SUFFIX = ".tmp";
+
+    static final int MAGIC_OFFSET = 0;
+    static final int CAPACITY_OFFSET = 8;
+    static final int CLIENT_STATE_OFFSET = 64;
+    static final int SERVER_STATE_OFFSET = 128;
+    /** 文件头字节数 */
+    static final int HEADER_SIZE = 256;
+
+    static final int RING_TAIL_OFFSET = 0;
+    static final int RING_HEAD_OFFSET = 128;
+    /** ring buffer头字节数 */
+    static final int RING_HEADER_SIZE = 256;
+
+    /** 状态, 初始化 */
+    static final long STATE_INIT = 0;
+    /** 状态, 已连接 */
+    static final long STATE_CONNECTED = 1;
+    /** 状态, 已关闭 */
+    static final long STATE_CLOSED = 2;
+
+    /** {@code sun.misc.Unsafe}类名 */
+    private static final String UNSAFE_CLASS_NAME = "sun.misc.Unsafe";
+    /** 已绑定unsafe实例的getLongVolatile(Object, long)方法, (Object, long) -> long */
+    private static final MethodHandle GET_LONG_VOLATILE;
+    /** 已绑定unsafe实例的putLongVolatile(Object, long, long)方法, (Object, long, long) -> void */
+    private static final MethodHandle PUT_LONG_VOLATILE;
+    /** 已绑定unsafe实例的putOrderedLong(Object, long, long)方法, (Object, long, long) -> void */
+    private static final MethodHandle PUT_ORDERED_LONG;
+
+    static {
+        try {
+            Class<?> unsafeClass = Class.forName(UNSAFE_CLASS_NAME);
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            GET_LONG_VOLATILE = lookup.findVirtual(unsafeClass, "getLongVolatile",
+                    MethodType.methodType(long.class, Object.class, long.class)).bindTo(unsafe);
+            PUT_LONG_VOLATILE = lookup.findVirtual(unsafeClass, "putLongVolatile",
+                    MethodType.methodType(void.class, Object.class, long.class, long.class)).bindTo(unsafe);
+            PUT_ORDERED_LONG = lookup.findVirtual(unsafeClass, "putOrderedLong",
+                    MethodType.methodType(void.class, Object.class, long.class, long.class)).bindTo(unsafe);
+        } catch (Exception e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private ShmMemory() {
+    }
+
+    /**
+     * @param capacity 单向ring buffer数据区字节数
+     * @return 共享内存文件字节数
+     */
+    static long fileSize(int capacity) {
+        return HEADER_SIZE + 2L * (RING_HEADER_SIZE + capacity);
+    }
+
+    /**
+     * @return client->server ring buffer在文件中的offset
+     */
+    static int clientToServerRingOffset() {
+        return HEADER_SIZE;
+    }
+
+    /**
+     * @return server->client ring buffer在文件中的offset
+     */
+    static int serverToClientRingOffset(int capacity) {
+        return HEADER_SIZE + RING_HEADER_SIZE + capacity;
+    }
+
+    /**
+     * 以读写方式映射整个文件, 文件不足{@code size}时会自动扩展
+     */
+    static MappedByteBuffer map(Path file, long size) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * 以读写方式映射已存在的整个文件
+     */
+    static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, fileChannel.size());
+        }
+    }
+
+    /**
+     * 解除映射, 调用后不能再访问该内存
+     */
+    static void unmap(MappedByteBuffer buffer) {
+        PlatformDependent.freeDirectBuffer(buffer);
+    }
+
+    /**
+     * @return 映射内存起始地址
+     */
+    static long address(MappedByteBuffer buffer) {
+        return PlatformDependent.directBufferAddress(buffer);
+    }
+
+    static long getLongVolatile(long address) {
+        try {
+            return (long) GET_LONG_VOLATILE.invokeExact((Object) null, address);
+        } catch (Throwable t) {
+            throw new TransportException("get long volatile error", t);
+        }
+    }
+
+    static void putLongVolatile(long address, long value) {
+        try {
+            PUT_LONG_VOLATILE.invokeExact((Object) null, address, value);
+        } catch (Throwable t) {
+            throw new TransportException("put long volatile error", t);
+        }
+    }
+
+    /**
+     * store-store屏障写, 仅保证之前的写对其余线程(进程)可见后, 才写入{@code value}
+     */
+    static void putOrderedLong(long address, long value) {
+        try {
+            PUT_ORDERED_LONG.invokeExact((Object) null, address, value);
+        } catch (Throwable t) {
+            throw new TransportException("put ordered long error", t);
+        }
+    }
+}
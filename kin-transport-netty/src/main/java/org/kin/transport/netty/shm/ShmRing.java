@@ -0,0 +1,95 @@
+package org.kin.transport.netty.shm;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * 基于共享内存的单生产者单消费者字节ring buffer
+ * 生产者和消费者一般位于不同进程, 各自持有一个实例, 且同一实例仅用于写或者仅用于读
+ * tail和head均为单调递增的字节序号, 通过volatile读以及store-store屏障写同步
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+final class ShmRing {
+    /** tail地址, 由生产者更新 */
+    private final long tailAddress;
+    /** head地址, 由消费者更新 */
+    private final long headAddress;
+    /** 数据区, 与共享内存共享底层内存 */
+    private final ByteBuf data;
+    /** 数据区字节数, 2的n次方 */
+    private final int capacity;
+    private final int mask;
+
+    ShmRing(MappedByteBuffer mapped, int offset, int capacity) {
+        long base = ShmMemory.address(mapped) + offset;
+        this.tailAddress = base + ShmMemory.RING_TAIL_OFFSET;
+        this.headAddress = base + ShmMemory.RING_HEAD_OFFSET;
+        ByteBuffer dataBuffer = mapped.duplicate();
+        dataBuffer.limit(offset + ShmMemory.RING_HEADER_SIZE + capacity).position(offset + ShmMemory.RING_HEADER_SIZE);
+        this.data = Unpooled.wrappedBuffer(dataBuffer.slice());
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 生产者写入bytes, 空间不足时仅写入部分, 不会修改{@code src}的reader index
+     *
+     * @return 写入的字节数
+     */
+    int write(ByteBuf src) {
+        long tail = ShmMemory.getLongVolatile(tailAddress);
+        long head = ShmMemory.getLongVolatile(headAddress);
+        int length = Math.min(capacity - (int) (tail - head), src.readableBytes());
+        if (length <= 0) {
+            return 0;
+        }
+
+        int index = (int) (tail & mask);
+        int first = Math.min(length, capacity - index);
+        data.setBytes(index, src, src.readerIndex(), first);
+        if (length > first) {
+            //回绕
+            data.setBytes(0, src, src.readerIndex() + first, length - first);
+        }
+        //数据写入后才发布tail
+        ShmMemory.putOrderedLong(tailAddress, tail + length);
+        return length;
+    }
+
+    /**
+     * @return 可读字节数
+     */
+    int readableBytes() {
+        return (int) (ShmMemory.getLongVolatile(tailAddress) - ShmMemory.getLongVolatile(headAddress));
+    }
+
+    /**
+     * 消费者读取最多{@code maxLength}字节到{@code dst}
+     *
+     * @return 读取的字节数
+     */
+    int read(ByteBuf dst, int maxLength) {
+        long head = ShmMemory.getLongVolatile(headAddress);
+        long tail = ShmMemory.getLongVolatile(tailAddress);
+        int length = Math.min((int) (tail - head), maxLength);
+        if (length <= 0) {
+            return 0;
+        }
+
+        int index = (int) (head & mask);
+        int first = Math.min(length, capacity - index);
+        dst.writeBytes(data, index, first);
+        if (length > first) {
+            //回绕
+            dst.writeBytes(data, 0, length - first);
+        }
+        //数据读取后才释放空间
+        ShmMemory.putOrderedLong(headAddress, head + length);
+        return length;
+    }
+}
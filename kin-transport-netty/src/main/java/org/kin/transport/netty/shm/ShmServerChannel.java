@@ -0,0 +1,144 @@
+package org.kin.transport.netty.shm;
+
+import io.netty.channel.*;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.channels.UnsupportedAddressTypeException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 共享内存server channel, 监听指定目录
+ * 在event loop中定时轮询监听目录下client创建的共享内存文件, 并accept成{@link ShmChannel}
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class ShmServerChannel extends AbstractServerChannel {
+    private static final Logger log = LoggerFactory.getLogger(ShmServerChannel.class);
+    /** 轮询监听目录的间隔 */
+    private static final long ACCEPT_POLL_MILLIS = 1;
+
+    private enum State {
+        /** 已创建, 未bind */
+        OPEN,
+        /** 已bind */
+        BOUND,
+        /** 已关闭 */
+        CLOSED,
+    }
+
+    private final ChannelConfig config = new DefaultChannelConfig(this);
+    private volatile State state = State.OPEN;
+    private volatile ShmAddress localAddress;
+    /** 监听目录 */
+    private Path dir;
+    /** 轮询监听目录的future */
+    private ScheduledFuture<?> acceptFuture;
+
+    /**
+     * 由reactor netty通过反射创建
+     */
+    public ShmServerChannel() {
+    }
+
+    /**
+     * 轮询监听目录, accept client创建的共享内存文件
+     */
+    private void accept() {
+        if (state != State.BOUND) {
+            return;
+        }
+
+        boolean accepted = false;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + ShmMemory.FILE_SUFFIX)) {
+            for (Path file : files) {
+                ShmChannel channel;
+                try {
+                    channel = ShmChannel.accept(this, file);
+                } catch (NoSuchFileException e) {
+                    //client已连接超时或者关闭
+                    continue;
+                } catch (Exception e) {
+                    log.warn("accept shm file '{}' error", file, e);
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                pipeline().fireChannelRead(channel);
+                accepted = true;
+            }
+        } catch (IOException e) {
+            pipeline().fireExceptionCaught(e);
+        }
+
+        if (accepted) {
+            pipeline().fireChannelReadComplete();
+        }
+    }
+
+    @Override
+    protected boolean isCompatible(EventLoop loop) {
+        return loop instanceof SingleThreadEventLoop;
+    }
+
+    @Override
+    protected SocketAddress localAddress0() {
+        return localAddress;
+    }
+
+    @Override
+    public ShmAddress localAddress() {
+        return (ShmAddress) super.localAddress();
+    }
+
+    @Override
+    protected void doBind(SocketAddress localAddress) throws Exception {
+        if (!(localAddress instanceof ShmAddress)) {
+            throw new UnsupportedAddressTypeException();
+        }
+
+        ShmAddress shmAddress = (ShmAddress) localAddress;
+        this.dir = Files.createDirectories(Paths.get(shmAddress.path()));
+        this.localAddress = shmAddress;
+        state = State.BOUND;
+    }
+
+    @Override
+    protected void doClose() {
+        state = State.CLOSED;
+        if (Objects.nonNull(acceptFuture)) {
+            acceptFuture.cancel(false);
+        }
+    }
+
+    @Override
+    protected void doBeginRead() {
+        if (Objects.isNull(acceptFuture)) {
+            acceptFuture = eventLoop().scheduleWithFixedDelay(this::accept, 0, ACCEPT_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public ChannelConfig config() {
+        return config;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return state != State.CLOSED;
+    }
+
+    @Override
+    public boolean isActive() {
+        return state == State.BOUND;
+    }
+}
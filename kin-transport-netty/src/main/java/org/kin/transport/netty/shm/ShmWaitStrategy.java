@@ -0,0 +1,79 @@
+package org.kin.transport.netty.shm;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 共享内存ring buffer空闲等待策略, 即ring buffer没有可读数据或者没有可写空间时, 读写线程如何等待
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public enum ShmWaitStrategy {
+    /** 忙等, 延迟最低, 但读线程会一直占满一个cpu核 */
+    BUSY_SPIN {
+        @Override
+        int idle(int idleCount) {
+            return idleCount + 1;
+        }
+
+        @Override
+        long retryDelayNanos() {
+            return 0;
+        }
+    },
+    /** 让出cpu, 延迟较低, cpu占用依然较高 */
+    YIELD {
+        @Override
+        int idle(int idleCount) {
+            Thread.yield();
+            return idleCount + 1;
+        }
+
+        @Override
+        long retryDelayNanos() {
+            return 0;
+        }
+    },
+    /** 先忙等, 再让出cpu, 最后park, 空闲时cpu占用低, 适合大部分场景 */
+    PARK {
+        @Override
+        int idle(int idleCount) {
+            if (idleCount < SPIN_TRIES) {
+                //忙等
+            } else if (idleCount < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+                return idleCount;
+            }
+            return idleCount + 1;
+        }
+
+        @Override
+        long retryDelayNanos() {
+            return PARK_NANOS;
+        }
+    },
+    ;
+
+    /** {@link #PARK}忙等次数 */
+    private static final int SPIN_TRIES = 100;
+    /** {@link #PARK}让出cpu次数 */
+    private static final int YIELD_TRIES = 100;
+    /** {@link #PARK}每次park时长 */
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * 空闲等待一次
+     *
+     * @param idleCount 连续空闲次数, 有数据读写后需重置为0
+     * @return 新的连续空闲次数
+     */
+    abstract int idle(int idleCount);
+
+    /**
+     * @return ring buffer写满时, 重试写的延迟, 0则表示立即重试
+     */
+    abstract long retryDelayNanos();
+}
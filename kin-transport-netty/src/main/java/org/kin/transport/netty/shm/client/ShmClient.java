@@ -0,0 +1,75 @@
+package org.kin.transport.netty.shm.client;
+
+import org.kin.transport.netty.*;
+import org.kin.transport.netty.handler.ClientHandler;
+import org.kin.transport.netty.shm.ShmAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.tcp.TcpClient;
+
+/**
+ * 基于共享内存文件ring buffer的{@link Client}实现类
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class ShmClient extends Client<ShmClient, ShmClientTransport> {
+    private static final Logger log = LoggerFactory.getLogger(ShmClient.class);
+
+    /** server监听目录 */
+    private final ShmAddress address;
+    /** connect逻辑 */
+    private final Mono<Connection> connector;
+
+    ShmClient(ShmClientTransport clientTransport, TcpClient tcpClient, ShmAddress address) {
+        super(clientTransport);
+        this.address = address;
+        this.connector = createConnector(clientTransport, tcpClient);
+    }
+
+    /**
+     * connect
+     */
+    @SuppressWarnings("rawtypes")
+    private Mono<Connection> createConnector(ShmClientTransport clientTransport, TcpClient tcpClient) {
+        ProtocolOptions options = clientTransport.getProtocolOptions();
+
+        ChannelInitializer channelInitializer = clientTransport.getChannelInitializer();
+
+        //监听connection状态变化
+        ConnectionObserver connectionObserver = (connection, newState) -> {
+            if (!isDisposed() && newState == ConnectionObserver.State.DISCONNECTING) {
+                log.info("channel closed, {}", connection.channel());
+                connection.dispose();
+            }
+        };
+
+        ClientObserver observer = clientTransport.getObserver();
+
+        return tcpClient
+                .observe(connectionObserver)
+                .connect()
+                .map(connection -> {
+                    log.info("{} connect to remote({}) success", clientName(), address);
+
+                    channelInitializer.initChannel(connection);
+                    //核心handler
+                    options.addCodecHandlers(connection)
+                            .addHandlerLast(new ClientHandler(observer));
+                    return connection;
+                });
+    }
+
+    @Override
+    protected Mono<Connection> connector() {
+        return connector;
+    }
+
+    @Override
+    protected String remoteAddress() {
+        return address.toString();
+    }
+}
@@ -0,0 +1,110 @@
+package org.kin.transport.netty.shm.client;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import org.kin.framework.utils.StringUtils;
+import org.kin.transport.netty.AdvancedClientTransport;
+import org.kin.transport.netty.ChannelLoopResources;
+import org.kin.transport.netty.shm.ShmAddress;
+import org.kin.transport.netty.shm.ShmChannel;
+import org.kin.transport.netty.shm.ShmChannelOption;
+import org.kin.transport.netty.shm.ShmServerChannel;
+import org.kin.transport.netty.shm.ShmWaitStrategy;
+import reactor.netty.tcp.TcpClient;
+
+/**
+ * 创建{@link ShmClient}入口
+ * 基于共享内存文件ring buffer, 仅用于连接同一主机的{@link org.kin.transport.netty.shm.server.ShmServer}
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class ShmClientTransport extends AdvancedClientTransport<ShmClientTransport> {
+    /** 连接超时, 秒, 默认5s */
+    private int connectTimeoutSec = 5;
+    /** 单向ring buffer数据区字节数, 必须是2的n次方, 默认1MB */
+    private int ringCapacity = 1 << 20;
+    /** 读写空闲等待策略 */
+    private ShmWaitStrategy waitStrategy = ShmWaitStrategy.PARK;
+
+    public static ShmClientTransport create() {
+        return new ShmClientTransport();
+    }
+
+    private ShmClientTransport() {
+    }
+
+    /**
+     * create
+     *
+     * @param path server监听目录
+     */
+    public ShmClient create(String path) {
+        checkRequire();
+        Preconditions.checkArgument(StringUtils.isNotBlank(path), "shm server path must be not blank");
+        Preconditions.checkArgument(!isSsl(), "shm client does not support ssl");
+        Preconditions.checkArgument(connectTimeoutSec > 0, "client connect timeout must be greater than 0");
+        Preconditions.checkArgument(ringCapacity > 0 && (ringCapacity & (ringCapacity - 1)) == 0, "shm ring capacity must be a power of 2");
+        Preconditions.checkNotNull(waitStrategy, "shm wait strategy must be not null");
+
+        ShmAddress address = new ShmAddress(path);
+        TcpClient tcpClient = TcpClient.create()
+                .remoteAddress(() -> address)
+                //移除reactor netty默认的tcp option, 共享内存channel不支持
+                .option(ChannelOption.TCP_NODELAY, null)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, getConnectTimeoutSec() * 1000)
+                .option(ShmChannelOption.RING_CAPACITY, ringCapacity)
+                .option(ShmChannelOption.WAIT_STRATEGY, waitStrategy)
+                //默认与server共享event loop
+                .runOn(new ChannelLoopResources(getLoopResources(), ShmServerChannel.class, ShmChannel.class));
+
+        tcpClient = applyOptions(tcpClient);
+
+        return new ShmClient(this, tcpClient, address);
+    }
+
+    /**
+     * connect
+     *
+     * @param path server监听目录
+     */
+    public ShmClient connect(String path) {
+        return create(path).connect();
+    }
+
+    /**
+     * 单向ring buffer数据区字节数, 必须是2的n次方, 单个payload大于该值时需分多次写入
+     */
+    public ShmClientTransport ringCapacity(int ringCapacity) {
+        this.ringCapacity = ringCapacity;
+        return this;
+    }
+
+    /**
+     * 读写空闲等待策略, 默认{@link ShmWaitStrategy#PARK}
+     */
+    public ShmClientTransport waitStrategy(ShmWaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+        return this;
+    }
+
+    public ShmClientTransport connectTimeoutSec(int connectTimeoutSec) {
+        this.connectTimeoutSec = connectTimeoutSec;
+        return this;
+    }
+
+    //getter
+    public int getConnectTimeoutSec() {
+        return connectTimeoutSec;
+    }
+
+    public int getRingCapacity() {
+        return ringCapacity;
+    }
+
+    public ShmWaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+}
@@ -0,0 +1,77 @@
+package org.kin.transport.netty.shm.server;
+
+import org.kin.transport.netty.*;
+import org.kin.transport.netty.handler.ServerHandler;
+import org.kin.transport.netty.shm.ShmChannel;
+import org.kin.transport.netty.shm.ShmServerChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.netty.DisposableServer;
+
+/**
+ * 基于共享内存文件ring buffer的{@link Server}实现类
+ * {@link #host}即监听目录, {@link #port}无意义, 恒为0
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class ShmServer extends Server<ShmServer, ShmServerTransport> {
+    private static final Logger log = LoggerFactory.getLogger(ShmServer.class);
+    /** reactor netty tcp server, 绑定共享内存监听目录 */
+    private final reactor.netty.tcp.TcpServer tcpServer;
+    /** 标识server是否已调用{@link #bind()} */
+    private volatile boolean bound;
+
+    ShmServer(ShmServerTransport serverTransport, reactor.netty.tcp.TcpServer tcpServer, String path) {
+        super(serverTransport, path, 0);
+        this.tcpServer = tcpServer;
+    }
+
+    @Override
+    public ShmServer bind() {
+        if (bound) {
+            return this;
+        }
+
+        bound = true;
+        onBind(serverTransport, tcpServer);
+        return this;
+    }
+
+    /**
+     * 监听共享内存目录
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void onBind(ShmServerTransport serverTransport, reactor.netty.tcp.TcpServer tcpServer) {
+        ProtocolOptions options = serverTransport.getProtocolOptions();
+        ChannelInitializer channelInitializer = serverTransport.getChannelInitializer();
+
+        ServerObserver observer = serverTransport.getObserver();
+
+        tcpServer.runOn(new ChannelLoopResources(serverTransport.getLoopResources(), ShmServerChannel.class, ShmChannel.class))
+                .doOnConnection(connection -> {
+                    channelInitializer.initChannel(connection);
+                    //核心handler
+                    options.addCodecHandlers(connection)
+                            .addHandlerLast(new ServerHandler(observer));
+                    Session session = new Session(options, connection);
+                    onClientConnected(session);
+
+                    observer.onClientConnected(ShmServer.this, session);
+                })
+                .doOnBound(d -> {
+                    //定义server close逻辑
+                    d.onDispose(() -> observer.onUnbound(ShmServer.this));
+                    d.onDispose(() -> log.info("{}({}) closed", serverName(), host));
+
+                    observer.onBound(ShmServer.this);
+                })
+                .bind()
+                .cast(DisposableServer.class)
+                //这里才subscribe, 真正启动server
+                .subscribe(ds -> {
+                    log.info("{} started on shm:{}", serverName(), host);
+                    onBound(ds);
+                }, t -> log.error("{} encounter error when starting", serverName(), t));
+    }
+}
@@ -0,0 +1,76 @@
+package org.kin.transport.netty.shm.server;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import org.kin.framework.utils.StringUtils;
+import org.kin.transport.netty.AdvancedServerTransport;
+import org.kin.transport.netty.shm.ShmAddress;
+import org.kin.transport.netty.shm.ShmChannelOption;
+import org.kin.transport.netty.shm.ShmWaitStrategy;
+
+/**
+ * 创建{@link ShmServer}的入口
+ * 基于共享内存文件ring buffer, 仅用于同一主机的进程间高频通信, 协议格式与tcp一致
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class ShmServerTransport extends AdvancedServerTransport<ShmServerTransport> {
+    /** 读写空闲等待策略 */
+    private ShmWaitStrategy waitStrategy = ShmWaitStrategy.PARK;
+
+    public static ShmServerTransport create() {
+        return new ShmServerTransport();
+    }
+
+    private ShmServerTransport() {
+    }
+
+    /**
+     * create
+     *
+     * @param path 监听目录, 建议位于tmpfs, 比如/dev/shm
+     */
+    public ShmServer create(String path) {
+        checkRequire();
+        Preconditions.checkArgument(StringUtils.isNotBlank(path), "shm server path must be not blank");
+        Preconditions.checkArgument(!isSsl(), "shm server does not support ssl");
+        Preconditions.checkNotNull(waitStrategy, "shm wait strategy must be not null");
+
+        reactor.netty.tcp.TcpServer tcpServer = reactor.netty.tcp.TcpServer.create()
+                .bindAddress(() -> new ShmAddress(path))
+                //移除reactor netty默认的tcp option, 共享内存channel不支持
+                .option(ChannelOption.SO_REUSEADDR, null)
+                .childOption(ChannelOption.TCP_NODELAY, null)
+                .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .childOption(ShmChannelOption.WAIT_STRATEGY, waitStrategy);
+
+        tcpServer = applyOptions(tcpServer);
+        tcpServer = applyChildOptions(tcpServer);
+
+        return new ShmServer(this, tcpServer, path);
+    }
+
+    /**
+     * listen
+     *
+     * @param path 监听目录, 建议位于tmpfs, 比如/dev/shm
+     */
+    public ShmServer bind(String path) {
+        return create(path).bind();
+    }
+
+    /**
+     * 读写空闲等待策略, 默认{@link ShmWaitStrategy#PARK}
+     */
+    public ShmServerTransport waitStrategy(ShmWaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+        return this;
+    }
+
+    //getter
+    public ShmWaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+}
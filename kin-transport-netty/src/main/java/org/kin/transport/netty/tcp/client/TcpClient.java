@@ -58,8 +58,7 @@ public final class TcpClient extends Client<TcpClient, TcpClientTransport> {
 
                     channelInitializer.initChannel(connection);
                     //核心handler
-                    connection.addHandlerLast(new ProtocolDecoder(options))
-                            .addHandlerLast(new ProtocolEncoder(options))
+                    options.addCodecHandlers(connection)
                             .addHandlerLast(new ClientHandler(observer));
                     return connection;
                 });
@@ -4,13 +4,17 @@ import com.google.common.base.Preconditions;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelOption;
 import io.netty.util.NetUtil;
-import org.kin.framework.JvmCloseCleaner;
-import org.kin.framework.utils.SysUtils;
 import org.kin.transport.netty.AdvancedClientTransport;
-import reactor.netty.resources.LoopResources;
+import org.kin.transport.netty.ClientPool;
+import org.kin.transport.netty.cluster.ClusterClient;
+import org.kin.transport.netty.cluster.ClusterClientObserver;
+import org.kin.transport.netty.cluster.EndpointSelector;
+import org.kin.transport.netty.pool.SessionSelector;
 import reactor.netty.tcp.TcpClient;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 创建{@link org.kin.transport.netty.tcp.client.TcpClient}入口
@@ -19,13 +23,6 @@ import java.net.InetSocketAddress;
  * @date 2023/1/15
  */
 public final class TcpClientTransport extends AdvancedClientTransport<TcpClientTransport> {
-    /** client端统一loop resource, 没必要每次create都创建新的 */
-    private static final LoopResources LOOP_RESOURCES = LoopResources.create("kin-tcp-client", SysUtils.getIntSysProperty("kin.transport.tcp.worker", SysUtils.CPU_NUM), false);
-
-    static {
-        JvmCloseCleaner.instance().add(LOOP_RESOURCES::dispose);
-    }
-
     /** 连接超时, 秒, 默认5s */
     private int connectTimeoutSec = 5;
 
@@ -73,7 +70,8 @@ public final class TcpClientTransport extends AdvancedClientTransport<TcpClientT
                 //打印底层event和二进制内容
 //                .wiretap(false)
                 .metrics(true)
-                .runOn(LOOP_RESOURCES);
+                //默认与server共享event loop
+                .runOn(getLoopResources());
 
         tcpClient = applyOptions(tcpClient);
 
@@ -101,6 +99,84 @@ public final class TcpClientTransport extends AdvancedClientTransport<TcpClientT
         return create(address).connect();
     }
 
+    /**
+     * 创建连接池, 使用{@link SessionSelector#roundRobin()}
+     */
+    public ClientPool<org.kin.transport.netty.tcp.client.TcpClient> pool(int port, int size) {
+        return pool(new InetSocketAddress(NetUtil.LOCALHOST.getHostAddress(), port), size);
+    }
+
+    /**
+     * 创建连接池, 使用{@link SessionSelector#roundRobin()}
+     */
+    public ClientPool<org.kin.transport.netty.tcp.client.TcpClient> pool(String host, int port, int size) {
+        return pool(new InetSocketAddress(host, port), size);
+    }
+
+    /**
+     * 创建连接池, 使用{@link SessionSelector#roundRobin()}
+     */
+    public ClientPool<org.kin.transport.netty.tcp.client.TcpClient> pool(InetSocketAddress address, int size) {
+        return pool(address, size, SessionSelector.roundRobin());
+    }
+
+    /**
+     * 创建连接池, 建立{@code size}个连接同一remote的client
+     * 连接池总是开启自动重连, 每个连接断开后独立重连
+     *
+     * @param size     连接数
+     * @param selector session选择策略
+     */
+    public ClientPool<org.kin.transport.netty.tcp.client.TcpClient> pool(InetSocketAddress address, int size, SessionSelector selector) {
+        Preconditions.checkArgument(size > 0, "client pool size must be greater than 0");
+        if (!isReconnect()) {
+            reconnect();
+        }
+
+        List<org.kin.transport.netty.tcp.client.TcpClient> clients = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            clients.add(create(address).connect());
+        }
+        return new ClientPool<>(clients, selector);
+    }
+
+    /**
+     * 创建集群client, 使用{@link EndpointSelector#LEAST_PENDING}
+     */
+    public ClusterClient<org.kin.transport.netty.tcp.client.TcpClient> cluster(List<InetSocketAddress> addresses) {
+        return cluster(addresses, EndpointSelector.LEAST_PENDING);
+    }
+
+    /**
+     * 创建集群client, 每个节点建立一个连接
+     * 集群client总是开启自动重连, 并会包装transport的{@link org.kin.transport.netty.ClientObserver}, 以便根据连接状态摘除或者恢复节点
+     *
+     * @param addresses 节点地址
+     * @param selector  节点选择策略
+     */
+    @SuppressWarnings("unchecked")
+    public ClusterClient<org.kin.transport.netty.tcp.client.TcpClient> cluster(List<InetSocketAddress> addresses, EndpointSelector selector) {
+        Preconditions.checkArgument(!addresses.isEmpty(), "cluster addresses must be not empty");
+        if (!isReconnect()) {
+            reconnect();
+        }
+
+        ClusterClientObserver<org.kin.transport.netty.tcp.client.TcpClient> observer;
+        if (getObserver() instanceof ClusterClientObserver) {
+            observer = (ClusterClientObserver<org.kin.transport.netty.tcp.client.TcpClient>) getObserver();
+        } else {
+            observer = new ClusterClientObserver<>(getObserver());
+            observer(observer);
+        }
+
+        List<org.kin.transport.netty.tcp.client.TcpClient> clients = new ArrayList<>(addresses.size());
+        for (InetSocketAddress address : addresses) {
+            clients.add(create(address));
+        }
+        //先注册节点再connect, 保证不会丢失连接状态变化
+        return new ClusterClient<>(clients, selector, observer).connect();
+    }
+
     //getter
     public int getConnectTimeoutSec() {
         return connectTimeoutSec;
@@ -0,0 +1,79 @@
+package org.kin.transport.netty.tcp.server;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.Future;
+import org.kin.framework.concurrent.SimpleThreadFactory;
+import org.kin.transport.netty.utils.NativeTransport;
+import reactor.core.publisher.Mono;
+import reactor.netty.FutureMono;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多个SO_REUSEPORT监听socket专用的event loop资源
+ * 每个监听socket独占一个selector线程, worker group则复用{@link #delegate}, 即accepted channel仍在共享worker group上执行
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+final class AcceptorLoopResources implements LoopResources {
+    /** 提供worker group和channel实现的event loop资源 */
+    private final LoopResources delegate;
+    /** selector group, 线程数=监听socket数 */
+    private final EventLoopGroup selectGroup;
+
+    AcceptorLoopResources(LoopResources delegate, NativeTransport transport, int acceptors, int port) {
+        this.delegate = delegate;
+        this.selectGroup = transport.newEventLoopGroup(acceptors, new SimpleThreadFactory("kin-tcp-acceptor-" + port, true));
+    }
+
+    @Override
+    public EventLoopGroup onClient(boolean useNative) {
+        return delegate.onClient(useNative);
+    }
+
+    @Override
+    public EventLoopGroup onServer(boolean useNative) {
+        return delegate.onServer(useNative);
+    }
+
+    @Override
+    public EventLoopGroup onServerSelect(boolean useNative) {
+        return selectGroup;
+    }
+
+    @Override
+    public <CHANNEL extends Channel> Class<? extends CHANNEL> onChannelClass(Class<CHANNEL> channelType, EventLoopGroup group) {
+        return delegate.onChannelClass(channelType, group);
+    }
+
+    @Override
+    public <CHANNEL extends Channel> CHANNEL onChannel(Class<CHANNEL> channelType, EventLoopGroup group) {
+        return delegate.onChannel(channelType, group);
+    }
+
+    @Override
+    public boolean daemon() {
+        return true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return selectGroup.isTerminated();
+    }
+
+    /**
+     * 仅释放selector group, {@link #delegate}可能被其余server共享, 不释放
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Mono<Void> disposeLater(Duration quietPeriod, Duration timeout) {
+        return Mono.defer(() -> {
+            Future<Void> future = (Future<Void>) selectGroup.shutdownGracefully(quietPeriod.toMillis(), timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return FutureMono.from(future);
+        });
+    }
+}
@@ -1,13 +1,17 @@
 package org.kin.transport.netty.tcp.server;
 
-import org.kin.framework.utils.SysUtils;
+import io.netty.channel.ChannelOption;
 import org.kin.transport.netty.*;
 import org.kin.transport.netty.handler.ServerHandler;
+import org.kin.transport.netty.utils.NativeTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import reactor.netty.DisposableServer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.netty.resources.LoopResources;
 
+import java.util.Objects;
+
 /**
  * 基于TCP的{@link Server}实现类
  *
@@ -42,43 +46,73 @@ public final class TcpServer extends Server<TcpServer, TcpServerTransport> {
      */
     @SuppressWarnings({"rawtypes", "unchecked"})
     private void onBind(TcpServerTransport serverTransport, reactor.netty.tcp.TcpServer tcpServer) {
-        //event loop group
-        LoopResources loopResources = LoopResources.create("kin-tcp-server-" + port, 2, SysUtils.DOUBLE_CPU, false);
+        //event loop group, 默认所有server共享
+        LoopResources loopResources = serverTransport.getLoopResources();
 
         ProtocolOptions options = serverTransport.getProtocolOptions();
         ChannelInitializer channelInitializer = serverTransport.getChannelInitializer();
 
         ServerObserver observer = serverTransport.getObserver();
 
-        tcpServer.runOn(loopResources)
+        int acceptors = serverTransport.getAcceptors();
+        ChannelOption<Boolean> reusePortOption = null;
+        if (acceptors > 1) {
+            //多个监听socket, 每个独占一个selector线程
+            NativeTransport transport = NativeTransport.of(loopResources.onServer(true));
+            reusePortOption = transport.getReusePortOption();
+            if (Objects.isNull(reusePortOption)) {
+                log.warn("{} SO_REUSEPORT is not supported by {} transport, fallback to single acceptor", serverName(), transport);
+                acceptors = 1;
+            } else {
+                loopResources = new AcceptorLoopResources(loopResources, transport, acceptors, port);
+            }
+        }
+
+        reactor.netty.tcp.TcpServer configured = tcpServer.runOn(loopResources)
                 .doOnConnection(connection -> {
                     //在channel init中add last handler会导致所添加的handler在名为"reactor.right.reactiveBridge"的ChannelOperationsHandler实例后面, 那么NettyInbound则是最原始的bytes
                     //NettyInbound.receiveObject() signal是ChannelOperationsHandler实例触发
                     //而Connection的addHandlerLast会保证ChannelOperationsHandler实例是pipeline最后一个handler
                     channelInitializer.initChannel(connection);
                     //核心handler
-                    connection.addHandlerLast(new ProtocolDecoder(options))
-                            .addHandlerLast(new ProtocolEncoder(options))
+                    options.addCodecHandlers(connection)
                             .addHandlerLast(new ServerHandler(observer));
                     Session session = new Session(options, connection);
                     onClientConnected(session);
 
                     observer.onClientConnected(TcpServer.this, session);
-                })
-                .doOnBound(d -> {
-                    //定义tcp server close逻辑
-                    d.onDispose(loopResources);
-                    d.onDispose(() -> observer.onUnbound(TcpServer.this));
-                    d.onDispose(() -> log.info("{}({}:{}) closed", serverName(), host, port));
+                });
+        if (Objects.nonNull(reusePortOption)) {
+            configured = configured.option(reusePortOption, true);
+        }
 
-                    observer.onBound(TcpServer.this);
-                })
-                .bind()
-                .cast(DisposableServer.class)
+        //仅多个监听socket时, 才需要释放专用的selector group
+        Disposable acceptorLoopResources = acceptors > 1 ? loopResources : () -> {
+        };
+        int finalAcceptors = acceptors;
+        reactor.netty.tcp.TcpServer finalTcpServer = configured;
+        Flux.range(0, acceptors)
+                //逐个bind, 内核会将accept分散到所有监听socket
+                .concatMap(i -> finalTcpServer.bind())
+                .doOnNext(this::onBound)
+                .then()
                 //这里才subscribe, 真正启动tcp server
-                .subscribe(ds -> {
-                    log.info("{} started on {}:{}", serverName(), host, port);
-                    onBound(ds);
-                }, t -> log.error("{} encounter error when starting", serverName(), t));
+                .subscribe(null,
+                        t -> {
+                            log.error("{} encounter error when starting", serverName(), t);
+                            dispose();
+                            acceptorLoopResources.dispose();
+                        },
+                        () -> {
+                            log.info("{} started on {}:{}, acceptors: {}", serverName(), host, port, finalAcceptors);
+                            //定义tcp server close逻辑, 所有监听socket都关闭才算closed
+                            onDispose().doFinally(st -> {
+                                acceptorLoopResources.dispose();
+                                observer.onUnbound(TcpServer.this);
+                                log.info("{}({}:{}) closed", serverName(), host, port);
+                            }).subscribe();
+
+                            observer.onBound(TcpServer.this);
+                        });
     }
 }
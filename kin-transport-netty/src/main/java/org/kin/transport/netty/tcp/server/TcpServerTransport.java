@@ -14,6 +14,8 @@ import org.kin.transport.netty.AdvancedServerTransport;
  * @date 2023/1/15
  */
 public final class TcpServerTransport extends AdvancedServerTransport<TcpServerTransport> {
+    /** 监听socket数, 大于1时开启SO_REUSEPORT */
+    private int acceptors = 1;
 
     public static TcpServerTransport create() {
         return new TcpServerTransport();
@@ -34,6 +36,7 @@ public final class TcpServerTransport extends AdvancedServerTransport<TcpServerT
      */
     public TcpServer create(String host, int port) {
         checkRequire();
+        Preconditions.checkArgument(acceptors > 0, "tcp server acceptors must be greater than 0");
         Preconditions.checkArgument(port > 0, "tcp server port must be greater than 0");
         Preconditions.checkArgument(StringUtils.isNotBlank(host), "tcp server host must be not blank");
 
@@ -71,4 +74,19 @@ public final class TcpServerTransport extends AdvancedServerTransport<TcpServerT
     public TcpServer bind(String host, int port) {
         return create(host, port).bind();
     }
+
+    /**
+     * 在同一host:port上开启{@code acceptors}个SO_REUSEPORT监听socket, 每个监听socket独占一个selector线程,
+     * 由内核将新连接分散到所有监听socket, 适用于大量连接同时建立(比如发布后大量client重连)导致accept成为瓶颈的场景
+     * 仅epoll和io_uring支持, 否则回退到单个监听socket
+     */
+    public TcpServerTransport acceptors(int acceptors) {
+        this.acceptors = acceptors;
+        return this;
+    }
+
+    //getter
+    public int getAcceptors() {
+        return acceptors;
+    }
 }
@@ -0,0 +1,77 @@
+package org.kin.transport.netty.udp.client;
+
+import org.kin.transport.netty.*;
+import org.kin.transport.netty.handler.ClientHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+
+import java.net.InetSocketAddress;
+
+/**
+ * 基于UDP的{@link Client}实现类
+ * 底层为connected datagram channel, 即仅与{@link #address}收发datagram
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class UdpClient extends Client<UdpClient, UdpClientTransport> {
+    private static final Logger log = LoggerFactory.getLogger(UdpClient.class);
+
+    /** remote address */
+    private final InetSocketAddress address;
+    /** udp connect逻辑 */
+    private final Mono<Connection> connector;
+
+    UdpClient(UdpClientTransport clientTransport, reactor.netty.udp.UdpClient udpClient, InetSocketAddress address) {
+        super(clientTransport);
+        this.address = address;
+        this.connector = createConnector(clientTransport, udpClient, address);
+    }
+
+    /**
+     * udp connect
+     */
+    @SuppressWarnings("rawtypes")
+    private Mono<Connection> createConnector(UdpClientTransport clientTransport, reactor.netty.udp.UdpClient udpClient, InetSocketAddress address) {
+        ProtocolOptions options = clientTransport.getProtocolOptions();
+        int maxDatagramSize = clientTransport.getMaxDatagramSize();
+
+        ChannelInitializer channelInitializer = clientTransport.getChannelInitializer();
+
+        //监听connection状态变化
+        ConnectionObserver connectionObserver = (connection, newState) -> {
+            if (!isDisposed() && newState == ConnectionObserver.State.DISCONNECTING) {
+                log.info("channel closed, {}", connection.channel());
+                connection.dispose();
+            }
+        };
+
+        ClientObserver observer = clientTransport.getObserver();
+
+        return udpClient
+                .observe(connectionObserver)
+                .connect()
+                .map(connection -> {
+                    log.info("{} connect to remote({}) success", clientName(), address);
+
+                    channelInitializer.initChannel(connection);
+                    //核心handler
+                    options.addDatagramCodecHandlers(connection, maxDatagramSize)
+                            .addHandlerLast(new ClientHandler(observer));
+                    return connection;
+                });
+    }
+
+    @Override
+    protected Mono<Connection> connector() {
+        return connector;
+    }
+
+    @Override
+    protected String remoteAddress() {
+        return address.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package org.kin.transport.netty.udp.client;
+
+import com.google.common.base.Preconditions;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.util.NetUtil;
+import org.kin.transport.netty.AdvancedClientTransport;
+import org.kin.transport.netty.StreamingPayloadProcessor;
+import reactor.netty.udp.UdpClient;
+
+import java.net.InetSocketAddress;
+
+/**
+ * 创建{@link org.kin.transport.netty.udp.client.UdpClient}入口
+ * 基于connected udp socket, 每个payload对应一个datagram, 不保证送达和顺序
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class UdpClientTransport extends AdvancedClientTransport<UdpClientTransport> {
+    /** 单个datagram最大字节数, 超过该大小的datagram接收时会被截断并丢弃, 默认与netty一致 */
+    private int maxDatagramSize = 2048;
+
+    public static UdpClientTransport create() {
+        return new UdpClientTransport();
+    }
+
+    private UdpClientTransport() {
+    }
+
+    @Override
+    protected void checkRequire() {
+        super.checkRequire();
+        Preconditions.checkArgument(maxDatagramSize > 0, "udp max datagram size must be greater than 0");
+        Preconditions.checkArgument(!isSsl(), "udp client does not support ssl");
+        //每个payload对应一个datagram
+        Preconditions.checkArgument(!isFragmentation(), "udp client does not support fragmentation");
+        Preconditions.checkArgument(!isMultiplexing(), "udp client does not support multiplexing");
+        Preconditions.checkArgument(!(getPayloadProcessor() instanceof StreamingPayloadProcessor), "udp client does not support streaming payload processor");
+    }
+
+    /**
+     * create
+     */
+    public org.kin.transport.netty.udp.client.UdpClient create(int port) {
+        return create(NetUtil.LOCALHOST.getHostAddress(), port);
+    }
+
+    /**
+     * create
+     */
+    public org.kin.transport.netty.udp.client.UdpClient create(String host, int port) {
+        return create(new InetSocketAddress(host, port));
+    }
+
+    /**
+     * create
+     */
+    public org.kin.transport.netty.udp.client.UdpClient create(InetSocketAddress address) {
+        checkRequire();
+
+        UdpClient udpClient = UdpClient.create()
+                .remoteAddress(() -> address)
+                .option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(maxDatagramSize))
+                //默认与server共享event loop
+                .runOn(getLoopResources());
+
+        udpClient = applyOptions(udpClient);
+
+        return new org.kin.transport.netty.udp.client.UdpClient(this, udpClient, address);
+    }
+
+    /**
+     * udp connect
+     */
+    public org.kin.transport.netty.udp.client.UdpClient connect(int port) {
+        return create(NetUtil.LOCALHOST.getHostAddress(), port).connect();
+    }
+
+    /**
+     * udp connect
+     */
+    public org.kin.transport.netty.udp.client.UdpClient connect(String host, int port) {
+        return create(new InetSocketAddress(host, port)).connect();
+    }
+
+    /**
+     * udp connect
+     */
+    public org.kin.transport.netty.udp.client.UdpClient connect(InetSocketAddress address) {
+        return create(address).connect();
+    }
+
+    /**
+     * 单个datagram最大字节数, 即payload协议头+数据内容的最大字节数
+     */
+    public UdpClientTransport maxDatagramSize(int maxDatagramSize) {
+        this.maxDatagramSize = maxDatagramSize;
+        return this;
+    }
+
+    //getter
+    public int getMaxDatagramSize() {
+        return maxDatagramSize;
+    }
+}
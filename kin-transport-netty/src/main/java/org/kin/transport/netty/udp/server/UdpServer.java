@@ -0,0 +1,111 @@
+package org.kin.transport.netty.udp.server;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.epoll.EpollChannelOption;
+import org.kin.transport.netty.*;
+import org.kin.transport.netty.handler.ServerHandler;
+import org.kin.transport.netty.utils.NativeTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.netty.resources.LoopResources;
+
+import java.net.InetSocketAddress;
+
+/**
+ * 基于UDP的{@link Server}实现类
+ * <p>
+ * udp没有连接的概念, 整个监听socket仅对应一个{@link Session}, 所有对端发送的payload均由该session接收
+ * payload processor收到的是绑定发送者地址({@link ByteBufPayload#getSender()})的datagram session view, 见{@link Session#datagramView(InetSocketAddress)},
+ * 可直接通过其send, reply和request往该对端发送payload
+ * 注意, 监听socket对应的session没有默认对端, 不能直接调用其send相关方法, 往其他对端发送payload需先获取对应的datagram session view
+ * 同理, 该session不会注册到{@link SessionRegistry}, 故此{@link #broadcast(Object, ObjectEncoder)}不会发送任何payload
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class UdpServer extends Server<UdpServer, UdpServerTransport> {
+    private static final Logger log = LoggerFactory.getLogger(UdpServer.class);
+    /** reactor netty udp server */
+    private final reactor.netty.udp.UdpServer udpServer;
+    /** 监听socket对应的session, bound后才有值 */
+    private volatile Session session;
+    /** 标识server是否已调用{@link #bind()} */
+    private volatile boolean bound;
+
+    UdpServer(UdpServerTransport serverTransport, reactor.netty.udp.UdpServer udpServer, String host, int port) {
+        super(serverTransport, host, port);
+        this.udpServer = udpServer;
+    }
+
+    @Override
+    public UdpServer bind() {
+        if (bound) {
+            return this;
+        }
+
+        bound = true;
+        onBind(serverTransport, udpServer);
+        return this;
+    }
+
+    /**
+     * 监听端口
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void onBind(UdpServerTransport serverTransport, reactor.netty.udp.UdpServer udpServer) {
+        //event loop group, 默认所有server共享
+        LoopResources loopResources = serverTransport.getLoopResources();
+
+        ProtocolOptions options = serverTransport.getProtocolOptions();
+        ChannelInitializer channelInitializer = serverTransport.getChannelInitializer();
+
+        ServerObserver observer = serverTransport.getObserver();
+
+        int maxDatagramSize = serverTransport.getMaxDatagramSize();
+        int recvBatchSize = serverTransport.getRecvBatchSize();
+        if (recvBatchSize > 1) {
+            NativeTransport transport = NativeTransport.of(loopResources.onClient(true));
+            if (NativeTransport.EPOLL.equals(transport)) {
+                //开启recvmmsg, 每次分配的bytebuf可容纳recvBatchSize个datagram
+                udpServer = udpServer.option(EpollChannelOption.MAX_DATAGRAM_PAYLOAD_SIZE, maxDatagramSize);
+            } else {
+                log.warn("{} batch receive is not supported by {} transport, fallback to receive one by one", serverName(), transport);
+                recvBatchSize = 1;
+            }
+        }
+
+        udpServer.option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(maxDatagramSize * recvBatchSize))
+                .runOn(loopResources)
+                .doOnBound(connection -> {
+                    channelInitializer.initChannel(connection);
+                    //核心handler
+                    options.addDatagramCodecHandlers(connection, maxDatagramSize)
+                            .addHandlerLast(new ServerHandler(observer));
+                    Session session = new Session(options, connection);
+                    this.session = session;
+                    //监听socket对应的session没有默认对端, 不注册到session注册表, 故此不参与广播
+                    receivePayloads(session);
+
+                    //定义udp server close逻辑
+                    connection.onDispose(() -> observer.onUnbound(UdpServer.this));
+                    connection.onDispose(() -> log.info("{}({}:{}) closed", serverName(), host, port));
+
+                    observer.onBound(UdpServer.this);
+                })
+                .bind()
+                //这里才subscribe, 真正启动udp server
+                .subscribe(connection -> {
+                    log.info("{} started on {}:{}", serverName(), host, port);
+                    onBound(connection::channel);
+                }, t -> log.error("{} encounter error when starting", serverName(), t));
+    }
+
+    //getter
+    /**
+     * @return 监听socket对应的session, 未bound则返回null
+     */
+    public Session getSession() {
+        return session;
+    }
+}
@@ -0,0 +1,103 @@
+package org.kin.transport.netty.udp.server;
+
+import com.google.common.base.Preconditions;
+import io.netty.util.NetUtil;
+import org.kin.framework.utils.StringUtils;
+import org.kin.transport.netty.AdvancedServerTransport;
+import org.kin.transport.netty.StreamingPayloadProcessor;
+
+/**
+ * 创建{@link UdpServer}的入口
+ * 基于udp, 每个payload对应一个datagram, 不保证送达和顺序, 适用于允许丢包但对延迟敏感的场景, 比如监控数据上报
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class UdpServerTransport extends AdvancedServerTransport<UdpServerTransport> {
+    /** 单个datagram最大字节数, 超过该大小的datagram接收时会被截断并丢弃, 默认与netty一致 */
+    private int maxDatagramSize = 2048;
+    /** 单次系统调用批量接收的datagram数, 大于1时, 基于epoll recvmmsg批量接收 */
+    private int recvBatchSize = 1;
+
+    public static UdpServerTransport create() {
+        return new UdpServerTransport();
+    }
+
+    private UdpServerTransport() {
+    }
+
+    @Override
+    protected void checkRequire() {
+        super.checkRequire();
+        Preconditions.checkArgument(maxDatagramSize > 0, "udp max datagram size must be greater than 0");
+        Preconditions.checkArgument(recvBatchSize > 0, "udp recv batch size must be greater than 0");
+        Preconditions.checkArgument(!isSsl(), "udp server does not support ssl");
+        //每个payload对应一个datagram
+        Preconditions.checkArgument(!isFragmentation(), "udp server does not support fragmentation");
+        Preconditions.checkArgument(!isMultiplexing(), "udp server does not support multiplexing");
+        Preconditions.checkArgument(!(getPayloadProcessor() instanceof StreamingPayloadProcessor), "udp server does not support streaming payload processor");
+    }
+
+    /**
+     * create
+     */
+    public UdpServer create(int port) {
+        return create(NetUtil.LOCALHOST.getHostAddress(), port);
+    }
+
+    /**
+     * create
+     */
+    public UdpServer create(String host, int port) {
+        checkRequire();
+        Preconditions.checkArgument(port > 0, "udp server port must be greater than 0");
+        Preconditions.checkArgument(StringUtils.isNotBlank(host), "udp server host must be not blank");
+
+        reactor.netty.udp.UdpServer udpServer = reactor.netty.udp.UdpServer.create()
+                .host(host)
+                .port(port);
+        udpServer = applyOptions(udpServer);
+
+        return new UdpServer(this, udpServer, host, port);
+    }
+
+    /**
+     * listen
+     */
+    public UdpServer bind(int port) {
+        return create(NetUtil.LOCALHOST.getHostAddress(), port).bind();
+    }
+
+    /**
+     * listen
+     */
+    public UdpServer bind(String host, int port) {
+        return create(host, port).bind();
+    }
+
+    /**
+     * 单个datagram最大字节数, 即payload协议头+数据内容的最大字节数
+     */
+    public UdpServerTransport maxDatagramSize(int maxDatagramSize) {
+        this.maxDatagramSize = maxDatagramSize;
+        return this;
+    }
+
+    /**
+     * 开启批量接收, 单次系统调用最多接收{@code recvBatchSize}个datagram, 以减少高包量场景下的系统调用次数
+     * 仅epoll支持(recvmmsg), 否则回退到逐个接收
+     */
+    public UdpServerTransport recvBatchSize(int recvBatchSize) {
+        this.recvBatchSize = recvBatchSize;
+        return this;
+    }
+
+    //getter
+    public int getMaxDatagramSize() {
+        return maxDatagramSize;
+    }
+
+    public int getRecvBatchSize() {
+        return recvBatchSize;
+    }
+}
@@ -0,0 +1,83 @@
+package org.kin.transport.netty.uds.client;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.unix.DomainSocketAddress;
+import org.kin.framework.utils.StringUtils;
+import org.kin.transport.netty.AdvancedClientTransport;
+import org.kin.transport.netty.TransportException;
+import org.kin.transport.netty.utils.NativeTransport;
+import reactor.netty.tcp.TcpClient;
+
+/**
+ * 创建{@link UdsClient}入口
+ * 基于unix domain socket, 仅用于同一主机的进程间通信, 要求当前平台支持epoll
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class UdsClientTransport extends AdvancedClientTransport<UdsClientTransport> {
+    /** 连接超时, 秒, 默认5s */
+    private int connectTimeoutSec = 5;
+
+    public static UdsClientTransport create() {
+        return new UdsClientTransport();
+    }
+
+    private UdsClientTransport() {
+        //netty仅epoll支持unix domain socket
+        nativeTransport(NativeTransport.EPOLL);
+    }
+
+    /**
+     * create
+     *
+     * @param path unix domain socket文件路径
+     */
+    public UdsClient create(String path) {
+        checkRequire();
+        Preconditions.checkArgument(StringUtils.isNotBlank(path), "uds client path must be not blank");
+        Preconditions.checkArgument(!isSsl(), "uds client does not support ssl");
+        Preconditions.checkArgument(connectTimeoutSec > 0, "client connect timeout must be greater than 0");
+        if (!Epoll.isAvailable()) {
+            throw new TransportException("unix domain socket requires epoll, but epoll is not available", Epoll.unavailabilityCause());
+        }
+
+        DomainSocketAddress address = new DomainSocketAddress(path);
+        TcpClient tcpClient = TcpClient.create()
+                .remoteAddress(() -> address)
+                //unix domain socket不支持TCP_NODELAY, SO_KEEPALIVE等tcp option
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, getConnectTimeoutSec() * 1000)
+                //打印底层event和二进制内容
+//                .wiretap(false)
+                .metrics(true)
+                //默认与server共享event loop
+                .runOn(getLoopResources());
+
+        tcpClient = applyOptions(tcpClient);
+
+        return new UdsClient(this, tcpClient, address);
+    }
+
+    /**
+     * connect
+     *
+     * @param path unix domain socket文件路径
+     */
+    public UdsClient connect(String path) {
+        return create(path).connect();
+    }
+
+    //getter
+    public int getConnectTimeoutSec() {
+        return connectTimeoutSec;
+    }
+
+    public UdsClientTransport connectTimeoutSec(int connectTimeoutSec) {
+        this.connectTimeoutSec = connectTimeoutSec;
+        return this;
+    }
+}
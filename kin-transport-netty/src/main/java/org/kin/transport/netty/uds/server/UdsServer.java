@@ -0,0 +1,133 @@
+package org.kin.transport.netty.uds.server;
+
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.channel.unix.Socket;
+import org.kin.transport.netty.*;
+import org.kin.transport.netty.handler.ServerHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.netty.DisposableServer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * 基于unix domain socket的{@link Server}实现类
+ * {@link #host}即unix domain socket文件路径, {@link #port}无意义, 恒为0
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class UdsServer extends Server<UdsServer, UdsServerTransport> {
+    private static final Logger log = LoggerFactory.getLogger(UdsServer.class);
+    /** reactor netty tcp server, 绑定unix domain socket地址 */
+    private final reactor.netty.tcp.TcpServer tcpServer;
+    /** 标识server是否已调用{@link #bind()} */
+    private volatile boolean bound;
+
+    UdsServer(UdsServerTransport serverTransport, reactor.netty.tcp.TcpServer tcpServer, String path) {
+        super(serverTransport, path, 0);
+        this.tcpServer = tcpServer;
+    }
+
+    @Override
+    public UdsServer bind() {
+        if (bound) {
+            return this;
+        }
+
+        bound = true;
+        onBind(serverTransport, tcpServer);
+        return this;
+    }
+
+    /**
+     * 监听unix domain socket文件
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void onBind(UdsServerTransport serverTransport, reactor.netty.tcp.TcpServer tcpServer) {
+        if (!Epoll.isAvailable()) {
+            throw new TransportException("unix domain socket requires epoll, but epoll is not available", Epoll.unavailabilityCause());
+        }
+
+        //上次进程异常退出遗留的socket文件会导致bind失败(address already in use)
+        deleteStaleSocketFile();
+
+        ProtocolOptions options = serverTransport.getProtocolOptions();
+        ChannelInitializer channelInitializer = serverTransport.getChannelInitializer();
+
+        ServerObserver observer = serverTransport.getObserver();
+
+        tcpServer.runOn(serverTransport.getLoopResources())
+                .doOnConnection(connection -> {
+                    channelInitializer.initChannel(connection);
+                    //核心handler
+                    options.addCodecHandlers(connection)
+                            .addHandlerLast(new ServerHandler(observer));
+                    Session session = new Session(options, connection);
+                    onClientConnected(session);
+
+                    observer.onClientConnected(UdsServer.this, session);
+                })
+                .doOnBound(d -> {
+                    //定义server close逻辑
+                    d.onDispose(this::deleteSocketFile);
+                    d.onDispose(() -> observer.onUnbound(UdsServer.this));
+                    d.onDispose(() -> log.info("{}({}) closed", serverName(), host));
+
+                    observer.onBound(UdsServer.this);
+                })
+                .bind()
+                .cast(DisposableServer.class)
+                //这里才subscribe, 真正启动server
+                .subscribe(ds -> {
+                    log.info("{} started on {}", serverName(), host);
+                    onBound(ds);
+                }, t -> log.error("{} encounter error when starting", serverName(), t));
+    }
+
+    /**
+     * 删除上次进程异常退出遗留的unix domain socket文件
+     * 先尝试connect该socket文件, 仅connect失败(比如connection refused), 即没有进程在监听时才删除,
+     * 否则会删除其他正在运行的server的socket文件, 导致其无法再被连接
+     */
+    private void deleteStaleSocketFile() {
+        if (!Files.exists(Paths.get(host))) {
+            return;
+        }
+
+        boolean inUse;
+        Socket socket = Socket.newSocketDomain();
+        try {
+            socket.connect(new DomainSocketAddress(host));
+            inUse = true;
+        } catch (IOException e) {
+            inUse = false;
+        } finally {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                //ignore
+            }
+        }
+
+        if (inUse) {
+            throw new TransportException(String.format("unix domain socket file '%s' is in use by another server", host));
+        }
+        log.info("{} delete stale unix domain socket file '{}'", serverName(), host);
+        deleteSocketFile();
+    }
+
+    /**
+     * 删除unix domain socket文件
+     */
+    private void deleteSocketFile() {
+        try {
+            Files.deleteIfExists(Paths.get(host));
+        } catch (IOException e) {
+            log.warn("{} delete unix domain socket file '{}' error", serverName(), host, e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.kin.transport.netty.uds.server;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.unix.DomainSocketAddress;
+import org.kin.framework.utils.StringUtils;
+import org.kin.transport.netty.AdvancedServerTransport;
+import org.kin.transport.netty.utils.NativeTransport;
+
+/**
+ * 创建{@link UdsServer}的入口
+ * 基于unix domain socket, 仅用于同一主机的进程间通信, 省去loopback tcp协议栈开销, 要求当前平台支持epoll
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public final class UdsServerTransport extends AdvancedServerTransport<UdsServerTransport> {
+    public static UdsServerTransport create() {
+        return new UdsServerTransport();
+    }
+
+    private UdsServerTransport() {
+        //netty仅epoll支持unix domain socket
+        nativeTransport(NativeTransport.EPOLL);
+    }
+
+    /**
+     * create
+     *
+     * @param path unix domain socket文件路径
+     */
+    public UdsServer create(String path) {
+        checkRequire();
+        Preconditions.checkArgument(StringUtils.isNotBlank(path), "uds server path must be not blank");
+        Preconditions.checkArgument(!isSsl(), "uds server does not support ssl");
+
+        reactor.netty.tcp.TcpServer tcpServer = reactor.netty.tcp.TcpServer.create()
+                .bindAddress(() -> new DomainSocketAddress(path))
+                //unix domain socket不支持TCP_NODELAY, SO_KEEPALIVE等tcp option
+                .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                //打印底层event和二进制内容
+//                .wiretap(false)
+                .metrics(true);
+
+        tcpServer = applyOptions(tcpServer);
+        tcpServer = applyChildOptions(tcpServer);
+
+        return new UdsServer(this, tcpServer, path);
+    }
+
+    /**
+     * listen
+     *
+     * @param path unix domain socket文件路径
+     */
+    public UdsServer bind(String path) {
+        return create(path).bind();
+    }
+}
@@ -69,10 +69,9 @@ public final class WebSocketClient extends Client<WebSocketClient, WebSocketClie
                     connection
                             //websocket额外handler
                             .addHandlerLast(WebSocketFrameClientHandler.INSTANCE)
-                            .addHandlerLast(BinaryWebSocketFrameEncoder.INSTANCE)
-                            //统一协议解析和处理
-                            .addHandlerLast(new ProtocolDecoder(options))
-                            .addHandlerLast(new ProtocolEncoder(options))
+                            .addHandlerLast(BinaryWebSocketFrameEncoder.INSTANCE);
+                    //统一协议解析和处理
+                    options.addCodecHandlers(connection)
                             .addHandlerLast(new ClientHandler(observer));
                     return connection;
                 });
@@ -71,7 +71,9 @@ public final class WebSocketClientTransport extends AdvancedClientTransport<WebS
 //                .wiretap(false)
                 //client允许接受压缩就开启压缩
                 .compress(true)
-                .keepAlive(true);
+                .keepAlive(true)
+                //默认与server共享event loop
+                .runOn(getLoopResources());
 
         httpClient = applyOptions(httpClient);
 
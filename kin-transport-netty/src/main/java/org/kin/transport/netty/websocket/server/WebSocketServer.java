@@ -1,6 +1,5 @@
 package org.kin.transport.netty.websocket.server;
 
-import org.kin.framework.utils.SysUtils;
 import org.kin.transport.netty.*;
 import org.kin.transport.netty.handler.ServerHandler;
 import org.kin.transport.netty.websocket.handler.BinaryWebSocketFrameEncoder;
@@ -48,8 +47,8 @@ public final class WebSocketServer extends Server<WebSocketServer, WebSocketServ
      */
     @SuppressWarnings({"rawtypes", "unchecked"})
     private void onBind(WebSocketServerTransport serverTransport, HttpServer httpServer) {
-        //event loop
-        LoopResources loopResources = LoopResources.create("kin-ws-server-" + port, 2, SysUtils.CPU_NUM * 2, false);
+        //event loop, 默认所有server共享
+        LoopResources loopResources = serverTransport.getLoopResources();
 
         ProtocolOptions options = serverTransport.getProtocolOptions();
         ChannelInitializer channelInitializer = serverTransport.getChannelInitializer();
@@ -65,10 +64,9 @@ public final class WebSocketServer extends Server<WebSocketServer, WebSocketServ
                                         connection
                                                 //websocket额外handler
                                                 .addHandlerLast(WebSocketFrameServerHandler.INSTANCE)
-                                                .addHandlerLast(BinaryWebSocketFrameEncoder.INSTANCE)
-                                                //统一协议解析和处理
-                                                .addHandlerLast(new ProtocolDecoder(options))
-                                                .addHandlerLast(new ProtocolEncoder(options))
+                                                .addHandlerLast(BinaryWebSocketFrameEncoder.INSTANCE);
+                                        //统一协议解析和处理
+                                        options.addCodecHandlers(connection)
                                                 .addHandlerLast(new ServerHandler(observer));
                                         Session session = new Session(options, connection);
                                         onClientConnected(session);
@@ -84,7 +82,6 @@ public final class WebSocketServer extends Server<WebSocketServer, WebSocketServ
                                 .maxFramePayloadLength(options.getMaxProtocolSize())
                                 .build()))
                 .doOnUnbound(d -> {
-                    d.onDispose(loopResources);
                     d.onDispose(() -> observer.onUnbound(WebSocketServer.this));
                     d.onDispose(() -> log.info("{}({}:{}) closed", serverName(), host, port));
 
@@ -0,0 +1,67 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.kin.transport.netty.tcp.server.TcpServerTransport;
+import reactor.netty.Connection;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 广播到多个session, 校验数据对象仅编码一次, 且每个session都能正确解析
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class BroadcastTest {
+    /** session数 */
+    private static final int SESSIONS = 1_000;
+
+    public static void main(String[] args) {
+        ProtocolOptions options = TcpServerTransport.create()
+                .getProtocolOptions();
+        AtomicInteger encodeTimes = new AtomicInteger();
+        ObjectEncoder<String> encoder = (obj, outboundPayload) -> {
+            encodeTimes.incrementAndGet();
+            outboundPayload.data().writeBytes(obj.getBytes(StandardCharsets.UTF_8));
+        };
+
+        List<EmbeddedChannel> channels = new ArrayList<>(SESSIONS);
+        List<Session> sessions = new ArrayList<>(SESSIONS);
+        for (int i = 0; i < SESSIONS; i++) {
+            EmbeddedChannel channel = new EmbeddedChannel(new ProtocolEncoder(options));
+            channels.add(channel);
+            sessions.add(new Session(options, Connection.from(channel)));
+        }
+
+        long startTime = System.nanoTime();
+        Broadcaster.broadcast("tick", encoder, sessions).subscribe();
+        for (EmbeddedChannel channel : channels) {
+            channel.runPendingTasks();
+        }
+        long costUs = (System.nanoTime() - startTime) / 1_000;
+
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(options.newDecoder());
+        int received = 0;
+        for (EmbeddedChannel channel : channels) {
+            ByteBuf frame = channel.readOutbound();
+            decodeChannel.writeInbound(frame);
+            ByteBufPayload payload = decodeChannel.readInbound();
+            if (!"tick".equals(payload.data().toString(StandardCharsets.UTF_8))) {
+                throw new IllegalStateException("decode error");
+            }
+            received++;
+            //decoder对payload进行了retain
+            ReferenceCountUtil.release(payload, 2);
+            channel.finishAndReleaseAll();
+        }
+        decodeChannel.finishAndReleaseAll();
+
+        System.out.printf("broadcast to %d sessions, encode %d times, received %d, cost %dus%n",
+                SESSIONS, encodeTimes.get(), received, costUs);
+    }
+}
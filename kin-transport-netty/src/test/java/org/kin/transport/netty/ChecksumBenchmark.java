@@ -0,0 +1,99 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.kin.transport.netty.tcp.server.TcpServerTransport;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 统计协议checksum每MB的开销
+ * 使用CRC32C, 需jdk9+
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class ChecksumBenchmark {
+    private static final int MB = 1024 * 1024;
+    /** 预热次数 */
+    private static final int WARMUP = 2_000;
+    /** 测试次数 */
+    private static final int ITERATIONS = 10_000;
+    /** 完整编解码测试的消息大小 */
+    private static final int BODY_SIZE = 64 * 1024;
+
+    public static void main(String[] args) {
+        ByteBuf direct = PooledByteBufAllocator.DEFAULT.directBuffer(MB);
+        ByteBuf heap = PooledByteBufAllocator.DEFAULT.heapBuffer(MB);
+        byte[] bytes = new byte[MB];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        direct.writeBytes(bytes);
+        heap.writeBytes(bytes);
+
+        try {
+            checksum("direct", direct);
+            checksum("heap", heap);
+        } finally {
+            direct.release();
+            heap.release();
+        }
+
+        long withoutChecksum = roundTrip(TcpServerTransport.create().decoderMode(DecoderMode.NON_REPLAYING).getProtocolOptions());
+        long withChecksum = roundTrip(TcpServerTransport.create().decoderMode(DecoderMode.NON_REPLAYING).checksum(true).getProtocolOptions());
+        double costPerMb = (withChecksum - withoutChecksum) * 1D / ((long) ITERATIONS * BODY_SIZE / MB);
+        System.out.printf("encode+decode %dKB body: without checksum %dms, with checksum %dms, overhead %.1fus/MB%n",
+                BODY_SIZE / 1024, withoutChecksum / 1_000_000, withChecksum / 1_000_000, costPerMb / 1_000);
+    }
+
+    /**
+     * 仅统计checksum计算开销
+     */
+    private static void checksum(String name, ByteBuf byteBuf) {
+        int length = byteBuf.readableBytes();
+        int result = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            result ^= Checksums.checksum(byteBuf, 0, length);
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            result ^= Checksums.checksum(byteBuf, 0, length);
+        }
+        long cost = System.nanoTime() - startTime;
+        System.out.printf("%s checksum: %.1fus/MB, %.0fMB/s (%d)%n",
+                name, cost / 1_000D / ITERATIONS, ITERATIONS * 1_000_000_000D / cost, result);
+    }
+
+    /**
+     * 编码并解码{@link #ITERATIONS}个消息
+     *
+     * @return 耗时(ns)
+     */
+    private static long roundTrip(ProtocolOptions options) {
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new ProtocolEncoder(options));
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(options.newDecoder());
+
+        long startTime = 0;
+        for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+            if (i == WARMUP) {
+                startTime = System.nanoTime();
+            }
+            ByteBuf byteBuf = PooledByteBufAllocator.DEFAULT.directBuffer(options.getHeaderSize() + BODY_SIZE);
+            byteBuf.writerIndex(options.getHeaderSize());
+            byteBuf.writeZero(BODY_SIZE);
+            encodeChannel.writeOutbound(ByteBufPayload.create(byteBuf, null));
+            decodeChannel.writeInbound((Object) encodeChannel.readOutbound());
+
+            ByteBufPayload payload = decodeChannel.readInbound();
+            //decoder对payload进行了retain
+            ReferenceCountUtil.release(payload, 2);
+        }
+        long cost = System.nanoTime() - startTime;
+
+        encodeChannel.finishAndReleaseAll();
+        decodeChannel.finishAndReleaseAll();
+        return cost;
+    }
+}
@@ -0,0 +1,99 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.Unpooled;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 对比不同分派模式下, 异步payload processor的吞吐, 平均处理延迟, 以及按key乱序次数
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class DispatchModeBenchmark {
+    /** payload数 */
+    private static final int PAYLOADS = 20_000;
+    /** key数 */
+    private static final int KEYS = 64;
+    /** 模拟异步处理的最大耗时, 微秒 */
+    private static final int MAX_PROCESS_MICROS = 200;
+
+    public static void main(String[] args) {
+        run("default", DispatchMode.DEFAULT);
+        run("ordered", DispatchMode.ORDERED);
+        run("concurrent 16", DispatchMode.concurrent(16, 32));
+        run("concurrent 64", DispatchMode.concurrent(64, 64));
+        run("keyed 16", DispatchMode.keyed(DispatchModeBenchmark::key, 16));
+        run("keyed 64", DispatchMode.keyed(DispatchModeBenchmark::key, 64));
+    }
+
+    /**
+     * 从payload中提取key, 即data的第一个int
+     */
+    private static Object key(ByteBufPayload payload) {
+        return payload.data().getInt(payload.data().readerIndex());
+    }
+
+    private static void run(String name, DispatchMode dispatchMode) {
+        //每个key下一个期望处理的序号
+        int[] expectSeqs = new int[KEYS];
+        AtomicInteger outOfOrder = new AtomicInteger();
+        LongAdder totalLatencyNanos = new LongAdder();
+
+        Flux<Object> payloads = Flux.range(0, PAYLOADS)
+                .<Object>map(i -> {
+                    int key = i % KEYS;
+                    int seq = i / KEYS;
+                    return ByteBufPayload.create(Unpooled.buffer(16)
+                            .writeInt(key)
+                            .writeInt(seq)
+                            .writeLong(System.nanoTime()));
+                });
+
+        long startTime = System.nanoTime();
+        dispatchMode.dispatch(payloads, o -> {
+                    ByteBufPayload payload = (ByteBufPayload) o;
+                    try {
+                        return process(payload, expectSeqs, outOfOrder, totalLatencyNanos);
+                    } finally {
+                        //与Server一致, payload processor返回后由框架release, payload processor本身不release
+                        payload.release();
+                    }
+                })
+                .blockLast();
+        long costMs = Math.max((System.nanoTime() - startTime) / 1_000_000, 1);
+
+        System.out.printf("%-16s throughput=%d/s, avg latency=%dus, out of order=%d%n",
+                name, PAYLOADS * 1_000L / costMs, totalLatencyNanos.sum() / PAYLOADS / 1_000, outOfOrder.get());
+    }
+
+    /**
+     * 模拟payload processor
+     */
+    private static Mono<Void> process(ByteBufPayload payload, int[] expectSeqs, AtomicInteger outOfOrder, LongAdder totalLatencyNanos) {
+        int key = payload.data().readInt();
+        int seq = payload.data().readInt();
+        long emitTime = payload.data().readLong();
+
+        //模拟异步处理, 比如访问db或rpc
+        long processMicros = ThreadLocalRandom.current().nextInt(MAX_PROCESS_MICROS);
+        return Mono.delay(Duration.ofNanos(processMicros * 1_000), Schedulers.parallel())
+                .doOnNext(t -> {
+                    totalLatencyNanos.add(System.nanoTime() - emitTime);
+                    //以处理完成的顺序判断是否乱序
+                    synchronized (expectSeqs) {
+                        if (expectSeqs[key] != seq) {
+                            outOfOrder.incrementAndGet();
+                        }
+                        expectSeqs[key] = seq + 1;
+                    }
+                })
+                .then();
+    }
+}
@@ -0,0 +1,53 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.kin.transport.netty.tcp.server.TcpServerTransport;
+
+/**
+ * 对比不同flush策略下, 大量小消息的实际flush次数
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class FlushStrategyBenchmark {
+    /** 发送的消息数 */
+    private static final int MESSAGES = 200_000;
+    /** 每批次消息数, 模拟event loop一次执行多个send任务 */
+    private static final int BATCH = 64;
+    /** 消息大小 */
+    private static final int BODY_SIZE = 32;
+
+    public static void main(String[] args) {
+        run("immediate", FlushStrategy.IMMEDIATE);
+        run("end of read", FlushStrategy.END_OF_READ);
+        run("consolidate 16", FlushStrategy.consolidate(16));
+        run("delay 50us", FlushStrategy.delay(50));
+    }
+
+    private static void run(String name, FlushStrategy strategy) {
+        TcpServerTransport transport = TcpServerTransport.create().flushStrategy(strategy);
+        ProtocolOptions options = transport.getProtocolOptions();
+        FlushStats stats = transport.getFlushStats();
+        EmbeddedChannel channel = new EmbeddedChannel(new ProtocolEncoder(options), new FlushConsolidator(strategy, stats));
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            ByteBuf byteBuf = PooledByteBufAllocator.DEFAULT.directBuffer(BODY_SIZE);
+            byteBuf.writeZero(BODY_SIZE);
+            //与Session#send一致, 每条消息都相当于writeAndFlush
+            channel.writeAndFlush(ByteBufPayload.create(byteBuf));
+            if (i % BATCH == BATCH - 1) {
+                //执行合并的flush任务
+                channel.runPendingTasks();
+                channel.runScheduledPendingTasks();
+                channel.releaseOutbound();
+            }
+        }
+        channel.finishAndReleaseAll();
+        long costMs = (System.nanoTime() - startTime) / 1_000_000;
+
+        System.out.printf("%-16s %s, writes/flush=%.1f, cost %dms%n", name, stats, stats.writesPerFlush(), costMs);
+    }
+}
@@ -0,0 +1,97 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.kin.transport.netty.tcp.server.TcpServerTransport;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分片发送, 并分别以重组模式和流模式接收
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class FragmentationTest {
+    /** 单个协议数据内容最大长度 */
+    private static final int MAX_BODY_SIZE = 64 * 1024;
+    /** 发送的数据内容长度 */
+    private static final int BODY_SIZE = 1024 * 1024 + 1;
+
+    public static void main(String[] args) {
+        assemble();
+        streaming();
+    }
+
+    private static void assemble() {
+        ProtocolOptions options = TcpServerTransport.create()
+                .maxBodySize(MAX_BODY_SIZE)
+                .fragmentation(2 * BODY_SIZE)
+                .getProtocolOptions();
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(options.newDecoder());
+        int fragments = encode(options, decodeChannel);
+
+        ByteBufPayload payload = decodeChannel.readInbound();
+        System.out.printf("assemble %d fragments, body size %d%n", fragments, payload.data().readableBytes());
+        //decoder对payload进行了retain
+        ReferenceCountUtil.release(payload, 2);
+        decodeChannel.finishAndReleaseAll();
+    }
+
+    private static void streaming() {
+        ProtocolOptions options = TcpServerTransport.create()
+                .maxBodySize(MAX_BODY_SIZE)
+                .fragmentation(MAX_BODY_SIZE)
+                .payloadProcessor(new StreamingPayloadProcessor() {
+                    @Override
+                    public Mono<Void> process(Session session, Flux<ByteBuf> fragments) {
+                        return Mono.empty();
+                    }
+
+                    @Override
+                    public Mono<Void> process(Session session, ByteBufPayload payload) {
+                        return Mono.empty();
+                    }
+                })
+                .getProtocolOptions();
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(options.newDecoder());
+        int fragments = encode(options, decodeChannel);
+
+        StreamingPayload payload = decodeChannel.readInbound();
+        AtomicLong received = new AtomicLong();
+        payload.fragments()
+                .doOnNext(fragment -> {
+                    received.addAndGet(fragment.readableBytes());
+                    fragment.release();
+                })
+                .blockLast();
+        System.out.printf("stream %d fragments, body size %d%n", fragments, received.get());
+        decodeChannel.finishAndReleaseAll();
+    }
+
+    /**
+     * 编码并将所有分片写入{@code decodeChannel}
+     *
+     * @return 分片数
+     */
+    private static int encode(ProtocolOptions options, EmbeddedChannel decodeChannel) {
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new ProtocolEncoder(options));
+        ByteBuf byteBuf = PooledByteBufAllocator.DEFAULT.directBuffer(options.getHeaderSize() + BODY_SIZE);
+        byteBuf.writerIndex(options.getHeaderSize());
+        byteBuf.writeZero(BODY_SIZE);
+        encodeChannel.writeOutbound(ByteBufPayload.create(byteBuf, null));
+
+        int fragments = 0;
+        ByteBuf protocol;
+        while ((protocol = encodeChannel.readOutbound()) != null) {
+            fragments++;
+            decodeChannel.writeInbound(protocol);
+        }
+        encodeChannel.finishAndReleaseAll();
+        return fragments;
+    }
+}
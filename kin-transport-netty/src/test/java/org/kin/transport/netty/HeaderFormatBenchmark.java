@@ -0,0 +1,92 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.kin.transport.netty.tcp.server.TcpServerTransport;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 对比不同协议头格式下, 小消息的线上传输字节数
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class HeaderFormatBenchmark {
+    /** 每种消息大小发送的消息数 */
+    private static final int MESSAGES = 100_000;
+    /** 消息大小 */
+    private static final int[] BODY_SIZES = {20, 40, 60, 512, 4096};
+
+    public static void main(String[] args) {
+        ProtocolOptions fixed = TcpServerTransport.create()
+                .decoderMode(DecoderMode.NON_REPLAYING)
+                .headerFormat(HeaderFormat.FIXED)
+                .getProtocolOptions();
+        ProtocolOptions varInt = TcpServerTransport.create()
+                .decoderMode(DecoderMode.NON_REPLAYING)
+                .headerFormat(HeaderFormat.VAR_INT)
+                .getProtocolOptions();
+        ProtocolOptions compact = TcpServerTransport.create()
+                .magic("kt".getBytes(StandardCharsets.UTF_8))
+                .decoderMode(DecoderMode.NON_REPLAYING)
+                .headerFormat(HeaderFormat.VAR_INT)
+                .getProtocolOptions();
+
+        for (int bodySize : BODY_SIZES) {
+            long fixedBytes = run(fixed, bodySize);
+            long varIntBytes = run(varInt, bodySize);
+            long compactBytes = run(compact, bodySize);
+            System.out.printf("body %5dB: fixed=%d, varint=%d(-%.1f%%), varint+2B magic=%d(-%.1f%%)%n",
+                    bodySize, fixedBytes,
+                    varIntBytes, saved(fixedBytes, varIntBytes),
+                    compactBytes, saved(fixedBytes, compactBytes));
+        }
+    }
+
+    /**
+     * 编码{@link #MESSAGES}个消息, 并解码校验
+     *
+     * @return 线上传输字节数
+     */
+    private static long run(ProtocolOptions options, int bodySize) {
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new ProtocolEncoder(options));
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(options.newDecoder());
+        AdaptiveOutputByteBufAllocator.Handle adaptiveHandle = AdaptiveOutputByteBufAllocator.DEFAULT.newHandle();
+
+        long wireBytes = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            //与Session#newOutboundPayload一致, 预留协议头
+            ByteBuf byteBuf = adaptiveHandle.allocate(PooledByteBufAllocator.DEFAULT)
+                    .ensureWritable(options.getHeaderSize())
+                    .writerIndex(options.getHeaderSize());
+            byteBuf.writeZero(bodySize);
+            encodeChannel.writeOutbound(ByteBufPayload.create(byteBuf, adaptiveHandle));
+
+            ByteBuf wire = encodeChannel.readOutbound();
+            wireBytes += wire.readableBytes();
+            decodeChannel.writeInbound(wire);
+
+            ByteBufPayload payload = decodeChannel.readInbound();
+            if (payload.data().readableBytes() != bodySize) {
+                throw new IllegalStateException("decode error");
+            }
+            //decoder对payload进行了retain
+            ReferenceCountUtil.release(payload, 2);
+        }
+        long costMs = (System.nanoTime() - startTime) / 1_000_000;
+        System.out.printf("    header=%s, magic=%dB, body %dB, cost %dms%n",
+                options.getHeaderFormat(), options.getMagicSize(), bodySize, costMs);
+
+        encodeChannel.finishAndReleaseAll();
+        decodeChannel.finishAndReleaseAll();
+        return wireBytes;
+    }
+
+    private static double saved(long base, long actual) {
+        return (base - actual) * 100D / base;
+    }
+}
@@ -0,0 +1,86 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.kin.transport.netty.tcp.server.TcpServerTransport;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 先在stream 1发送大数据内容, 再在stream 2发送小数据内容, 观察小数据内容是否在大数据内容接收完成前到达
+ * 以及调度器中积压的协议计入channel可写状态
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class MultiplexingTest {
+    public static void main(String[] args) {
+        ProtocolOptions options = TcpServerTransport.create()
+                .multiplexing(16 * 1024)
+                .getProtocolOptions();
+        //outbound从tail到head, 故此调度器在编码器之前
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new StreamScheduler(), new ProtocolEncoder(options));
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(options.newDecoder());
+
+        ByteBuf bulk = PooledByteBufAllocator.DEFAULT.directBuffer(1024 * 1024);
+        bulk.writeZero(1024 * 1024);
+        encodeChannel.write(ByteBufPayload.create(bulk).streamId(1));
+        ByteBuf small = PooledByteBufAllocator.DEFAULT.directBuffer();
+        small.writeBytes("latency sensitive".getBytes(StandardCharsets.UTF_8));
+        encodeChannel.write(ByteBufPayload.create(small).streamId(2));
+        encodeChannel.flush();
+
+        int protocols = 0;
+        ByteBuf protocol;
+        while ((protocol = encodeChannel.readOutbound()) != null) {
+            protocols++;
+            decodeChannel.writeInbound(protocol);
+
+            ByteBufPayload payload;
+            while ((payload = decodeChannel.readInbound()) != null) {
+                System.out.printf("receive stream %d payload(%dB) after %d protocols%n",
+                        payload.getStreamId(), payload.data().readableBytes(), protocols);
+                //decoder对payload进行了retain
+                ReferenceCountUtil.release(payload, 2);
+            }
+        }
+
+        encodeChannel.finishAndReleaseAll();
+        decodeChannel.finishAndReleaseAll();
+
+        backlog(options);
+    }
+
+    /**
+     * 调度器中积压的协议计入channel可写状态, flush写出后恢复可写
+     */
+    private static void backlog(ProtocolOptions options) {
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new StreamScheduler(), new ProtocolEncoder(options));
+        encodeChannel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(32 * 1024, 64 * 1024));
+
+        ByteBuf bulk = PooledByteBufAllocator.DEFAULT.directBuffer(1024 * 1024);
+        bulk.writeZero(1024 * 1024);
+        //不flush, 分片积压在调度器中
+        encodeChannel.write(ByteBufPayload.create(bulk).streamId(1));
+        if (encodeChannel.isWritable()) {
+            throw new IllegalStateException("channel should be unwritable when protocols are queued in stream scheduler");
+        }
+
+        encodeChannel.flush();
+        int protocols = 0;
+        ByteBuf protocol;
+        while ((protocol = encodeChannel.readOutbound()) != null) {
+            protocols++;
+            protocol.release();
+        }
+        if (!encodeChannel.isWritable()) {
+            throw new IllegalStateException("channel should be writable after all protocols written");
+        }
+        System.out.printf("backlog unwritable before flush, %d protocols written after flush, writable=%s%n",
+                protocols, encodeChannel.isWritable());
+        encodeChannel.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,138 @@
+package org.kin.transport.netty;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.kin.transport.netty.tcp.server.TcpServerTransport;
+
+/**
+ * {@link NonReplayingProtocolDecoder}在协议头, 变长int协议内容长度被拆分到多次read, 以及一次read包含多个协议时仍能正确解析
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class NonReplayingDecoderTest {
+    /** 协议内容长度, 覆盖1字节, 2字节和3字节变长int */
+    private static final int[] BODY_SIZES = {0, 1, 127, 128, 300, 20_000};
+
+    public static void main(String[] args) {
+        for (HeaderFormat headerFormat : HeaderFormat.values()) {
+            ProtocolOptions options = TcpServerTransport.create()
+                    .decoderMode(DecoderMode.NON_REPLAYING)
+                    .headerFormat(headerFormat)
+                    .getProtocolOptions();
+            byteByByte(options);
+            splitBodySize(options);
+            multiFrames(options);
+        }
+    }
+
+    /**
+     * 逐个byte写入, 协议头每次read仅到达1 byte
+     */
+    private static void byteByByte(ProtocolOptions options) {
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(options.newDecoder());
+        ByteBuf protocols = encode(options, BODY_SIZES);
+        int reads = 0;
+        while (protocols.isReadable()) {
+            decodeChannel.writeInbound(protocols.readRetainedSlice(1));
+            reads++;
+        }
+        protocols.release();
+
+        check(decodeChannel, BODY_SIZES);
+        System.out.printf("%s byte by byte, %d reads, %d payloads decoded%n", options.getHeaderFormat(), reads, BODY_SIZES.length);
+        decodeChannel.finishAndReleaseAll();
+    }
+
+    /**
+     * 协议内容长度拆分到两次read, 变长int时在第1个byte后拆分
+     */
+    private static void splitBodySize(ProtocolOptions options) {
+        //300需2字节变长int
+        int[] bodySizes = {300};
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(options.newDecoder());
+        ByteBuf protocol = encode(options, bodySizes);
+        decodeChannel.writeInbound(protocol.readRetainedSlice(options.getMagicSize() + 1));
+        Preconditions.checkState(decodeChannel.inboundMessages().isEmpty(), "decode payload with incomplete body size");
+        decodeChannel.writeInbound(protocol);
+
+        check(decodeChannel, bodySizes);
+        System.out.printf("%s body size split, payload decoded%n", options.getHeaderFormat());
+        decodeChannel.finishAndReleaseAll();
+    }
+
+    /**
+     * 一次read包含多个完整协议以及下一个协议的部分bytes
+     */
+    private static void multiFrames(ProtocolOptions options) {
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(options.newDecoder());
+        ByteBuf protocols = encode(options, BODY_SIZES);
+        //最后一个协议的协议内容留到第二次read
+        decodeChannel.writeInbound(protocols.readRetainedSlice(protocols.readableBytes() - 1));
+        Preconditions.checkState(decodeChannel.inboundMessages().size() == BODY_SIZES.length - 1,
+                "expect %s payloads decoded, but %s", BODY_SIZES.length - 1, decodeChannel.inboundMessages().size());
+        decodeChannel.writeInbound(protocols);
+
+        check(decodeChannel, BODY_SIZES);
+        System.out.printf("%s multi frames in one read, %d payloads decoded%n", options.getHeaderFormat(), BODY_SIZES.length);
+        decodeChannel.finishAndReleaseAll();
+    }
+
+    /**
+     * 编码payload, 并将所有协议bytes合并到一个bytebuf
+     *
+     * @param bodySizes 每个payload的协议内容长度
+     * @return 所有协议bytes
+     */
+    private static ByteBuf encode(ProtocolOptions options, int[] bodySizes) {
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new ProtocolEncoder(options));
+        for (int bodySize : bodySizes) {
+            encodeChannel.writeOutbound(ByteBufPayload.create(body(bodySize)));
+        }
+
+        ByteBuf protocols = PooledByteBufAllocator.DEFAULT.directBuffer();
+        ByteBuf protocol;
+        while ((protocol = encodeChannel.readOutbound()) != null) {
+            protocols.writeBytes(protocol);
+            protocol.release();
+        }
+        encodeChannel.finishAndReleaseAll();
+        return protocols;
+    }
+
+    /**
+     * 协议内容为bytes序号
+     */
+    private static ByteBuf body(int bodySize) {
+        ByteBuf body = PooledByteBufAllocator.DEFAULT.directBuffer(bodySize);
+        for (int i = 0; i < bodySize; i++) {
+            body.writeByte(i);
+        }
+        return body;
+    }
+
+    /**
+     * 按顺序校验解析出来的payload内容
+     */
+    private static void check(EmbeddedChannel decodeChannel, int[] bodySizes) {
+        for (int bodySize : bodySizes) {
+            ByteBufPayload payload = decodeChannel.readInbound();
+            Preconditions.checkNotNull(payload, "payload(body size=%s) is not decoded", bodySize);
+            try {
+                ByteBuf data = payload.data();
+                Preconditions.checkState(data.readableBytes() == bodySize,
+                        "expect body size %s, but %s", bodySize, data.readableBytes());
+                for (int i = 0; i < bodySize; i++) {
+                    Preconditions.checkState(data.readByte() == (byte) i, "body byte %s mismatch", i);
+                }
+            } finally {
+                //decoder对payload进行了retain
+                ReferenceCountUtil.release(payload, 2);
+            }
+        }
+        Preconditions.checkState(decodeChannel.inboundMessages().isEmpty(), "decode unexpected payloads");
+    }
+}
@@ -0,0 +1,72 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.kin.transport.netty.tcp.server.TcpServerTransport;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 阻塞payload processor转移到有界线程池执行, 校验队列满时拒绝执行, 且所有payload都被正确release
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class ProcessorExecutorTest {
+    /** 提交的payload数 */
+    private static final int PAYLOADS = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        ProtocolOptions options = TcpServerTransport.create()
+                .getProtocolOptions();
+        EmbeddedChannel channel = new EmbeddedChannel();
+        Session session = new Session(options, Connection.from(channel));
+
+        ProcessorExecutor executor = ProcessorExecutor.bounded(1, 2);
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        PayloadProcessor blockingProcessor = (s, payload) -> {
+            try {
+                //模拟阻塞逻辑
+                blockLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Mono.empty();
+        };
+
+        List<ByteBufPayload> payloads = new ArrayList<>(PAYLOADS);
+        CountDownLatch doneLatch = new CountDownLatch(PAYLOADS);
+        for (int i = 0; i < PAYLOADS; i++) {
+            //与协议解析器一致, retain一次
+            ByteBufPayload payload = ByteBufPayload.create(Unpooled.buffer(8).writeLong(i));
+            payload.retain();
+            payloads.add(payload);
+            executor.process(blockingProcessor, session, payload)
+                    .doFinally(st -> doneLatch.countDown())
+                    .subscribe(null, t -> {
+                    });
+            //与reactor netty inbound一致, 分派后release一次
+            payload.release();
+        }
+
+        blockLatch.countDown();
+        if (!doneLatch.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("payload processor executor timeout");
+        }
+
+        for (ByteBufPayload payload : payloads) {
+            if (payload.refCnt() != 0) {
+                throw new IllegalStateException("payload leak, refCnt=" + payload.refCnt());
+            }
+        }
+        System.out.printf("submit %d payloads, rejected %d%n", PAYLOADS, executor.getRejected());
+        executor.shutdown();
+        session.dispose();
+        channel.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,110 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.kin.transport.netty.tcp.server.TcpServerTransport;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.channel.ChannelOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 校验request id在编解码后保持不变, 未知request id的response会被丢弃并release,
+ * 以及connection断开时pending request立即失败, 包括连接断开期间缓存到离线发送缓存, 后续关联到新connection的request
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class RequestResponseTest {
+    public static void main(String[] args) throws Exception {
+        ProtocolOptions options = TcpServerTransport.create()
+                .requestResponse()
+                .checksum(true)
+                .getProtocolOptions();
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new ProtocolEncoder(options));
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(options.newDecoder());
+
+        //普通payload, 不带request id
+        System.out.println("oneway request id: " + roundTrip(encodeChannel, decodeChannel, ByteBufPayload.create(body())));
+        //request
+        System.out.println("request id: " + roundTrip(encodeChannel, decodeChannel, ByteBufPayload.create(body()).requestId(12345)));
+
+        //response, 没有对应的pending request
+        ByteBuf body = body();
+        encodeChannel.writeOutbound(ByteBufPayload.create(body).response(12345));
+        decodeChannel.writeInbound((Object) encodeChannel.readOutbound());
+        System.out.println("response emitted: " + (decodeChannel.readInbound() != null) + ", body refCnt: " + body.refCnt());
+
+        encodeChannel.finishAndReleaseAll();
+        decodeChannel.finishAndReleaseAll();
+
+        //connection断开, pending request不等待超时, 立即失败
+        EmbeddedChannel requestChannel = new EmbeddedChannel();
+        Session session = new Session(options, operations(requestChannel));
+        CompletableFuture<Long> future = request(session);
+        requestChannel.close();
+        await("request", future);
+        requestChannel.finishAndReleaseAll();
+
+        //连接断开期间缓存到离线发送缓存的request, 关联到新connection, 新connection断开时同样立即失败
+        EmbeddedChannel oldChannel = new EmbeddedChannel();
+        Session reconnectSession = new Session(options, operations(oldChannel), new Outbox(16, 1024, OutboxOverflowPolicy.FAIL));
+        oldChannel.close();
+        CompletableFuture<Long> bufferedFuture = request(reconnectSession);
+        EmbeddedChannel newChannel = new EmbeddedChannel();
+        reconnectSession.bind(operations(newChannel));
+        newChannel.close();
+        await("buffered request", bufferedFuture);
+        oldChannel.finishAndReleaseAll();
+        newChannel.finishAndReleaseAll();
+    }
+
+    /**
+     * outbound需支持send
+     */
+    private static Connection operations(EmbeddedChannel channel) {
+        return new ChannelOperations<>(Connection.from(channel), ConnectionObserver.emptyListener());
+    }
+
+    private static CompletableFuture<Long> request(Session session) {
+        return session.request(1L, (obj, p) -> p.data().writeLong(obj), p -> p.data().readLong(), Duration.ofSeconds(30)).toFuture();
+    }
+
+    /**
+     * 等待request失败, 并输出耗时
+     */
+    private static void await(String name, CompletableFuture<Long> future) throws Exception {
+        long startTime = System.nanoTime();
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            System.out.println(name + " unexpectedly succeed");
+        } catch (ExecutionException e) {
+            System.out.println(String.format("%s failed after %dms, cause: %s",
+                    name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), e.getCause()));
+        }
+    }
+
+    private static ByteBuf body() {
+        return PooledByteBufAllocator.DEFAULT.directBuffer().writeBytes("ping".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int roundTrip(EmbeddedChannel encodeChannel, EmbeddedChannel decodeChannel, ByteBufPayload outbound) {
+        encodeChannel.writeOutbound(outbound);
+        decodeChannel.writeInbound((Object) encodeChannel.readOutbound());
+
+        ByteBufPayload payload = decodeChannel.readInbound();
+        try {
+            return payload.getRequestId();
+        } finally {
+            //decoder对payload进行了retain
+            ReferenceCountUtil.release(payload, 2);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.kin.transport.netty;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.kin.transport.netty.handler.ServerHandler;
+import org.kin.transport.netty.tcp.server.TcpServerTransport;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.channel.ChannelOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * channel不可写时, {@link Session#sendWhenWritable(Object, ObjectEncoder)}挂起且不编码, 恢复可写后才发送
+ * 同时校验server端pipeline({@link ServerHandler}位于session可写状态监听handler之前)下session也能收到可写状态变化
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class WritabilityTest {
+    public static void main(String[] args) {
+        ProtocolOptions options = TcpServerTransport.create()
+                .getProtocolOptions();
+        run("encoder only", options, new ProtocolEncoder(options));
+        //server端, session可写状态监听handler位于ServerHandler之后
+        run("server pipeline", options, new ProtocolEncoder(options), new ServerHandler(ServerObserver.DEFAULT));
+    }
+
+    /**
+     * channel不可写时挂起send, 恢复可写后发送, 并校验session收到的可写状态变化
+     *
+     * @param handlers session绑定前channel pipeline已有的handler
+     */
+    private static void run(String name, ProtocolOptions options, ChannelHandler... handlers) {
+        ObjectEncoder<String> encoder = (obj, outboundPayload) -> outboundPayload.data().writeBytes(obj.getBytes(StandardCharsets.UTF_8));
+
+        EmbeddedChannel channel = new EmbeddedChannel(handlers);
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+        //outbound需支持send
+        Session session = new Session(options, new ChannelOperations<>(Connection.from(channel), ConnectionObserver.emptyListener()));
+
+        List<Boolean> writabilities = new ArrayList<>();
+        session.onWritable().subscribe(writabilities::add);
+
+        //write但不flush, 积压bytes超过高水位线
+        channel.write(Unpooled.wrappedBuffer(new byte[32]));
+        if (session.isWritable()) {
+            throw new IllegalStateException("channel should be unwritable");
+        }
+
+        AtomicBoolean sent = new AtomicBoolean();
+        session.sendWhenWritable("parked", encoder).doOnSuccess(v -> sent.set(true)).subscribe();
+        channel.runPendingTasks();
+        if (sent.get() || channel.outboundMessages().size() != 0) {
+            throw new IllegalStateException("send should be parked until channel writable");
+        }
+
+        //flush后恢复可写
+        channel.flush();
+        channel.runPendingTasks();
+        if (!sent.get()) {
+            throw new IllegalStateException("parked send should be completed after channel writable");
+        }
+        //挂起的send发送时也可能超过高水位线, 故此仅校验前3次变化
+        if (writabilities.size() < 3 || !Arrays.asList(true, false, true).equals(writabilities.subList(0, 3))) {
+            throw new IllegalStateException("unexpected writability changes: " + writabilities);
+        }
+
+        System.out.printf("%s, writability changes: %s, outbound messages: %d%n", name, writabilities, channel.outboundMessages().size());
+        session.dispose();
+        channel.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,62 @@
+package org.kin.transport.netty.local;
+
+import org.kin.transport.netty.ObjectDecoder;
+import org.kin.transport.netty.ObjectEncoder;
+import org.kin.transport.netty.local.client.LocalClient;
+import org.kin.transport.netty.local.client.LocalClientTransport;
+import org.kin.transport.netty.local.server.LocalServer;
+import org.kin.transport.netty.local.server.LocalServerTransport;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * 同一jvm内基于local channel的request/response, 统计平均延迟
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class LocalTransportTest {
+    /** request数, 串行 */
+    private static final int REQUESTS = 100_000;
+    private static final ObjectEncoder<Long> ENCODER = (obj, outboundPayload) -> outboundPayload.data().writeLong(obj);
+    private static final ObjectDecoder<Long> DECODER = payload -> payload.data().readLong();
+
+    public static void main(String[] args) throws InterruptedException {
+        LocalServer server = LocalServerTransport.create()
+                .requestResponse()
+                .payloadProcessor((session, payload) -> {
+                    //echo
+                    long value = payload.data().readLong();
+                    int requestId = payload.getRequestId();
+                    return session.reply(requestId, value, ENCODER);
+                })
+                .bind("kin-local-test");
+        //等待server bound
+        Thread.sleep(500);
+
+        LocalClient client = LocalClientTransport.create()
+                .requestResponse()
+                .payloadProcessor((session, payload) -> Mono.empty())
+                .connect("kin-local-test");
+
+        //预热, 并校验echo结果
+        for (long i = 0; i < 10_000; i++) {
+            Long echo = client.request(i, ENCODER, DECODER, Duration.ofSeconds(5)).block();
+            if (echo == null || echo != i) {
+                throw new IllegalStateException(String.format("expect %d, but receive %d", i, echo));
+            }
+        }
+
+        long startTime = System.nanoTime();
+        for (long i = 0; i < REQUESTS; i++) {
+            client.request(i, ENCODER, DECODER, Duration.ofSeconds(5)).block();
+        }
+        long costNs = System.nanoTime() - startTime;
+        System.out.printf("%d requests, avg latency=%.1fus%n", REQUESTS, costNs / 1000.0 / REQUESTS);
+
+        client.dispose();
+        server.dispose();
+        System.exit(0);
+    }
+}
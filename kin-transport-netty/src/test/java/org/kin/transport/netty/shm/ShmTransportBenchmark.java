@@ -0,0 +1,88 @@
+package org.kin.transport.netty.shm;
+
+import org.kin.transport.netty.ObjectDecoder;
+import org.kin.transport.netty.ObjectEncoder;
+import org.kin.transport.netty.shm.client.ShmClient;
+import org.kin.transport.netty.shm.client.ShmClientTransport;
+import org.kin.transport.netty.shm.server.ShmServer;
+import org.kin.transport.netty.shm.server.ShmServerTransport;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.time.Duration;
+
+/**
+ * 基于共享内存ring buffer的request/response延迟和吞吐, 分别使用不同的空闲等待策略
+ * server和client位于同一进程, 但依然通过共享内存文件通信
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class ShmTransportBenchmark {
+    /** 延迟测试的request数, 串行 */
+    private static final int LATENCY_REQUESTS = 100_000;
+    /** 吞吐测试的request数 */
+    private static final int REQUESTS = 500_000;
+    /** 吞吐测试同时等待response的request数 */
+    private static final int IN_FLIGHT = 256;
+    private static final ObjectEncoder<Long> ENCODER = (obj, outboundPayload) -> outboundPayload.data().writeLong(obj);
+    private static final ObjectDecoder<Long> DECODER = payload -> payload.data().readLong();
+
+    public static void main(String[] args) throws InterruptedException {
+        //优先使用tmpfs
+        File shmDir = new File("/dev/shm");
+        String baseDir = (shmDir.isDirectory() ? shmDir : new File(System.getProperty("java.io.tmpdir"))).getAbsolutePath();
+        for (ShmWaitStrategy waitStrategy : ShmWaitStrategy.values()) {
+            run(waitStrategy, baseDir + File.separator + "kin-shm-benchmark-" + waitStrategy.name().toLowerCase());
+        }
+        System.exit(0);
+    }
+
+    private static void run(ShmWaitStrategy waitStrategy, String path) throws InterruptedException {
+        ShmServer server = ShmServerTransport.create()
+                .waitStrategy(waitStrategy)
+                .requestResponse()
+                .payloadProcessor((session, payload) -> {
+                    //echo
+                    long value = payload.data().readLong();
+                    int requestId = payload.getRequestId();
+                    return session.reply(requestId, value, ENCODER);
+                })
+                .bind(path);
+        //等待server bound
+        Thread.sleep(500);
+
+        ShmClient client = ShmClientTransport.create()
+                .waitStrategy(waitStrategy)
+                .requestResponse()
+                .payloadProcessor((session, payload) -> Mono.empty())
+                .connect(path);
+
+        //预热, 并校验echo结果
+        for (long i = 0; i < 10_000; i++) {
+            Long echo = client.request(i, ENCODER, DECODER, Duration.ofSeconds(5)).block();
+            if (echo == null || echo != i) {
+                throw new IllegalStateException(String.format("expect %d, but receive %d", i, echo));
+            }
+        }
+
+        long startTime = System.nanoTime();
+        for (long i = 0; i < LATENCY_REQUESTS; i++) {
+            client.request(i, ENCODER, DECODER, Duration.ofSeconds(5)).block();
+        }
+        long avgLatencyNs = (System.nanoTime() - startTime) / LATENCY_REQUESTS;
+
+        startTime = System.nanoTime();
+        Flux.range(0, REQUESTS)
+                .flatMap(n -> client.request((long) n, ENCODER, DECODER, Duration.ofSeconds(10)), IN_FLIGHT)
+                .blockLast();
+        long costMs = Math.max((System.nanoTime() - startTime) / 1_000_000, 1);
+
+        System.out.printf("%-9s avg latency=%.1fus, %d requests cost %dms, throughput=%d/s%n",
+                waitStrategy, avgLatencyNs / 1000.0, REQUESTS, costMs, REQUESTS * 1_000L / costMs);
+
+        client.dispose();
+        server.dispose();
+    }
+}
@@ -0,0 +1,82 @@
+package org.kin.transport.netty.tcp;
+
+import org.kin.transport.netty.ObjectDecoder;
+import org.kin.transport.netty.ObjectEncoder;
+import org.kin.transport.netty.tcp.client.TcpClient;
+import org.kin.transport.netty.tcp.client.TcpClientTransport;
+import org.kin.transport.netty.tcp.server.TcpServer;
+import org.kin.transport.netty.tcp.server.TcpServerTransport;
+import org.kin.transport.netty.utils.NativeTransport;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * 对比nio, epoll和io_uring在loopback上的request/response吞吐
+ * io_uring需引入netty-incubator-transport-native-io_uring依赖, 且linux kernel 5.9+, 否则跳过
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class NativeTransportBenchmark {
+    /** 连接数 */
+    private static final int CLIENTS = 8;
+    /** 每个连接的request数 */
+    private static final int REQUESTS = 20_000;
+    /** 每个连接同时等待response的request数 */
+    private static final int IN_FLIGHT = 64;
+    private static final ObjectEncoder<Long> ENCODER = (obj, outboundPayload) -> outboundPayload.data().writeLong(obj);
+    private static final ObjectDecoder<Long> DECODER = payload -> payload.data().readLong();
+
+    public static void main(String[] args) throws InterruptedException {
+        int port = 10100;
+        for (NativeTransport transport : NativeTransport.values()) {
+            if (!transport.isAvailable()) {
+                System.out.printf("%-9s not available, skip%n", transport);
+                continue;
+            }
+            run(transport, port++);
+        }
+        System.exit(0);
+    }
+
+    private static void run(NativeTransport transport, int port) throws InterruptedException {
+        TcpServer server = TcpServerTransport.create()
+                .nativeTransport(transport)
+                .requestResponse()
+                .payloadProcessor((session, payload) -> {
+                    //echo
+                    long value = payload.data().readLong();
+                    int requestId = payload.getRequestId();
+                    return session.reply(requestId, value, ENCODER);
+                })
+                .bind(port);
+        //等待server bound
+        Thread.sleep(500);
+
+        TcpClientTransport clientTransport = TcpClientTransport.create()
+                .nativeTransport(transport)
+                .requestResponse()
+                .payloadProcessor((session, payload) -> Mono.empty());
+        TcpClient[] clients = new TcpClient[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = clientTransport.connect(port);
+        }
+
+        long startTime = System.nanoTime();
+        Flux.range(0, CLIENTS)
+                .flatMap(i -> Flux.range(0, REQUESTS)
+                        .flatMap(n -> clients[i].request((long) n, ENCODER, DECODER, Duration.ofSeconds(10)), IN_FLIGHT))
+                .blockLast();
+        long costMs = Math.max((System.nanoTime() - startTime) / 1_000_000, 1);
+
+        System.out.printf("%-9s %d requests, cost %dms, throughput=%d/s%n",
+                transport, CLIENTS * REQUESTS, costMs, CLIENTS * REQUESTS * 1_000L / costMs);
+
+        for (TcpClient client : clients) {
+            client.dispose();
+        }
+        server.dispose();
+    }
+}
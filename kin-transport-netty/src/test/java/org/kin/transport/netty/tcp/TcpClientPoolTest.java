@@ -0,0 +1,45 @@
+package org.kin.transport.netty.tcp;
+
+import io.netty.buffer.ByteBuf;
+import org.kin.transport.netty.ClientPool;
+import org.kin.transport.netty.ObjectEncoder;
+import org.kin.transport.netty.pool.SessionSelector;
+import org.kin.transport.netty.tcp.client.TcpClient;
+import org.kin.transport.netty.tcp.client.TcpClientTransport;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 需先启动{@link TcpServerTest}
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class TcpClientPoolTest {
+    private static final ObjectEncoder<Integer> DEFAULT_ENCODER = (obj, outboundPayload) -> {
+        ByteBuf byteBuf = outboundPayload.data();
+        byteBuf.writeBytes(("number: " + obj).getBytes(StandardCharsets.UTF_8));
+    };
+
+    public static void main(String[] args) throws InterruptedException {
+        ClientPool<TcpClient> pool = TcpClientTransport.create()
+                .payloadProcessor((session, payload) -> {
+                    System.out.println(session.id() + "::" + payload.data().toString(StandardCharsets.UTF_8));
+                    return Mono.empty();
+                })
+                .ssl()
+                .pool(new InetSocketAddress("127.0.0.1", 10000), 4, SessionSelector.powerOfTwoChoices());
+
+        for (int i = 0; i < 20; i++) {
+            pool.sendObject(i, DEFAULT_ENCODER)
+                    .subscribe();
+            Thread.sleep(200);
+        }
+
+        System.out.println("tcp client pool disconnecting");
+        pool.dispose();
+        System.exit(0);
+    }
+}
@@ -0,0 +1,60 @@
+package org.kin.transport.netty.tcp;
+
+import org.kin.transport.netty.ServerObserver;
+import org.kin.transport.netty.Session;
+import org.kin.transport.netty.tcp.client.TcpClient;
+import org.kin.transport.netty.tcp.client.TcpClientTransport;
+import org.kin.transport.netty.tcp.server.TcpServer;
+import org.kin.transport.netty.tcp.server.TcpServerTransport;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 同一端口开启多个SO_REUSEPORT监听socket, 统计新连接分散到的parent channel
+ * 仅epoll和io_uring支持, 否则回退到单个监听socket
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class TcpReusePortTest {
+    /** 监听socket数 */
+    private static final int ACCEPTORS = 4;
+    /** 连接数 */
+    private static final int CLIENTS = 200;
+
+    public static void main(String[] args) throws InterruptedException {
+        //key -> 监听socket, value -> accept的连接数
+        Map<String, LongAdder> acceptCounter = new ConcurrentHashMap<>();
+        TcpServer server = TcpServerTransport.create()
+                .acceptors(ACCEPTORS)
+                .payloadProcessor((session, payload) -> Mono.empty())
+                .observer(new ServerObserver<TcpServer>() {
+                    @Override
+                    public void onClientConnected(TcpServer server, Session session) {
+                        acceptCounter.computeIfAbsent(String.valueOf(session.channel().parent()), k -> new LongAdder()).increment();
+                    }
+                })
+                .bind(10200);
+        Thread.sleep(500);
+
+        TcpClientTransport clientTransport = TcpClientTransport.create()
+                .payloadProcessor((session, payload) -> Mono.empty());
+        List<TcpClient> clients = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.add(clientTransport.connect(10200));
+        }
+        Thread.sleep(2_000);
+
+        System.out.printf("sessions: %d, accepted per listening socket: %s%n", server.getSessionRegistry().size(), acceptCounter);
+        for (TcpClient client : clients) {
+            client.dispose();
+        }
+        server.dispose();
+        System.exit(0);
+    }
+}
@@ -0,0 +1,94 @@
+package org.kin.transport.netty.udp;
+
+import com.google.common.base.Preconditions;
+import org.kin.transport.netty.ObjectDecoder;
+import org.kin.transport.netty.ObjectEncoder;
+import org.kin.transport.netty.TransportException;
+import org.kin.transport.netty.udp.client.UdpClient;
+import org.kin.transport.netty.udp.client.UdpClientTransport;
+import org.kin.transport.netty.udp.server.UdpServer;
+import org.kin.transport.netty.udp.server.UdpServerTransport;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 多个udp client同时上报, 统计server接收的datagram数(允许丢包), 以及request/response
+ * 同时校验udp server广播不发送任何payload, 以及超过max datagram size的payload写出失败
+ * 在linux epoll下, server开启recvmmsg批量接收
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class UdpTransportTest {
+    /** client数 */
+    private static final int CLIENTS = 8;
+    /** 每个client上报的datagram数 */
+    private static final int REPORTS = 50_000;
+    private static final ObjectEncoder<Long> ENCODER = (obj, outboundPayload) -> outboundPayload.data().writeLong(obj);
+    private static final ObjectEncoder<byte[]> BYTES_ENCODER = (obj, outboundPayload) -> outboundPayload.data().writeBytes(obj);
+    private static final ObjectDecoder<Long> DECODER = payload -> payload.data().readLong();
+
+    public static void main(String[] args) throws InterruptedException {
+        LongAdder received = new LongAdder();
+        UdpServer server = UdpServerTransport.create()
+                .recvBatchSize(64)
+                .requestResponse()
+                .payloadProcessor((session, payload) -> {
+                    long value = payload.data().readLong();
+                    int requestId = payload.getRequestId();
+                    if (requestId == 0) {
+                        received.increment();
+                        return Mono.empty();
+                    }
+                    //echo, session已绑定发送者地址
+                    return session.reply(requestId, value, ENCODER);
+                })
+                .bind(10400);
+        //等待server bound
+        Thread.sleep(500);
+
+        UdpClientTransport clientTransport = UdpClientTransport.create()
+                .requestResponse()
+                .payloadProcessor((session, payload) -> Mono.empty());
+        UdpClient[] clients = new UdpClient[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = clientTransport.connect(10400);
+        }
+
+        long echo = clients[0].request(1L, ENCODER, DECODER, Duration.ofSeconds(5)).block();
+        System.out.println("echo: " + echo);
+
+        //监听socket对应的session没有默认对端, 不参与广播
+        int broadcast = server.broadcast(1L, ENCODER).block();
+        Preconditions.checkState(broadcast == 0, "udp server broadcast to %s sessions", broadcast);
+        //超过max datagram size的payload写出失败
+        try {
+            clients[0].sendObject(new byte[4096], BYTES_ENCODER).block();
+            throw new IllegalStateException("send oversized datagram success");
+        } catch (TransportException e) {
+            System.out.println("send oversized datagram fail: " + e.getMessage());
+        }
+
+        long startTime = System.nanoTime();
+        Flux.range(0, CLIENTS)
+                .flatMap(i -> Flux.range(0, REPORTS)
+                        .concatMap(n -> clients[i].sendObject((long) n, ENCODER)))
+                .blockLast();
+        long costMs = Math.max((System.nanoTime() - startTime) / 1_000_000, 1);
+        //等待server处理剩余datagram
+        Thread.sleep(1_000);
+
+        long total = (long) CLIENTS * REPORTS;
+        System.out.printf("sent %d datagrams in %dms, received %d, loss=%.2f%%%n",
+                total, costMs, received.sum(), (total - received.sum()) * 100.0 / total);
+
+        for (UdpClient client : clients) {
+            client.dispose();
+        }
+        server.dispose();
+        System.exit(0);
+    }
+}
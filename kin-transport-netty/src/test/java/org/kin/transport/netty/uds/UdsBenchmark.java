@@ -0,0 +1,118 @@
+package org.kin.transport.netty.uds;
+
+import io.netty.channel.epoll.Epoll;
+import org.kin.transport.netty.Client;
+import org.kin.transport.netty.ObjectDecoder;
+import org.kin.transport.netty.ObjectEncoder;
+import org.kin.transport.netty.PayloadProcessor;
+import org.kin.transport.netty.tcp.client.TcpClientTransport;
+import org.kin.transport.netty.tcp.server.TcpServer;
+import org.kin.transport.netty.tcp.server.TcpServerTransport;
+import org.kin.transport.netty.uds.client.UdsClientTransport;
+import org.kin.transport.netty.uds.server.UdsServer;
+import org.kin.transport.netty.uds.server.UdsServerTransport;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 对比unix domain socket和loopback tcp的request/response延迟和吞吐
+ * 仅linux(epoll)支持unix domain socket, 否则跳过
+ *
+ * @author huangjianqin
+ * @date 2026/10/18
+ */
+public class UdsBenchmark {
+    /** 延迟测试的request数, 串行, 每次仅一个request等待response */
+    private static final int LATENCY_REQUESTS = 20_000;
+    /** 吞吐测试的连接数 */
+    private static final int CLIENTS = 8;
+    /** 吞吐测试每个连接的request数 */
+    private static final int REQUESTS = 20_000;
+    /** 吞吐测试每个连接同时等待response的request数 */
+    private static final int IN_FLIGHT = 64;
+    private static final ObjectEncoder<Long> ENCODER = (obj, outboundPayload) -> outboundPayload.data().writeLong(obj);
+    private static final ObjectDecoder<Long> DECODER = payload -> payload.data().readLong();
+    /** server echo */
+    private static final PayloadProcessor ECHO = (session, payload) -> {
+        long value = payload.data().readLong();
+        int requestId = payload.getRequestId();
+        return session.reply(requestId, value, ENCODER);
+    };
+    /** client不处理server主动推送的payload */
+    private static final PayloadProcessor IGNORE = (session, payload) -> Mono.empty();
+
+    public static void main(String[] args) throws InterruptedException {
+        if (!Epoll.isAvailable()) {
+            System.out.println("epoll not available, skip");
+            System.exit(0);
+        }
+
+        int port = 10300;
+        TcpServer tcpServer = TcpServerTransport.create()
+                .requestResponse()
+                .payloadProcessor(ECHO)
+                .bind(port);
+        TcpClientTransport tcpClientTransport = TcpClientTransport.create()
+                .requestResponse()
+                .payloadProcessor(IGNORE);
+
+        String path = new File(System.getProperty("java.io.tmpdir"), "kin-uds-benchmark.sock").getAbsolutePath();
+        UdsServer udsServer = UdsServerTransport.create()
+                .requestResponse()
+                .payloadProcessor(ECHO)
+                .bind(path);
+        UdsClientTransport udsClientTransport = UdsClientTransport.create()
+                .requestResponse()
+                .payloadProcessor(IGNORE);
+        //等待server bound
+        Thread.sleep(500);
+
+        //第一轮为预热
+        for (int i = 0; i < 2; i++) {
+            run("tcp", () -> tcpClientTransport.connect(port));
+            run("uds", () -> udsClientTransport.connect(path));
+        }
+
+        tcpServer.dispose();
+        udsServer.dispose();
+        System.exit(0);
+    }
+
+    private static void run(String name, Supplier<? extends Client<?, ?>> clientFactory) {
+        Client<?, ?>[] clients = new Client[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = clientFactory.get();
+        }
+        //等待连接建立
+        Flux.fromArray(clients)
+                .flatMap(client -> client.request(0L, ENCODER, DECODER, Duration.ofSeconds(10)))
+                .blockLast();
+
+        //延迟
+        long startTime = System.nanoTime();
+        for (int i = 0; i < LATENCY_REQUESTS; i++) {
+            clients[0].request((long) i, ENCODER, DECODER, Duration.ofSeconds(10)).block();
+        }
+        long avgLatencyNs = (System.nanoTime() - startTime) / LATENCY_REQUESTS;
+
+        //吞吐
+        startTime = System.nanoTime();
+        Flux.range(0, CLIENTS)
+                .flatMap(i -> Flux.range(0, REQUESTS)
+                        .flatMap(n -> clients[i].request((long) n, ENCODER, DECODER, Duration.ofSeconds(10)), IN_FLIGHT))
+                .blockLast();
+        long costMs = Math.max((System.nanoTime() - startTime) / 1_000_000, 1);
+
+        System.out.printf("%s avg latency=%.1fus, %d requests cost %dms, throughput=%d/s%n",
+                name, avgLatencyNs / 1000.0, CLIENTS * REQUESTS, costMs, CLIENTS * REQUESTS * 1_000L / costMs);
+
+        for (Disposable client : clients) {
+            client.dispose();
+        }
+    }
+}